@@ -3,24 +3,102 @@ package com.ttl.common.core.command;
 import am.ik.yavi.builder.ValidatorBuilder;
 import am.ik.yavi.core.ConstraintViolations;
 import am.ik.yavi.core.Validator;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Base abstract class for all commands.
  * Provides template method pattern for command execution with:
  * - Lifecycle hooks (onBefore, onExecute, onSuccess, onError)
- * - YAVI validation support
- * - Error handling
+ * - YAVI validation support, with DB-backed batch constraints
+ * - Error handling, or failures returned as values through executeForResult
+ * - CommandInterceptor chain around execution
+ * - Async execution (executeAsync) with context propagation
+ * - Per-phase Micrometer timers (see CommandMetrics) and CommandExecuted JFR events
  * 
  * @param <In>  Input type
  * @param <Out> Output type
  */
 @Data
 @Slf4j
-public abstract class BaseCommand<In, Out> implements Command<In, Out> {
+public abstract class BaseCommand<In, Out> implements Command<In, Out>, BeanFactoryAware, BeanNameAware {
+
+    private static final Validator<Object> NO_VALIDATOR = ValidatorBuilder.of().build();
+
+    /**
+     * Violations of a failed validation, stored in the context before ValidationException is thrown
+     */
+    public static final ContextKey<ConstraintViolations> VIOLATIONS = ContextKey.of("violations");
+
+    /**
+     * Validator built from getStaticValidatorBuilder(), resolved on first use
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile Validator<In> staticValidator;
+
+    /**
+     * Constraints from getBatchConstraints(), resolved on first use
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile List<BatchConstraint<In, ?>> batchConstraints;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CommandMetrics metrics = CommandMetrics.NOOP;
+
+    /**
+     * Interceptors composed around the lifecycle, null when none apply
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile CommandChain<In, Out> interceptorChain;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Executor asyncExecutor;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private BeanFactory beanFactory;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String beanName;
 
     public BaseCommand() {
         init();
@@ -38,9 +116,33 @@ public abstract class BaseCommand<In, Out> implements Command<In, Out> {
      */
     protected abstract Out onExecute(CommandHolder<In> holder);
 
+    /**
+     * Get validator builder for constraints that do not depend on the holder.
+     * The validator is built once on first use and reused for every execution,
+     * so prefer this over getValidatorBuilder() whenever the rules only depend
+     * on the input and on collaborators injected into the command.
+     *
+     * Example:
+     *
+     * <pre>
+     * {@code
+     * @Override
+     * protected ValidatorBuilder<ProjectCreateInput> getStaticValidatorBuilder() {
+     *     return ProjectValidation.create();
+     * }
+     * }
+     * </pre>
+     */
+    protected ValidatorBuilder<In> getStaticValidatorBuilder() {
+        return null;
+    }
+
     /**
      * Get validator builder for input validation.
      * Override this method to define validation rules using YAVI.
+     * It is called and built on every execution: use it only for constraints
+     * that depend on the holder (e.g. context user or tenant), and
+     * getStaticValidatorBuilder() for everything else.
      * 
      * Example:
      * 
@@ -69,7 +171,90 @@ public abstract class BaseCommand<In, Out> implements Command<In, Out> {
     }
 
     /**
-     * Validation hook - validates input using YAVI validator
+     * Get the cached validator for static constraints, building it on first use.
+     * Subclass fields are not initialized yet in the constructor, hence the
+     * lazy resolution; concurrent first calls may build it twice, which is harmless.
+     */
+    @SuppressWarnings("unchecked")
+    protected Validator<In> getStaticValidator() {
+        Validator<In> validator = staticValidator;
+        if (validator == null) {
+            ValidatorBuilder<In> builder = getStaticValidatorBuilder();
+            validator = builder == null ? (Validator<In>) (Validator<?>) NO_VALIDATOR : builder.build();
+            staticValidator = validator;
+        }
+        return validator == (Validator<?>) NO_VALIDATOR ? null : validator;
+    }
+
+    /**
+     * Get DB-backed constraints, e.g. uniqueness checks through a repository.
+     * They are resolved once like getStaticValidatorBuilder(), run after the YAVI
+     * rules, and their violations are merged into the same ValidationException.
+     *
+     * The checks run in the calling thread, inside the caller's transaction, so
+     * they see its earlier writes and do not need a second pool connection.
+     */
+    protected List<BatchConstraint<In, ?>> getBatchConstraints() {
+        return List.of();
+    }
+
+    /**
+     * Registry for the per-phase timers, injected when Micrometer is configured
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.metrics = meterRegistry == null ? CommandMetrics.NOOP : CommandMetrics.of(meterRegistry, getClass());
+    }
+
+    /**
+     * Compose the interceptors supporting this command into a single chain.
+     * Injected with every CommandInterceptor bean, in order.
+     */
+    @Autowired(required = false)
+    public void setInterceptors(List<CommandInterceptor> interceptors) {
+        CommandChain<In, Out> chain = this::executeLifecycle;
+        boolean intercepted = false;
+        // Wrap from the innermost interceptor outwards, so the first one runs first
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            CommandInterceptor interceptor = interceptors.get(i);
+            if (interceptor.supports(getClass())) {
+                CommandChain<In, Out> next = chain;
+                chain = holder -> interceptor.intercept(this, holder, next);
+                intercepted = true;
+            }
+        }
+        this.interceptorChain = intercepted ? chain : null;
+    }
+
+    /**
+     * Executor for executeAsync(), CommandExecutors.defaultAsyncExecutor() when not set.
+     * Injected with the {@value CommandExecutors#ASYNC_EXECUTOR_BEAN} bean when the application defines one.
+     */
+    @Autowired(required = false)
+    public void setAsyncExecutor(@Qualifier(CommandExecutors.ASYNC_EXECUTOR_BEAN) Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void setBeanName(String beanName) {
+        this.beanName = beanName;
+    }
+
+    /**
+     * Timers for this command, used by subclasses to time their own phases
+     */
+    protected CommandMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Validation hook - validates input using YAVI validator.
+     * Static, per-call and batch constraint violations are merged into a single result.
      */
     protected void validate(CommandHolder<In> holder) {
         In input = holder.getInput();
@@ -79,23 +264,129 @@ public abstract class BaseCommand<In, Out> implements Command<In, Out> {
             return;
         }
 
-        Validator<In> validator = getValidator(holder);
+        ConstraintViolations violations = validateRules(input, getStaticValidator(), getValidator(holder));
+
+        List<ConstraintViolations> batchViolations = validateBatchConstraints(List.of(input));
+        if (batchViolations != null) {
+            if (violations == null) {
+                violations = new ConstraintViolations();
+            }
+            violations.addAll(batchViolations.get(0));
+        }
+
+        if (violations != null) {
+            throwIfInvalid(holder, violations);
+        }
+    }
+
+    /**
+     * Validate a batch of holders: static and per-call rules per item, batch constraints once
+     * for the whole batch so a DB-backed check costs one query instead of one per item.
+     * Nothing is thrown; callers decide what to do with invalid items.
+     *
+     * @return one ConstraintViolations per holder, in order
+     */
+    protected List<ConstraintViolations> validateBatch(List<CommandHolder<In>> holders) {
+        List<In> inputs = new ArrayList<>(holders.size());
+        for (CommandHolder<In> holder : holders) {
+            if (holder.getInput() != null) {
+                inputs.add(holder.getInput());
+            }
+        }
+
+        List<ConstraintViolations> results = new ArrayList<>(holders.size());
+        for (CommandHolder<In> holder : holders) {
+            In input = holder.getInput();
+            ConstraintViolations violations = input == null
+                    ? null
+                    : validateRules(input, getStaticValidator(), getValidator(holder));
+            results.add(violations == null ? new ConstraintViolations() : violations);
+        }
+
+        List<ConstraintViolations> batchViolations = validateBatchConstraints(inputs);
+        if (batchViolations != null) {
+            Iterator<ConstraintViolations> batch = batchViolations.iterator();
+            for (int i = 0; i < holders.size(); i++) {
+                if (holders.get(i).getInput() != null) {
+                    results.get(i).addAll(batch.next());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return violations of the static and per-call rules, null when the command has no rules
+     */
+    private static <In> ConstraintViolations validateRules(In input, Validator<In> staticValidator,
+                                                          Validator<In> validator) {
+        if (staticValidator == null) {
+            return validator == null ? null : validator.validate(input);
+        }
+        ConstraintViolations violations = staticValidator.validate(input);
         if (validator != null) {
-            ConstraintViolations violations = validator.validate(input);
+            violations.addAll(validator.validate(input));
+        }
+        return violations;
+    }
+
+    /**
+     * Run the batch constraints in declaration order, one query per constraint for all inputs
+     *
+     * @return one ConstraintViolations per input, null when there is nothing to check
+     */
+    private List<ConstraintViolations> validateBatchConstraints(List<In> inputs) {
+        List<BatchConstraint<In, ?>> constraints = getResolvedBatchConstraints();
+        if (constraints.isEmpty() || inputs.isEmpty()) {
+            return null;
+        }
 
-            if (!violations.isValid()) {
-                // Store violations in context for later access
-                holder.getContext().setAttribute("violations", violations);
+        List<ConstraintViolations> merged = null;
+        for (BatchConstraint<In, ?> constraint : constraints) {
+            List<ConstraintViolations> violations = constraint.validate(inputs);
+            if (merged == null) {
+                merged = violations;
+            } else {
+                for (int i = 0; i < merged.size(); i++) {
+                    merged.get(i).addAll(violations.get(i));
+                }
+            }
+        }
+        return merged;
+    }
 
-                // Build error message
-                String errorMessage = violations.stream()
-                        .map(v -> v.name() + ": " + v.message())
-                        .collect(Collectors.joining(", "));
+    private List<BatchConstraint<In, ?>> getResolvedBatchConstraints() {
+        List<BatchConstraint<In, ?>> constraints = batchConstraints;
+        if (constraints == null) {
+            constraints = List.copyOf(getBatchConstraints());
+            batchConstraints = constraints;
+        }
+        return constraints;
+    }
 
-                log.warn("Validation failed for {}: {}", this.getClass().getSimpleName(), errorMessage);
-                throw new ValidationException("Validation failed: " + errorMessage, violations);
+    private void throwIfInvalid(CommandHolder<In> holder, ConstraintViolations violations) {
+        if (violations.isValid()) {
+            return;
+        }
+        holder.fail(CommandResult.invalid(violations), () -> newValidationException(holder, violations));
+    }
+
+    private ValidationException newValidationException(CommandHolder<In> holder, ConstraintViolations violations) {
+        // Store violations in context for later access
+        holder.getContext().set(VIOLATIONS, violations);
+
+        // Build error message
+        StringBuilder message = new StringBuilder();
+        for (var violation : violations) {
+            if (message.length() > 0) {
+                message.append(", ");
             }
+            message.append(violation.name()).append(": ").append(violation.message());
         }
+        String errorMessage = message.toString();
+
+        log.warn("Validation failed for {}: {}", this.getClass().getSimpleName(), errorMessage);
+        return new ValidationException("Validation failed: " + errorMessage, violations);
     }
 
     /**
@@ -103,7 +394,9 @@ public abstract class BaseCommand<In, Out> implements Command<In, Out> {
      */
     protected void onBefore(CommandHolder<In> holder) {
         // Override to implement pre-execution logic
-        log.debug("Executing command: {}", this.getClass().getSimpleName());
+        if (log.isDebugEnabled()) {
+            log.debug("Executing command: {}", this.getClass().getSimpleName());
+        }
     }
 
     /**
@@ -111,7 +404,9 @@ public abstract class BaseCommand<In, Out> implements Command<In, Out> {
      */
     protected Out onSuccess(CommandHolder<In> holder, Out output) {
         // Override to implement post-execution logic
-        log.debug("Command executed successfully: {}", this.getClass().getSimpleName());
+        if (log.isDebugEnabled()) {
+            log.debug("Command executed successfully: {}", this.getClass().getSimpleName());
+        }
         return output;
     }
 
@@ -127,17 +422,185 @@ public abstract class BaseCommand<In, Out> implements Command<In, Out> {
     }
 
     /**
-     * Template method for command execution
+     * Count rows written by the command, reported in the CommandExecuted JFR event
+     */
+    protected void addRowsTouched(CommandHolder<?> holder, long rows) {
+        holder.getContext().addRowsTouched(rows);
+    }
+
+    /**
+     * Execute the command on the async executor.
+     *
+     * The execution gets a copy of the holder's Context (user, tenant and
+     * attributes), so concurrent commands never share one; changes made by the
+     * command are not visible on the caller's Context. The logging MDC is
+     * propagated too. The command is invoked through its Spring proxy, so a
+     * TransactionalCommand runs in its own transaction on the executor thread,
+     * or on the calling thread when the default platform pool is saturated.
+     *
+     * Example - fan out without blocking the request thread:
+     *
+     * <pre>
+     * {@code
+     * CompletableFuture<UUID> project = projectCreateCommand.executeAsync(projectInput);
+     * CompletableFuture<UUID> user = userCreateCommand.executeAsync(userInput);
+     * CompletableFuture.allOf(project, user).join();
+     * }
+     * </pre>
+     */
+    @Override
+    public CompletableFuture<Out> executeAsync(CommandHolder<In> holder) {
+        Command<In, Out> target = getProxy();
+        Context context = holder.peekContext() == null ? new Context() : holder.peekContext().copy();
+        CommandHolder<In> asyncHolder = new CommandHolder<>(holder.getInput(), context, holder.isAcceptNullInput());
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Executor executor = asyncExecutor != null ? asyncExecutor : CommandExecutors.defaultAsyncExecutor();
+
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setMdc(mdc);
+            try {
+                return target.execute(asyncHolder);
+            } finally {
+                setMdc(previous);
+            }
+        }, executor);
+    }
+
+    /**
+     * The Spring proxy of this command, so async executions keep transactions
+     * and other advice; this instance when not a singleton bean.
+     */
+    @SuppressWarnings("unchecked")
+    private Command<In, Out> getProxy() {
+        if (beanFactory != null && beanName != null
+                && beanFactory.containsBean(beanName) && beanFactory.isSingleton(beanName)) {
+            return (Command<In, Out>) beanFactory.getBean(beanName);
+        }
+        return this;
+    }
+
+    private static void setMdc(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+
+    /**
+     * Execute with expected failures recorded on the holder instead of thrown:
+     * validate() and the CRUD lookups report them through CommandHolder.fail(),
+     * and the lifecycle returns without running the remaining phases, logging or
+     * building an exception. Interceptors still run; a recorded failure is not
+     * stored as an idempotent result.
+     *
+     * Nothing is rolled back for a recorded failure, so commands must report
+     * failures before writing, as validate() and the CRUD lookups do.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public CommandResult<Out> executeForResult(CommandHolder<In> holder) {
+        holder.setRecordFailures(true);
+        Out output = execute(holder);
+        CommandResult.Failure<?> failure = holder.getFailure();
+        return failure == null ? CommandResult.success(output) : (CommandResult<Out>) failure;
+    }
+
+    /**
+     * Run the interceptor chain, or the lifecycle directly when there is none
      */
     @Override
     public Out execute(CommandHolder<In> holder) {
+        CommandChain<In, Out> chain = interceptorChain;
+        return chain == null ? executeLifecycle(holder) : chain.proceed(holder);
+    }
+
+    /**
+     * Template method for command execution.
+     * Each phase is timed through getMetrics() and the CommandExecuted JFR event;
+     * the clock is not read when neither a MeterRegistry nor JFR is active.
+     */
+    protected Out executeLifecycle(CommandHolder<In> holder) {
+        CommandMetrics metrics = this.metrics;
+        CommandExecutedEvent event = CommandExecutedEvent.beginIfEnabled();
+        long executionStarted = metrics.isEnabled() || event != null ? System.nanoTime() : 0L;
+        long started = executionStarted;
+        String phase = CommandMetrics.PHASE_VALIDATE;
         try {
             validate(holder);
+            if (holder.isFailed()) {
+                return failed(metrics, event, holder, phase, started, executionStarted);
+            }
+            started = endPhase(metrics, event, phase, started, true);
+
+            phase = CommandMetrics.PHASE_ON_BEFORE;
             onBefore(holder);
+            started = endPhase(metrics, event, phase, started, true);
+
+            phase = CommandMetrics.PHASE_ON_EXECUTE;
             Out output = onExecute(holder);
-            return onSuccess(holder, output);
+            if (holder.isFailed()) {
+                return failed(metrics, event, holder, phase, started, executionStarted);
+            }
+            started = endPhase(metrics, event, phase, started, true);
+
+            phase = CommandMetrics.PHASE_ON_SUCCESS;
+            Out result = onSuccess(holder, output);
+            endPhase(metrics, event, phase, started, true);
+            metrics.recordExecution(executionStarted, true);
+            commit(event, holder, true, null);
+            return result;
         } catch (Exception ex) {
-            throw onError(holder, ex);
+            started = endPhase(metrics, event, phase, started, false);
+            RuntimeException error = onError(holder, ex);
+            endPhase(metrics, event, CommandMetrics.PHASE_ON_ERROR, started, true);
+            metrics.recordExecution(executionStarted, false);
+            commit(event, holder, false, ex);
+            throw error;
+        }
+    }
+
+    /**
+     * Finish an execution ended by a recorded failure
+     */
+    private Out failed(CommandMetrics metrics, CommandExecutedEvent event, CommandHolder<In> holder,
+                       String phase, long started, long executionStarted) {
+        endPhase(metrics, event, phase, started, false);
+        metrics.recordExecution(executionStarted, false);
+        commit(event, holder, false, null);
+        return null;
+    }
+
+    private static long endPhase(CommandMetrics metrics, CommandExecutedEvent event,
+                                 String phase, long started, boolean success) {
+        boolean eventEnabled = event != null && event.isEnabled();
+        if (!metrics.isEnabled() && !eventEnabled) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        metrics.recordDuration(phase, now - started, success);
+        if (eventEnabled) {
+            event.recordPhase(phase, now - started);
+        }
+        return now;
+    }
+
+    private void commit(CommandExecutedEvent event, CommandHolder<In> holder, boolean success, Exception ex) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.commandClass = getClass().getName();
+        event.success = success;
+        if (ex instanceof ValidationException validationException && validationException.getViolations() != null) {
+            event.validationFailures = validationException.getViolations().size();
+        } else if (holder.getFailure() instanceof CommandResult.Invalid<?> invalid) {
+            event.validationFailures = invalid.violations().size();
+        }
+        Context context = holder.peekContext();
+        if (context != null) {
+            event.rowsTouched = context.getRowsTouched();
         }
+        event.commit();
     }
 }
@@ -0,0 +1,154 @@
+package com.ttl.common.core.command;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Base command for cached reads.
+ *
+ * Results are cached per {@link #getCacheKey} and tenant in a local
+ * {@link QueryCache}. The CRUD write commands evict the cache of their entity
+ * class after commit, on the node that ran the write only: other replicas keep
+ * serving what they cached until it expires, so with several replicas a cached
+ * read can be up to the TTL behind a write. Null results are not cached.
+ *
+ * TTL and size default to the {@code common.query-cache.ttl} (5m) and
+ * {@code common.query-cache.max-size} (10000) properties; a TTL of 0 disables
+ * caching, e.g. for replicas that must read their own writes across nodes.
+ *
+ * Cached outputs are shared between callers: treat them as read-only, and do
+ * not rely on lazy associations of cached entities.
+ *
+ * Usage:
+ *
+ * <pre>
+ * {@code
+ * @Service
+ * public class ProjectFindByIdQuery extends BaseQueryCommand<UUID, Project> {
+ *
+ *     private final ProjectRepository repository;
+ *
+ *     public ProjectFindByIdQuery(ProjectRepository repository) {
+ *         super(Project.class);
+ *         this.repository = repository;
+ *     }
+ *
+ *     @Override
+ *     protected Project query(CommandHolder<UUID> holder) {
+ *         return repository.findById(holder.getInput()).orElseThrow();
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @param <In>  Query input, used as cache key by default
+ * @param <Out> Query result
+ */
+public abstract class BaseQueryCommand<In, Out> extends BaseCommand<In, Out> {
+
+    protected static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    protected static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final Class<?> entityClass;
+    private Duration cacheTtl = DEFAULT_TTL;
+    private int cacheMaxSize = DEFAULT_MAX_SIZE;
+    private volatile QueryCache<Out> cache;
+
+    /**
+     * @param entityClass entity type read by the query, whose writes evict the cache
+     */
+    protected BaseQueryCommand(Class<?> entityClass) {
+        this.entityClass = Objects.requireNonNull(entityClass, "entityClass must not be null");
+    }
+
+    /**
+     * Serve from the cache, or run the query and cache its result
+     */
+    @Override
+    protected final Out onExecute(CommandHolder<In> holder) {
+        QueryCache<Out> cache = getCache();
+        Context context = holder.peekContext();
+        CacheKey key = new CacheKey(context != null ? context.getTenantId() : null, getCacheKey(holder.getInput()));
+
+        Out cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = cache.generation();
+        Out result = query(holder);
+        if (result != null) {
+            cache.put(key, result, generation);
+        }
+        return result;
+    }
+
+    /**
+     * Run the query against the database
+     */
+    protected abstract Out query(CommandHolder<In> holder);
+
+    /**
+     * Cache key of an input, the input itself by default.
+     * Override when the input has no value-based equals/hashCode.
+     */
+    protected Object getCacheKey(In input) {
+        return input;
+    }
+
+    /**
+     * How long a result stays cached without writes to the entity class on this node
+     */
+    protected Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Maximum number of cached results, least recently used ones are dropped first
+     */
+    protected int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    /**
+     * Configurable with the {@code common.query-cache.ttl} property, applies to a cache not created yet
+     */
+    @Value("${common.query-cache.ttl:5m}")
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = Objects.requireNonNull(cacheTtl, "cacheTtl must not be null");
+    }
+
+    /**
+     * Configurable with the {@code common.query-cache.max-size} property, applies to a cache not created yet
+     */
+    @Value("${common.query-cache.max-size:10000}")
+    public void setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    /**
+     * Cache of this command, created on first use from getCacheMaxSize and getCacheTtl
+     */
+    public QueryCache<Out> getCache() {
+        QueryCache<Out> cache = this.cache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = this.cache;
+                if (cache == null) {
+                    cache = new QueryCache<>(entityClass, getCacheMaxSize(), getCacheTtl());
+                    this.cache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    protected Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    private record CacheKey(String tenantId, Object key) {
+    }
+}
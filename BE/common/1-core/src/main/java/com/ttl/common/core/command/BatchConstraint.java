@@ -0,0 +1,109 @@
+package com.ttl.common.core.command;
+
+import am.ik.yavi.core.ConstraintViolation;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.message.SimpleMessageFormatter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * DB-backed constraint checked for a whole batch of inputs with a single query.
+ * Declared by commands through BaseCommand.getBatchConstraints(); violations are
+ * reported in the same ConstraintViolations/ValidationException flow as YAVI rules.
+ *
+ * Example:
+ *
+ * <pre>
+ * {@code
+ * BatchConstraint.unique("name", ProjectCreateInput::getName,
+ *         projectRepository::findExistingNames,
+ *         "error.project.name.exists", "Project name already exists");
+ * }
+ * </pre>
+ *
+ * @param <T> Input type
+ * @param <K> Key type
+ */
+public final class BatchConstraint<T, K> {
+
+    private static final SimpleMessageFormatter MESSAGE_FORMATTER = new SimpleMessageFormatter();
+
+    private final String name;
+    private final Function<T, K> keyExtractor;
+    private final Function<Collection<K>, Collection<K>> existingKeys;
+    private final String messageKey;
+    private final String defaultMessage;
+
+    private BatchConstraint(String name, Function<T, K> keyExtractor,
+                            Function<Collection<K>, Collection<K>> existingKeys,
+                            String messageKey, String defaultMessage) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor must not be null");
+        this.existingKeys = Objects.requireNonNull(existingKeys, "existingKeys must not be null");
+        this.messageKey = messageKey;
+        this.defaultMessage = defaultMessage;
+    }
+
+    /**
+     * Uniqueness constraint: a key is violated when it already exists or when it
+     * repeats the key of an earlier input of the same batch. Null keys are skipped.
+     *
+     * @param existingKeys returns which of the given keys already exist, in one query
+     */
+    public static <T, K> BatchConstraint<T, K> unique(String name,
+                                                      Function<T, K> keyExtractor,
+                                                      Function<Collection<K>, Collection<K>> existingKeys,
+                                                      String messageKey,
+                                                      String defaultMessage) {
+        return new BatchConstraint<>(name, keyExtractor, existingKeys, messageKey, defaultMessage);
+    }
+
+    /**
+     * Validate a single input
+     */
+    public ConstraintViolations validate(T input) {
+        return validate(List.of(input)).get(0);
+    }
+
+    /**
+     * Validate a batch of inputs.
+     *
+     * @return one ConstraintViolations per input, in input order
+     */
+    public List<ConstraintViolations> validate(List<T> inputs) {
+        Set<K> keys = new LinkedHashSet<>();
+        for (T input : inputs) {
+            K key = keyExtractor.apply(input);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+
+        Set<K> existing = keys.isEmpty() ? Set.of() : new HashSet<>(existingKeys.apply(keys));
+
+        List<ConstraintViolations> results = new ArrayList<>(inputs.size());
+        Set<K> seen = new HashSet<>();
+        for (T input : inputs) {
+            ConstraintViolations violations = new ConstraintViolations();
+            K key = keyExtractor.apply(input);
+            if (key != null && (existing.contains(key) || !seen.add(key))) {
+                violations.add(new ConstraintViolation(name, messageKey, defaultMessage,
+                        new Object[] { name, key }, MESSAGE_FORMATTER, Locale.getDefault()));
+            }
+            results.add(violations);
+        }
+        return results;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ttl.common.core.command;
+
+import am.ik.yavi.core.ConstraintViolations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-item result of a batch execution.
+ *
+ * Items keep the position of their input. Invalid items are skipped and carry
+ * their violations; valid items carry the command output.
+ *
+ * @param <Out> Output type of a single item
+ */
+public final class BatchResult<Out> {
+
+    private final List<Item<Out>> items;
+
+    private BatchResult(List<Item<Out>> items) {
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Build a result from outputs and violations aligned by input position
+     */
+    public static <Out> BatchResult<Out> of(List<Out> outputs, List<ConstraintViolations> violations) {
+        if (outputs.size() != violations.size()) {
+            throw new IllegalArgumentException("outputs and violations must have the same size");
+        }
+        List<Item<Out>> items = new ArrayList<>(outputs.size());
+        for (int i = 0; i < outputs.size(); i++) {
+            items.add(new Item<>(i, outputs.get(i), violations.get(i)));
+        }
+        return new BatchResult<>(items);
+    }
+
+    public List<Item<Out>> getItems() {
+        return items;
+    }
+
+    /**
+     * @return true when every item was processed
+     */
+    public boolean isValid() {
+        for (Item<Out> item : items) {
+            if (!item.isValid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Outputs of the processed items, in input order
+     */
+    public List<Out> getOutputs() {
+        List<Out> outputs = new ArrayList<>(items.size());
+        for (Item<Out> item : items) {
+            if (item.isValid()) {
+                outputs.add(item.output());
+            }
+        }
+        return outputs;
+    }
+
+    /**
+     * Items skipped because of violations
+     */
+    public List<Item<Out>> getFailures() {
+        List<Item<Out>> failures = new ArrayList<>();
+        for (Item<Out> item : items) {
+            if (!item.isValid()) {
+                failures.add(item);
+            }
+        }
+        return failures;
+    }
+
+    public int getSuccessCount() {
+        return items.size() - getFailures().size();
+    }
+
+    /**
+     * One input of the batch
+     *
+     * @param index      position of the input in the batch
+     * @param output     command output, null when the item was skipped
+     * @param violations violations of the item, empty when it was processed
+     */
+    public record Item<Out>(int index, Out output, ConstraintViolations violations) {
+
+        public boolean isValid() {
+            return violations == null || violations.isValid();
+        }
+    }
+}
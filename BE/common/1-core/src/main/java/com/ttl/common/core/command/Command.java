@@ -1,5 +1,7 @@
 package com.ttl.common.core.command;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Base interface for all commands in the system.
  * Commands follow the Command Pattern to encapsulate actions as objects.
@@ -13,7 +15,7 @@ public interface Command<In, Out> {
      * Execute the command without input (for commands that don't require input)
      */
     default Out execute() {
-        CommandHolder<In> holder = new CommandHolder<>(null, new Context());
+        CommandHolder<In> holder = new CommandHolder<>(null);
         holder.setAcceptNullInput(true);
         return this.execute(holder);
     }
@@ -22,11 +24,46 @@ public interface Command<In, Out> {
      * Execute the command with input
      */
     default Out execute(In input) {
-        return this.execute(new CommandHolder<>(input, new Context()));
+        return this.execute(new CommandHolder<>(input));
     }
 
     /**
      * Execute the command with a CommandHolder containing input and context
      */
     Out execute(CommandHolder<In> holder);
+
+    /**
+     * Execute the command with input, returning expected failures instead of throwing them
+     */
+    default CommandResult<Out> executeForResult(In input) {
+        return executeForResult(new CommandHolder<>(input));
+    }
+
+    /**
+     * Execute the command, returning invalid input and missing entities as a CommandResult.
+     * BaseCommand overrides this so those failures never build an exception;
+     * this default only converts the ValidationException of execute().
+     */
+    default CommandResult<Out> executeForResult(CommandHolder<In> holder) {
+        try {
+            return CommandResult.success(execute(holder));
+        } catch (ValidationException e) {
+            return CommandResult.invalid(e.getViolations());
+        }
+    }
+
+    /**
+     * Execute the command asynchronously with input
+     */
+    default CompletableFuture<Out> executeAsync(In input) {
+        return executeAsync(new CommandHolder<>(input));
+    }
+
+    /**
+     * Execute the command asynchronously on the default command executor.
+     * BaseCommand overrides this to propagate the context and the Spring proxy.
+     */
+    default CompletableFuture<Out> executeAsync(CommandHolder<In> holder) {
+        return CompletableFuture.supplyAsync(() -> execute(holder), CommandExecutors.defaultAsyncExecutor());
+    }
 }
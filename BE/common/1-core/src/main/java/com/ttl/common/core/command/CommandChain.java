@@ -0,0 +1,16 @@
+package com.ttl.common.core.command;
+
+/**
+ * Remaining part of an interceptor chain, ending with the command lifecycle
+ *
+ * @param <In>  Input type
+ * @param <Out> Output type
+ */
+@FunctionalInterface
+public interface CommandChain<In, Out> {
+
+    /**
+     * Continue with the next interceptor, or run the command when none is left
+     */
+    Out proceed(CommandHolder<In> holder);
+}
@@ -0,0 +1,83 @@
+package com.ttl.common.core.command;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed by BaseCommand for every execution.
+ * The event duration covers the whole execute() call; phases that did not run are 0.
+ */
+@Name("com.ttl.common.CommandExecuted")
+@Label("Command Executed")
+@Category({ "TTL", "Command" })
+@Description("Execution of a BaseCommand with its lifecycle phase durations")
+@StackTrace(false)
+class CommandExecutedEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(CommandExecutedEvent.class);
+
+    @Label("Command Class")
+    String commandClass;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Validate")
+    @Timespan(Timespan.NANOSECONDS)
+    long validateDuration;
+
+    @Label("On Before")
+    @Timespan(Timespan.NANOSECONDS)
+    long onBeforeDuration;
+
+    @Label("On Execute")
+    @Timespan(Timespan.NANOSECONDS)
+    long onExecuteDuration;
+
+    @Label("On Success")
+    @Timespan(Timespan.NANOSECONDS)
+    long onSuccessDuration;
+
+    @Label("On Error")
+    @Timespan(Timespan.NANOSECONDS)
+    long onErrorDuration;
+
+    @Label("Validation Failures")
+    @Description("Number of constraint violations when validation failed")
+    int validationFailures;
+
+    @Label("Rows Touched")
+    @Description("Rows written by the command, as reported through Context.addRowsTouched")
+    long rowsTouched;
+
+    /**
+     * Begin a new event, or return null when no recording enables it, so executions allocate nothing without JFR
+     */
+    static CommandExecutedEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        CommandExecutedEvent event = new CommandExecutedEvent();
+        event.begin();
+        return event;
+    }
+
+    void recordPhase(String phase, long durationNanos) {
+        switch (phase) {
+            case CommandMetrics.PHASE_VALIDATE -> validateDuration = durationNanos;
+            case CommandMetrics.PHASE_ON_BEFORE -> onBeforeDuration = durationNanos;
+            case CommandMetrics.PHASE_ON_EXECUTE -> onExecuteDuration = durationNanos;
+            case CommandMetrics.PHASE_ON_SUCCESS -> onSuccessDuration = durationNanos;
+            case CommandMetrics.PHASE_ON_ERROR -> onErrorDuration = durationNanos;
+            default -> {
+                // Sub-phases are only exposed as metrics
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ttl.common.core.command;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for Command.executeAsync.
+ *
+ * The default runs every command on its own virtual thread on Java 21+, and
+ * on a fixed pool of daemon platform threads on older runtimes. The pool queues
+ * at most {@value #QUEUE_CAPACITY_PER_THREAD} commands per thread; beyond that
+ * the submitting thread runs the command itself, which slows the producer down
+ * instead of queueing without limit. Define an Executor bean named
+ * {@value #ASYNC_EXECUTOR_BEAN} to use another one.
+ */
+@Slf4j
+public final class CommandExecutors {
+
+    public static final String ASYNC_EXECUTOR_BEAN = "commandAsyncExecutor";
+
+    private static final int QUEUE_CAPACITY_PER_THREAD = 64;
+
+    private CommandExecutors() {
+    }
+
+    /**
+     * Shared default executor, created on first use
+     */
+    public static Executor defaultAsyncExecutor() {
+        return DefaultAsyncExecutor.INSTANCE;
+    }
+
+    private static final class DefaultAsyncExecutor {
+
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                // Looked up reflectively, the module is compiled for Java 17
+                Executor executor = (Executor) MethodHandles.publicLookup()
+                        .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                                MethodType.methodType(ExecutorService.class))
+                        .invoke();
+                log.debug("Async commands run on virtual threads");
+                return executor;
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                log.debug("Virtual threads are not available, async commands run on platform threads");
+                return platformExecutor();
+            } catch (Throwable e) {
+                log.warn("Failed to create virtual thread executor, async commands run on platform threads", e);
+                return platformExecutor();
+            }
+        }
+
+        private static Executor platformExecutor() {
+            int threads = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD), new DaemonThreadFactory(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "command-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
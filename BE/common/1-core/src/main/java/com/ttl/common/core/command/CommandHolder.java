@@ -1,23 +1,79 @@
 package com.ttl.common.core.command;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.function.Supplier;
 
 /**
- * Holder class that wraps command input and execution context
+ * Holder class that wraps command input and execution context.
+ * The context is created on first {@link #getContext()} when none was given.
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class CommandHolder<In> {
 
     private In input;
     private Context context;
     private boolean acceptNullInput = false;
 
+    /**
+     * Record expected failures in {@link #getFailure()} instead of throwing them,
+     * set by {@link Command#executeForResult}
+     */
+    private boolean recordFailures = false;
+
+    @Setter(AccessLevel.NONE)
+    private CommandResult.Failure<?> failure;
+
+    public CommandHolder(In input, Context context, boolean acceptNullInput) {
+        this.input = input;
+        this.context = context;
+        this.acceptNullInput = acceptNullInput;
+    }
+
     public CommandHolder(In input, Context context) {
         this.input = input;
         this.context = context;
     }
+
+    public CommandHolder(In input) {
+        this.input = input;
+    }
+
+    /**
+     * Context of the execution, created if needed
+     */
+    public Context getContext() {
+        if (context == null) {
+            context = new Context();
+        }
+        return context;
+    }
+
+    /**
+     * Context if one was given or already created, null otherwise.
+     * For framework code that only reads the context.
+     */
+    public Context peekContext() {
+        return context;
+    }
+
+    /**
+     * Report an expected failure: recorded when recordFailures is set, otherwise
+     * the exception is created and thrown. Commands return right after a recorded
+     * failure; the lifecycle skips the remaining phases.
+     */
+    public void fail(CommandResult.Failure<?> failure, Supplier<? extends RuntimeException> exception) {
+        if (!recordFailures) {
+            throw exception.get();
+        }
+        this.failure = failure;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
 }
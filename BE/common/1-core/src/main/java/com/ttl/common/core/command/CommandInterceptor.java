@@ -0,0 +1,49 @@
+package com.ttl.common.core.command;
+
+/**
+ * Cross-cutting logic around Command.execute(CommandHolder), e.g. tracing
+ * or caching. Logic that must run outside the transaction (idempotency,
+ * concurrency limit, conflict retry) is method advice on the command proxy.
+ *
+ * Interceptors are Spring beans, ordered with {@code @Order} or
+ * {@link org.springframework.core.Ordered} (lowest value is outermost), and
+ * injected into every BaseCommand. Each command composes its chain once, so a
+ * command without applicable interceptors executes without any indirection.
+ *
+ * Example:
+ *
+ * <pre>
+ * {@code
+ * @Component
+ * @Order(10)
+ * public class TenantInterceptor implements CommandInterceptor {
+ *
+ *     @Override
+ *     public <In, Out> Out intercept(Command<In, Out> command, CommandHolder<In> holder,
+ *                                    CommandChain<In, Out> chain) {
+ *         MDC.put("tenant", holder.getContext().getTenantId());
+ *         try {
+ *             return chain.proceed(holder);
+ *         } finally {
+ *             MDC.remove("tenant");
+ *         }
+ *     }
+ * }
+ * }
+ * </pre>
+ */
+public interface CommandInterceptor {
+
+    /**
+     * Intercept an execution. Call {@code chain.proceed(holder)} to continue;
+     * exceptions thrown here do not go through the command's onError hook.
+     */
+    <In, Out> Out intercept(Command<In, Out> command, CommandHolder<In> holder, CommandChain<In, Out> chain);
+
+    /**
+     * Whether this interceptor applies to a command class, evaluated once when the chain is composed
+     */
+    default boolean supports(Class<?> commandClass) {
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package com.ttl.common.core.command;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer timers for the lifecycle phases of one command class.
+ *
+ * Timers:
+ * - command.phase: one per phase, tagged with command, phase and outcome
+ * - command.execution: whole execute() call, tagged with command and outcome
+ *
+ * Both publish percentile histograms so p99 can be aggregated per command.
+ * Sub-phases timed by subclasses (findById, mapping, ...) are recorded when
+ * they complete; a failing sub-phase shows up as onExecute with outcome=error.
+ * Without a registry, {@link #start()} and {@link #record} return immediately
+ * without reading the clock.
+ *
+ * Usage in a command:
+ *
+ * <pre>
+ * {@code
+ * long started = getMetrics().start();
+ * Entity saved = repository.save(entity);
+ * getMetrics().record(CommandMetrics.PHASE_SAVE, started, true);
+ * }
+ * </pre>
+ */
+public final class CommandMetrics {
+
+    public static final String PHASE_TIMER = "command.phase";
+    public static final String EXECUTION_TIMER = "command.execution";
+
+    public static final String PHASE_VALIDATE = "validate";
+    public static final String PHASE_ON_BEFORE = "onBefore";
+    public static final String PHASE_ON_EXECUTE = "onExecute";
+    public static final String PHASE_ON_SUCCESS = "onSuccess";
+    public static final String PHASE_ON_ERROR = "onError";
+    public static final String PHASE_FIND_BY_ID = "findById";
+    public static final String PHASE_MAPPING = "mapping";
+    public static final String PHASE_SAVE = "repository.save";
+    public static final String PHASE_DELETE = "repository.delete";
+    public static final String PHASE_AFTER_SAVE = "afterSave";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
+    /**
+     * Metrics that record nothing, used when no MeterRegistry is configured
+     */
+    public static final CommandMetrics NOOP = new CommandMetrics(null, null);
+
+    private final MeterRegistry registry;
+    private final String command;
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> errorTimers = new ConcurrentHashMap<>();
+
+    private CommandMetrics(MeterRegistry registry, String command) {
+        this.registry = registry;
+        this.command = command;
+    }
+
+    /**
+     * Create metrics for a command class
+     */
+    public static CommandMetrics of(MeterRegistry registry, Class<?> commandClass) {
+        return new CommandMetrics(Objects.requireNonNull(registry, "registry must not be null"),
+                commandClass.getSimpleName());
+    }
+
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * Start timing a phase.
+     *
+     * @return the start timestamp, 0 when disabled
+     */
+    public long start() {
+        return registry == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Record a phase started at {@code started}.
+     *
+     * @return the current timestamp, to be used as the start of the next phase
+     */
+    public long record(String phase, long started, boolean success) {
+        if (registry == null) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        recordDuration(phase, now - started, success);
+        return now;
+    }
+
+    /**
+     * Record a phase duration measured by the caller
+     */
+    public void recordDuration(String phase, long durationNanos, boolean success) {
+        if (registry == null) {
+            return;
+        }
+        timer(phase, success).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a whole execute() call started at {@code started}
+     */
+    public void recordExecution(long started, boolean success) {
+        if (registry == null) {
+            return;
+        }
+        timer(EXECUTION_TIMER, success).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Timers are cached per phase and outcome, the execution timer under its own name
+     */
+    private Timer timer(String phase, boolean success) {
+        Map<String, Timer> timers = success ? successTimers : errorTimers;
+        Timer timer = timers.get(phase);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(phase, key -> register(key, success ? OUTCOME_SUCCESS : OUTCOME_ERROR));
+        }
+        return timer;
+    }
+
+    private Timer register(String phase, String outcome) {
+        Timer.Builder builder = EXECUTION_TIMER.equals(phase)
+                ? Timer.builder(EXECUTION_TIMER)
+                : Timer.builder(PHASE_TIMER).tag("phase", phase);
+        return builder
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
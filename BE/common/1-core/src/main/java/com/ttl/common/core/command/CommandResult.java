@@ -0,0 +1,82 @@
+package com.ttl.common.core.command;
+
+import am.ik.yavi.core.ConstraintViolations;
+
+/**
+ * Outcome of {@link Command#executeForResult}: the output, or an expected failure.
+ *
+ * Expected failures (invalid input, missing entity) are returned as values,
+ * without building an exception or logging. Unexpected errors are still thrown.
+ *
+ * <pre>
+ * {@code
+ * CommandResult<Project> result = command.executeForResult(input);
+ * if (result instanceof CommandResult.Invalid<Project> invalid) {
+ *     return badRequest(invalid.violations());
+ * }
+ * if (result instanceof CommandResult.NotFound<Project> notFound) {
+ *     return notFound(notFound.entity(), notFound.id());
+ * }
+ * return ok(result.getOrThrow());
+ * }
+ * </pre>
+ *
+ * @param <Out> Output type of the command
+ */
+public sealed interface CommandResult<Out> {
+
+    static <Out> CommandResult<Out> success(Out value) {
+        return new Success<>(value);
+    }
+
+    static <Out> Failure<Out> invalid(ConstraintViolations violations) {
+        return new Invalid<>(violations);
+    }
+
+    static <Out> Failure<Out> notFound(String entity, Object id) {
+        return new NotFound<>(entity, id);
+    }
+
+    default boolean isSuccess() {
+        return this instanceof Success;
+    }
+
+    /**
+     * The output, or the exception execute() would have thrown for this failure
+     */
+    Out getOrThrow();
+
+    record Success<Out>(Out value) implements CommandResult<Out> {
+
+        @Override
+        public Out getOrThrow() {
+            return value;
+        }
+    }
+
+    /**
+     * Expected failure, recorded on the holder by {@link CommandHolder#fail}
+     */
+    sealed interface Failure<Out> extends CommandResult<Out> {
+    }
+
+    record Invalid<Out>(ConstraintViolations violations) implements Failure<Out> {
+
+        @Override
+        public Out getOrThrow() {
+            throw new ValidationException("Validation failed", violations);
+        }
+    }
+
+    /**
+     * @param entity simple name of the entity class
+     * @param id     identifier that was looked up
+     */
+    record NotFound<Out>(String entity, Object id) implements Failure<Out> {
+
+        @Override
+        public Out getOrThrow() {
+            throw new RuntimeException(String.format("%s not found with ID: %s", entity, id));
+        }
+    }
+}
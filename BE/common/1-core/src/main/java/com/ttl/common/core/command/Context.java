@@ -6,22 +6,85 @@ import java.util.Map;
 
 /**
  * Context for command execution
- * Can hold validation errors and other execution metadata
+ * Can hold validation errors and other execution metadata.
+ * The attribute map is created on first write, so a context that carries no
+ * attributes costs a single small object.
  */
 @Data
 public class Context {
 
-    private Map<String, Object> attributes = new HashMap<>();
+    private Map<String, Object> attributes;
     private Object constraintViolations;
     private String userId;
     private String tenantId;
+    /**
+     * Client-supplied key: executions of the same command with the same key return the first result
+     */
+    private String idempotencyKey;
+    private long rowsTouched;
+
+    /**
+     * Context for an execution clients may retry; a null key disables deduplication
+     */
+    public static Context withIdempotencyKey(String idempotencyKey) {
+        Context context = new Context();
+        context.idempotencyKey = idempotencyKey;
+        return context;
+    }
+
+    /**
+     * Mutable attribute map, created if needed
+     */
+    public Map<String, Object> getAttributes() {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
+        return attributes;
+    }
 
     public void setAttribute(String key, Object value) {
-        attributes.put(key, value);
+        getAttributes().put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T removeAttribute(String key) {
+        return attributes == null ? null : (T) attributes.remove(key);
+    }
+
+    public <T> void set(ContextKey<T> key, T value) {
+        setAttribute(key.getName(), value);
+    }
+
+    public <T> T get(ContextKey<T> key) {
+        return getAttribute(key.getName());
+    }
+
+    public <T> T remove(ContextKey<T> key) {
+        return removeAttribute(key.getName());
+    }
+
+    /**
+     * Count rows written by the command, reported in the CommandExecuted JFR event
+     */
+    public void addRowsTouched(long rows) {
+        rowsTouched += rows;
+    }
+
+    /**
+     * Copy for another execution, e.g. an async one: same user, tenant,
+     * idempotency key and attributes, but its own attribute map and counters
+     */
+    public Context copy() {
+        Context copy = new Context();
+        copy.attributes = attributes == null ? null : new HashMap<>(attributes);
+        copy.userId = userId;
+        copy.tenantId = tenantId;
+        copy.idempotencyKey = idempotencyKey;
+        return copy;
     }
 
     @SuppressWarnings("unchecked")
     public <T> T getAttribute(String key) {
-        return (T) attributes.get(key);
+        return attributes == null ? null : (T) attributes.get(key);
     }
 }
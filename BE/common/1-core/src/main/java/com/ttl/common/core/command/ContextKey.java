@@ -0,0 +1,43 @@
+package com.ttl.common.core.command;
+
+import java.util.Objects;
+
+/**
+ * Typed key of a {@link Context} attribute.
+ * Declare keys as constants so reads need no cast:
+ *
+ * <pre>
+ * {@code
+ * static final ContextKey<String> SOURCE = ContextKey.of("source");
+ *
+ * context.set(SOURCE, "graphql");
+ * String source = context.get(SOURCE);
+ * }
+ * </pre>
+ *
+ * Values are stored under the key name, so they are also visible through
+ * the string-based attribute methods.
+ *
+ * @param <T> Attribute value type
+ */
+public final class ContextKey<T> {
+
+    private final String name;
+
+    private ContextKey(String name) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+    }
+
+    public static <T> ContextKey<T> of(String name) {
+        return new ContextKey<>(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,143 @@
+package com.ttl.common.core.command;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded local cache of one BaseQueryCommand, LRU with a TTL per entry.
+ *
+ * Caches are registered per entity class. Write commands call
+ * {@link #evictAfterCommit(Class)} and every cache reading that entity class
+ * is cleared. A per-class generation counter keeps a query that raced with a
+ * write from caching what it read before the write committed.
+ *
+ * Eviction is local to this JVM: it has no effect on the caches of other
+ * replicas, which only drop an entry once its TTL expires. The TTL is the
+ * bound on how stale a read served by another node can be.
+ *
+ * @param <V> Cached value type
+ */
+public final class QueryCache<V> {
+
+    private static final Map<Class<?>, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Weakly referenced, a cache goes away with its command
+     */
+    private static final Map<Class<?>, Set<QueryCache<?>>> CACHES = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation;
+    private final Duration ttl;
+    private final Map<Object, Stored<V>> entries;
+
+    /**
+     * Create a cache for queries reading {@code entityClass}
+     */
+    public QueryCache(Class<?> entityClass, int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.generation = GENERATIONS.computeIfAbsent(entityClass, key -> new AtomicLong());
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Stored<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        Set<QueryCache<?>> caches = CACHES.computeIfAbsent(entityClass,
+                key -> Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>())));
+        caches.add(this);
+    }
+
+    /**
+     * Clear every cache reading {@code entityClass} once the current
+     * transaction completes, or right away outside a transaction
+     */
+    public static void evictAfterCommit(Class<?> entityClass) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(entityClass);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(entityClass);
+            }
+        });
+    }
+
+    /**
+     * Clear every cache reading {@code entityClass}
+     */
+    public static void evict(Class<?> entityClass) {
+        AtomicLong generation = GENERATIONS.get(entityClass);
+        if (generation == null) {
+            // No query caches this entity class
+            return;
+        }
+        generation.incrementAndGet();
+
+        Set<QueryCache<?>> caches = CACHES.get(entityClass);
+        List<QueryCache<?>> snapshot;
+        synchronized (caches) {
+            snapshot = new ArrayList<>(caches);
+        }
+        for (QueryCache<?> cache : snapshot) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Generation to pass to {@link #put}, read before loading the value
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return the cached value, null when absent or expired
+     */
+    public synchronized V get(Object key) {
+        Stored<V> stored = entries.get(key);
+        if (stored == null) {
+            return null;
+        }
+        if (System.nanoTime() - stored.expiresAt() >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return stored.value();
+    }
+
+    /**
+     * Cache a value loaded at {@code generation}; dropped when the entity class was written since
+     */
+    public synchronized void put(Object key, V value, long generation) {
+        if (this.generation.get() == generation && !ttl.isZero() && !ttl.isNegative()) {
+            entries.put(key, new Stored<>(value, System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Stored<V>(V value, long expiresAt) {
+    }
+}
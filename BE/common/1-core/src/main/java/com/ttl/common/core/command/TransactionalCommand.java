@@ -1,10 +1,14 @@
 package com.ttl.common.core.command;
 
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Marker interface for commands that require transactional execution
- * All methods are automatically wrapped in a transaction
+ * All methods are automatically wrapped in a transaction.
+ * Async executions open their own transaction on the executor thread.
  */
 @Transactional
 public interface TransactionalCommand<In, Out> extends Command<In, Out> {
@@ -24,4 +28,29 @@ public interface TransactionalCommand<In, Out> extends Command<In, Out> {
     @Override
     @Transactional
     Out execute(CommandHolder<In> holder);
+
+    @Override
+    @Transactional
+    default CommandResult<Out> executeForResult(In input) {
+        return Command.super.executeForResult(input);
+    }
+
+    @Override
+    @Transactional
+    CommandResult<Out> executeForResult(CommandHolder<In> holder);
+
+    /**
+     * Only submits the execution: no transaction on the calling thread
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    default CompletableFuture<Out> executeAsync(In input) {
+        return Command.super.executeAsync(input);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    default CompletableFuture<Out> executeAsync(CommandHolder<In> holder) {
+        return Command.super.executeAsync(holder);
+    }
 }
@@ -2,7 +2,11 @@ package com.ttl.common.core.command.crud;
 
 import com.ttl.common.core.command.BaseCommand;
 import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandMetrics;
+import com.ttl.common.core.command.QueryCache;
 import com.ttl.common.core.command.TransactionalCommand;
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.lang.NonNull;
@@ -42,6 +46,7 @@ public abstract class BaseCrudCreateCommand<Entity, Input, ID>
 
     protected final JpaRepository<Entity, ID> repository;
     private final Class<Entity> entityClass;
+    private final EntityMetadata<Entity> entityMetadata;
 
     @SuppressWarnings("unchecked")
     protected BaseCrudCreateCommand(JpaRepository<Entity, ID> repository) {
@@ -49,6 +54,7 @@ public abstract class BaseCrudCreateCommand<Entity, Input, ID>
         // Get the Entity class from generic type
         this.entityClass = (Class<Entity>) ((ParameterizedType) getClass()
                 .getGenericSuperclass()).getActualTypeArguments()[0];
+        this.entityMetadata = EntityMetadataRegistry.get(entityClass);
     }
 
     /**
@@ -57,21 +63,29 @@ public abstract class BaseCrudCreateCommand<Entity, Input, ID>
     @Override
     protected ID onExecute(CommandHolder<Input> holder) {
         Input input = holder.getInput();
+        CommandMetrics metrics = getMetrics();
 
         // Allow subclasses to modify input before creation
         input = beforeCreate(input, holder);
 
         // Map input to entity
+        long started = metrics.start();
         Entity entity = mapInputToEntity(input, holder);
+        metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
 
         // Allow subclasses to modify entity before save
         entity = beforeSave(entity, input, holder);
 
         // Save the entity
+        started = metrics.start();
         Entity savedEntity = repository.save(entity);
+        started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+        addRowsTouched(holder, 1);
+        QueryCache.evictAfterCommit(entityClass);
 
         // Allow subclasses to perform post-save operations
         afterSave(savedEntity, input, holder);
+        metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
 
         // Extract and return ID
         return extractId(savedEntity);
@@ -87,22 +101,12 @@ public abstract class BaseCrudCreateCommand<Entity, Input, ID>
 
     /**
      * Map input DTO to entity.
-     * Default implementation tries to create instance using reflection.
+     * Default implementation only creates an empty instance through the entity metadata.
      * Override this for custom mapping logic.
      */
     protected @NonNull Entity mapInputToEntity(Input input, CommandHolder<Input> holder) {
-        try {
-            Entity entity = entityClass.getDeclaredConstructor().newInstance();
-            if (entity == null) {
-                throw new RuntimeException("Entity instantiation returned null for class: " + entityClass.getName());
-            }
-            // Use reflection or mapper to copy properties
-            // Subclasses should override this for specific mapping
-            return entity;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create entity instance. " +
-                    "Override mapInputToEntity() for custom mapping.", e);
-        }
+        // Subclasses should override this for specific mapping
+        return entityMetadata.newInstance();
     }
 
     /**
@@ -127,17 +131,14 @@ public abstract class BaseCrudCreateCommand<Entity, Input, ID>
      */
     @SuppressWarnings("unchecked")
     protected ID extractId(@NonNull Entity entity) {
-        try {
-            var idField = entity.getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            return (ID) idField.get(entity);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to extract ID from entity. " +
-                    "Override extractId() for custom ID extraction.", e);
-        }
+        return (ID) entityMetadata.getId(entity);
     }
 
     protected Class<Entity> getEntityClass() {
         return entityClass;
     }
+
+    protected EntityMetadata<Entity> getEntityMetadata() {
+        return entityMetadata;
+    }
 }
@@ -1,18 +1,34 @@
 package com.ttl.common.core.command.crud;
 
+import am.ik.yavi.core.ConstraintViolations;
 import com.ttl.common.core.command.BaseCommand;
+import com.ttl.common.core.command.BatchResult;
 import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandMetrics;
+import com.ttl.common.core.command.QueryCache;
+import com.ttl.common.core.command.Context;
 import com.ttl.common.core.command.TransactionalCommand;
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
 import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Improved generic base command for CREATE operations with automatic mapping.
  * Uses EntityMapper for automatic field mapping from Input to Entity.
+ * Annotate the command with {@link GenerateMapper} to map through a
+ * reflection-free mapper generated at compile time; EntityMapper picks it up
+ * automatically.
  * 
  * Usage Example 1 - Simple auto-mapping:
  * 
@@ -55,6 +71,14 @@ import java.lang.reflect.ParameterizedType;
  * }
  * </pre>
  * 
+ * Batch creation: {@link #executeBatch(List)} validates every input first, then
+ * saves the valid ones in chunks of {@link #getBatchSize()} with saveAll,
+ * flushing and clearing the persistence context between chunks. The batch hooks
+ * (beforeCreateBatch, beforeSaveBatch, afterSaveBatch) call the single-item
+ * hooks by default, so existing overrides keep working.
+ * executeBatch does not go through the CommandInterceptor chain, and
+ * idempotency keys and the concurrency limit do not apply to it.
+ * 
  * @param <Entity> JPA Entity type
  * @param <Input>  Input DTO type
  * @param <ID>     Entity ID type
@@ -67,6 +91,11 @@ public abstract class BaseCrudCreateCommandV2<Entity, Input, ID>
     protected final JpaRepository<Entity, ID> repository;
     protected final EntityMapper entityMapper;
     private final Class<Entity> entityClass;
+    private final EntityMetadata<Entity> entityMetadata;
+    private final java.util.Set<String> excludedFields;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @SuppressWarnings("unchecked")
     protected BaseCrudCreateCommandV2(JpaRepository<Entity, ID> repository, EntityMapper entityMapper) {
@@ -74,58 +103,165 @@ public abstract class BaseCrudCreateCommandV2<Entity, Input, ID>
         this.entityMapper = entityMapper;
         this.entityClass = (Class<Entity>) ((ParameterizedType) getClass()
                 .getGenericSuperclass()).getActualTypeArguments()[0];
+        this.entityMetadata = EntityMetadataRegistry.get(entityClass);
+        this.excludedFields = CrudBatchSupport.union(entityMetadata.getManagedFields(),
+                "id", "createdAt", "updatedAt", "createdBy", "updatedBy");
     }
 
     @Override
     protected ID onExecute(CommandHolder<Input> holder) {
         Input input = holder.getInput();
+        CommandMetrics metrics = getMetrics();
 
         // Hook: before creation
         input = beforeCreate(input, holder);
 
         // Map input to entity (with auto-mapping)
+        long started = metrics.start();
         Entity entity = mapInputToEntity(input, holder);
+        metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
 
         // Hook: before save
         entity = beforeSave(entity, input, holder);
 
         // Save entity
+        started = metrics.start();
         Entity savedEntity = repository.save(entity);
+        started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+        addRowsTouched(holder, 1);
+        QueryCache.evictAfterCommit(entityClass);
 
         // Hook: after save
         afterSave(savedEntity, input, holder);
+        metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
 
         // Extract and return ID
         return extractId(savedEntity);
     }
 
+    /**
+     * Create all inputs in one transaction.
+     * Invalid inputs are skipped and reported in the result; the others are saved.
+     */
+    @Transactional
+    public BatchResult<ID> executeBatch(List<Input> inputs) {
+        return executeBatch(inputs, new Context());
+    }
+
+    /**
+     * Create all inputs in one transaction, with a context shared by every item
+     */
+    @Transactional
+    public BatchResult<ID> executeBatch(List<Input> inputs, Context context) {
+        CommandMetrics metrics = getMetrics();
+        List<CommandHolder<Input>> holders = CrudBatchSupport.holders(inputs, context);
+
+        // Validate everything first, batch constraints run once for all inputs
+        long started = metrics.start();
+        List<ConstraintViolations> violations = validateBatch(holders);
+        metrics.record(CommandMetrics.PHASE_VALIDATE, started, true);
+
+        List<ID> ids = CrudBatchSupport.nulls(inputs.size());
+        for (List<Integer> chunk : CrudBatchSupport.validChunks(violations, getBatchSize())) {
+            List<CommandHolder<Input>> chunkHolders = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                chunkHolders.add(holders.get(index));
+            }
+
+            // Hook: before creation
+            beforeCreateBatch(chunkHolders);
+
+            started = metrics.start();
+            List<Entity> entities = new ArrayList<>(chunkHolders.size());
+            for (CommandHolder<Input> holder : chunkHolders) {
+                entities.add(mapInputToEntity(holder.getInput(), holder));
+            }
+            metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
+
+            // Hook: before save
+            entities = beforeSaveBatch(entities, chunkHolders);
+
+            started = metrics.start();
+            List<Entity> savedEntities = repository.saveAll(entities);
+            CrudBatchSupport.flush(entityManager);
+            started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+            context.addRowsTouched(savedEntities.size());
+            QueryCache.evictAfterCommit(entityClass);
+
+            // Hook: after save
+            afterSaveBatch(savedEntities, chunkHolders);
+            metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
+            CrudBatchSupport.flushAndDetach(entityManager, savedEntities);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                ids.set(chunk.get(i), extractId(savedEntities.get(i)));
+            }
+        }
+        return BatchResult.of(ids, violations);
+    }
+
+    /**
+     * Number of entities saved per chunk
+     */
+    protected int getBatchSize() {
+        return CrudBatchSupport.DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Batch hook: called before mapping a chunk.
+     * Calls beforeCreate for each item and stores the returned input in its holder.
+     */
+    protected void beforeCreateBatch(List<CommandHolder<Input>> holders) {
+        for (CommandHolder<Input> holder : holders) {
+            holder.setInput(beforeCreate(holder.getInput(), holder));
+        }
+    }
+
+    /**
+     * Batch hook: called before saving a chunk, entities are aligned with holders.
+     * Calls beforeSave for each item.
+     */
+    protected List<Entity> beforeSaveBatch(List<Entity> entities, List<CommandHolder<Input>> holders) {
+        List<Entity> result = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            CommandHolder<Input> holder = holders.get(i);
+            result.add(beforeSave(entities.get(i), holder.getInput(), holder));
+        }
+        return result;
+    }
+
+    /**
+     * Batch hook: called after a chunk is saved and flushed, before the persistence
+     * context is cleared. Calls afterSave for each item.
+     */
+    protected void afterSaveBatch(List<Entity> savedEntities, List<CommandHolder<Input>> holders) {
+        for (int i = 0; i < savedEntities.size(); i++) {
+            CommandHolder<Input> holder = holders.get(i);
+            afterSave(savedEntities.get(i), holder.getInput(), holder);
+        }
+    }
+
     /**
      * Map input DTO to entity using EntityMapper.
      * Override this for custom mapping logic while still using auto-mapping as
      * base.
      */
     protected @NonNull Entity mapInputToEntity(Input input, CommandHolder<Input> holder) {
-        try {
-            // Create new entity instance
-            Entity entity = entityClass.getDeclaredConstructor().newInstance();
-
-            // Auto-map fields from input to entity
-            entityMapper.map(input, entity, getExcludedFields());
-
-            // Ensure non-null for null-safety compliance
-            return java.util.Objects.requireNonNull(entity, "Entity instantiation returned null");
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create and map entity. " +
-                    "Check that entity has a no-args constructor.", e);
-        }
+        // Create new entity instance
+        Entity entity = entityMetadata.newInstance();
+
+        // Auto-map fields from input to entity
+        entityMapper.map(input, entity, getExcludedFields());
+        return entity;
     }
 
     /**
-     * Override to specify fields that should NOT be auto-mapped
+     * Override to specify fields that should NOT be auto-mapped.
+     * Defaults to the id, version and auditing fields of the entity, plus the
+     * conventional audit field names.
      */
     protected java.util.Set<String> getExcludedFields() {
-        // Typically exclude: id, createdAt, updatedAt, etc.
-        return java.util.Set.of("id", "createdAt", "updatedAt", "createdBy", "updatedBy");
+        return excludedFields;
     }
 
     /**
@@ -154,16 +290,14 @@ public abstract class BaseCrudCreateCommandV2<Entity, Input, ID>
      */
     @SuppressWarnings("unchecked")
     protected ID extractId(Entity entity) {
-        try {
-            var idField = entity.getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            return (ID) idField.get(entity);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to extract ID. Override extractId() if needed.", e);
-        }
+        return (ID) entityMetadata.getId(entity);
     }
 
     protected Class<Entity> getEntityClass() {
         return entityClass;
     }
+
+    protected EntityMetadata<Entity> getEntityMetadata() {
+        return entityMetadata;
+    }
 }
@@ -1,14 +1,34 @@
 package com.ttl.common.core.command.crud;
 
+import am.ik.yavi.core.ConstraintViolations;
 import com.ttl.common.core.command.BaseCommand;
+import com.ttl.common.core.command.BatchResult;
 import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandMetrics;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.QueryCache;
+import com.ttl.common.core.command.Context;
 import com.ttl.common.core.command.TransactionalCommand;
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Generic base command for DELETE operations.
@@ -32,6 +52,28 @@ import java.util.Objects;
  * }
  * </pre>
  * 
+ * Batch deletion: {@link #executeBatch(List)} loads each chunk with a single
+ * findAllById and hands it to {@link #performDeleteBatch}, which calls
+ * performDelete per entity by default so soft-delete overrides still apply.
+ * Batches do not go through findEntity, nor through the idempotency and
+ * concurrency limit advice, which only apply to execute.
+ *
+ * Delete strategies, selected with {@link #getDeleteStrategy()}:
+ * - ENTITY (default): load the entity, then delete it through the repository
+ * - DIRECT: one {@code DELETE ... WHERE id IN (...)} statement
+ * - SOFT: one {@code UPDATE ... SET active = false WHERE id IN (...) AND active = true}
+ *   statement, see {@link #getSoftDeleteAttribute()}. It also increments the
+ *   version and sets the updated-at and updated-by attributes, as dirty
+ *   checking would for a loaded entity.
+ *
+ * DIRECT and SOFT only skip loading when the command does not override
+ * findEntity, beforeDelete, performDelete, performDeleteBatch or afterDelete
+ * (see {@link #isEntityRequired()}). A missing (or already inactive) entity is
+ * then detected from the row count. Like any JPQL bulk statement they bypass
+ * JPA callbacks and cascades. With a loaded entity, SOFT sets the attribute
+ * on the entity and DIRECT deletes it through the repository.
+ * {@link #deleteAllById} deletes a list of IDs in one statement per chunk.
+ * 
  * @param <Entity> JPA Entity type
  * @param <ID>     Entity ID type
  */
@@ -40,14 +82,43 @@ public abstract class BaseCrudDeleteCommand<Entity, ID>
         extends BaseCommand<ID, Void>
         implements TransactionalCommand<ID, Void> {
 
+    /**
+     * How the entity is removed, see the class documentation
+     */
+    public enum DeleteStrategy {
+        ENTITY, DIRECT, SOFT
+    }
+
     protected final JpaRepository<Entity, ID> repository;
     private final Class<Entity> entityClass;
+    private final EntityMetadata<Entity> entityMetadata;
+    private final boolean hooksOverridden;
+
+    /**
+     * JPQL of the statement strategies, built on first use
+     */
+    private volatile Statements statements;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private AuditorAware<?> auditorAware;
 
     @SuppressWarnings("unchecked")
     protected BaseCrudDeleteCommand(JpaRepository<Entity, ID> repository) {
         this.repository = repository;
         this.entityClass = (Class<Entity>) ((ParameterizedType) getClass()
                 .getGenericSuperclass()).getActualTypeArguments()[0];
+        this.entityMetadata = EntityMetadataRegistry.get(entityClass);
+        this.hooksOverridden = CrudBatchSupport.overridesAny(getClass(), BaseCrudDeleteCommand.class, "findEntity", "beforeDelete", "performDelete",
+                "performDeleteBatch", "afterDelete");
+    }
+
+    /**
+     * Current auditor for the updated-by attribute of SOFT statements
+     */
+    @Autowired(required = false)
+    public void setAuditorAware(AuditorAware<?> auditorAware) {
+        this.auditorAware = auditorAware;
     }
 
     /**
@@ -56,15 +127,40 @@ public abstract class BaseCrudDeleteCommand<Entity, ID>
     @Override
     protected Void onExecute(CommandHolder<ID> holder) {
         ID id = Objects.requireNonNull(holder.getInput(), "ID cannot be null for delete operation");
+        CommandMetrics metrics = getMetrics();
+
+        if (!isLoading()) {
+            // Single statement, the row count replaces the lookup
+            long started = metrics.start();
+            int rows = executeDelete(List.of(id));
+            metrics.record(CommandMetrics.PHASE_DELETE, started, true);
+            if (rows == 0) {
+                holder.fail(CommandResult.notFound(entityClass.getSimpleName(), id),
+                        () -> new RuntimeException(String.format("Entity not found with ID: %s", id)));
+                return null;
+            }
+            addRowsTouched(holder, rows);
+            QueryCache.evictAfterCommit(entityClass);
+            return null;
+        }
 
         // Find existing entity (optional - for validation or soft delete)
-        Entity existingEntity = findEntity(id);
+        long started = metrics.start();
+        Entity existingEntity = findEntity(id, holder);
+        metrics.record(CommandMetrics.PHASE_FIND_BY_ID, started, true);
+        if (holder.isFailed()) {
+            return null;
+        }
 
         // Allow subclasses to perform pre-delete operations
         beforeDelete(id, existingEntity, holder);
 
         // Perform the deletion
+        started = metrics.start();
         performDelete(id, existingEntity);
+        metrics.record(CommandMetrics.PHASE_DELETE, started, true);
+        addRowsTouched(holder, 1);
+        QueryCache.evictAfterCommit(entityClass);
 
         // Allow subclasses to perform post-delete operations
         afterDelete(id, existingEntity, holder);
@@ -73,13 +169,289 @@ public abstract class BaseCrudDeleteCommand<Entity, ID>
     }
 
     /**
-     * Find entity by ID.
+     * Delete all IDs in one transaction.
+     * Invalid IDs and missing entities are skipped and reported in the result.
+     *
+     * @return the deleted IDs, per input position
+     */
+    @Transactional
+    public BatchResult<ID> executeBatch(List<ID> ids) {
+        return executeBatch(ids, new Context());
+    }
+
+    /**
+     * Delete all IDs in one transaction, with a context shared by every item
+     */
+    @Transactional
+    public BatchResult<ID> executeBatch(List<ID> ids, Context context) {
+        CommandMetrics metrics = getMetrics();
+        List<CommandHolder<ID>> holders = CrudBatchSupport.holders(ids, context);
+
+        long started = metrics.start();
+        List<ConstraintViolations> violations = validateBatch(holders);
+        metrics.record(CommandMetrics.PHASE_VALIDATE, started, true);
+
+        List<ID> results = CrudBatchSupport.nulls(ids.size());
+        for (List<Integer> chunk : CrudBatchSupport.validChunks(violations, getBatchSize())) {
+            List<ID> chunkIds = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                chunkIds.add(ids.get(index));
+            }
+            if (!isLoading()) {
+                deleteChunk(chunk, chunkIds, violations, results, context);
+                continue;
+            }
+            started = metrics.start();
+            Map<Object, Entity> existing = CrudBatchSupport.byId(entityMetadata, repository.findAllById(chunkIds));
+            metrics.record(CommandMetrics.PHASE_FIND_BY_ID, started, true);
+
+            List<Integer> found = new ArrayList<>(chunk.size());
+            List<Entity> entities = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                ID id = chunkIds.get(i);
+                Entity entity = existing.get(id);
+                if (entity == null) {
+                    violations.set(index, CrudBatchSupport.notFound("id", id));
+                    continue;
+                }
+
+                // Allow subclasses to perform pre-delete operations
+                beforeDelete(id, entity, holders.get(index));
+                found.add(index);
+                entities.add(entity);
+            }
+            if (entities.isEmpty()) {
+                continue;
+            }
+
+            List<ID> foundIds = new ArrayList<>(found.size());
+            for (int index : found) {
+                foundIds.add(ids.get(index));
+            }
+
+            started = metrics.start();
+            performDeleteBatch(foundIds, entities);
+            CrudBatchSupport.flush(entityManager);
+            metrics.record(CommandMetrics.PHASE_DELETE, started, true);
+            context.addRowsTouched(entities.size());
+            QueryCache.evictAfterCommit(entityClass);
+
+            // Allow subclasses to perform post-delete operations
+            for (int i = 0; i < found.size(); i++) {
+                afterDelete(foundIds.get(i), entities.get(i), holders.get(found.get(i)));
+                results.set(found.get(i), foundIds.get(i));
+            }
+            CrudBatchSupport.flushAndDetach(entityManager, entities);
+        }
+        return BatchResult.of(results, violations);
+    }
+
+    /**
+     * Statement strategies: find which IDs exist with one query, then remove them with one statement
+     */
+    private void deleteChunk(List<Integer> chunk, List<ID> chunkIds, List<ConstraintViolations> violations,
+                             List<ID> results, Context context) {
+        CommandMetrics metrics = getMetrics();
+        long started = metrics.start();
+        List<?> existing = requireEntityManager().createQuery(statements().existing())
+                .setParameter("ids", chunkIds)
+                .getResultList();
+        metrics.record(CommandMetrics.PHASE_FIND_BY_ID, started, true);
+
+        Set<Object> existingIds = new HashSet<>(existing);
+        List<ID> foundIds = new ArrayList<>(existingIds.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ID id = chunkIds.get(i);
+            if (existingIds.contains(id)) {
+                foundIds.add(id);
+                results.set(chunk.get(i), id);
+            } else {
+                violations.set(chunk.get(i), CrudBatchSupport.notFound("id", id));
+            }
+        }
+        if (foundIds.isEmpty()) {
+            return;
+        }
+
+        started = metrics.start();
+        int rows = executeDelete(foundIds);
+        metrics.record(CommandMetrics.PHASE_DELETE, started, true);
+        context.addRowsTouched(rows);
+        QueryCache.evictAfterCommit(entityClass);
+    }
+
+    /**
+     * Delete or deactivate all IDs with one statement per chunk, without loading
+     * the entities or running the hooks. Unknown IDs are ignored.
+     * Requires the DIRECT or SOFT strategy.
+     *
+     * @return number of rows deleted or deactivated
+     */
+    @Transactional
+    public int deleteAllById(Collection<ID> ids) {
+        if (getDeleteStrategy() == DeleteStrategy.ENTITY) {
+            throw new IllegalStateException("deleteAllById requires the DIRECT or SOFT delete strategy");
+        }
+        CommandMetrics metrics = getMetrics();
+        List<ID> all = List.copyOf(ids);
+        int rows = 0;
+        long started = metrics.start();
+        for (int from = 0; from < all.size(); from += getBatchSize()) {
+            List<ID> chunk = all.subList(from, Math.min(all.size(), from + getBatchSize()));
+            rows += executeDelete(chunk);
+        }
+        metrics.record(CommandMetrics.PHASE_DELETE, started, true);
+        if (rows > 0) {
+            QueryCache.evictAfterCommit(entityClass);
+        }
+        return rows;
+    }
+
+    /**
+     * Delete strategy of this command, ENTITY by default
+     */
+    protected DeleteStrategy getDeleteStrategy() {
+        return DeleteStrategy.ENTITY;
+    }
+
+    /**
+     * Boolean attribute cleared by the SOFT strategy
+     */
+    protected String getSoftDeleteAttribute() {
+        return "active";
+    }
+
+    /**
+     * Whether DIRECT and SOFT must load the entity first.
+     * True when the command overrides one of the hooks receiving the entity.
+     */
+    protected boolean isEntityRequired() {
+        return hooksOverridden;
+    }
+
+    private boolean isLoading() {
+        return getDeleteStrategy() == DeleteStrategy.ENTITY || isEntityRequired();
+    }
+
+    /**
+     * Run the delete statement of the strategy for the rows of ids
+     */
+    private int executeDelete(List<ID> ids) {
+        Statements statements = statements();
+        Object auditor = auditorAware == null ? null : auditorAware.getCurrentAuditor().orElse(null);
+        boolean audited = statements.deleteBy() != null && statements.updatedBy().getType().isInstance(auditor);
+        Query query = requireEntityManager().createQuery(audited ? statements.deleteBy() : statements.delete())
+                .setParameter("ids", ids);
+        if (statements.updatedAt() != null) {
+            query.setParameter("updatedAt", CrudBatchSupport.now(statements.updatedAt().getType()));
+        }
+        if (audited) {
+            query.setParameter("updatedBy", auditor);
+        }
+        return query.executeUpdate();
+    }
+
+    private EntityManager requireEntityManager() {
+        if (entityManager == null) {
+            throw new IllegalStateException(getDeleteStrategy() + " delete requires an EntityManager");
+        }
+        return entityManager;
+    }
+
+    private Statements statements() {
+        Statements current = statements;
+        if (current == null) {
+            current = Statements.of(entityMetadata, getDeleteStrategy(), getSoftDeleteAttribute());
+            statements = current;
+        }
+        return current;
+    }
+
+    /**
+     * @param delete     deletes or deactivates the rows of :ids, returning the row count
+     * @param deleteBy   SOFT delete also setting updatedBy to :updatedBy, null without that attribute
+     * @param existing   selects the IDs among :ids that the delete statement would affect
+     * @param softDelete attribute cleared by SOFT, null for the other strategies
+     * @param updatedAt  attribute SOFT sets to :updatedAt, null when not set
+     * @param updatedBy  attribute set by deleteBy
+     */
+    private record Statements(String delete, String deleteBy, String existing, EntityMetadata.Attribute softDelete,
+                              EntityMetadata.Attribute updatedAt, EntityMetadata.Attribute updatedBy) {
+
+        static Statements of(EntityMetadata<?> metadata, DeleteStrategy strategy, String softDeleteAttribute) {
+            String entity = metadata.getEntityName();
+            String id = "e." + metadata.getId().getName();
+            if (strategy != DeleteStrategy.SOFT) {
+                return new Statements(
+                        "delete from " + entity + " e where " + id + " in :ids", null,
+                        "select " + id + " from " + entity + " e where " + id + " in :ids",
+                        null, null, null);
+            }
+
+            EntityMetadata.Attribute attribute = metadata.getAttributes().get(softDeleteAttribute);
+            if (attribute == null || (attribute.getType() != boolean.class && attribute.getType() != Boolean.class)) {
+                throw new IllegalStateException("SOFT delete requires a boolean attribute '" + softDeleteAttribute
+                        + "' on " + metadata.getEntityClass().getName());
+            }
+            EntityMetadata.Attribute version = metadata.getVersion();
+            EntityMetadata.Attribute updatedAt = metadata.getAuditFields().get(EntityMetadata.AuditField.UPDATED_AT);
+            EntityMetadata.Attribute updatedBy = metadata.getAuditFields().get(EntityMetadata.AuditField.UPDATED_BY);
+            if (version != null && !version.getType().isPrimitive() && !Number.class.isAssignableFrom(version.getType())) {
+                throw new IllegalStateException("SOFT delete requires a numeric @Version on "
+                        + metadata.getEntityClass().getName());
+            }
+            if (updatedAt != null && !CrudBatchSupport.isTimestamp(updatedAt.getType())) {
+                throw new IllegalStateException("SOFT delete cannot set " + updatedAt.getName() + " of type "
+                        + updatedAt.getType().getName() + " on " + metadata.getEntityClass().getName());
+            }
+
+            String active = "e." + softDeleteAttribute;
+            StringBuilder set = new StringBuilder("update ").append(entity).append(" e set ").append(active)
+                    .append(" = false");
+            if (version != null) {
+                set.append(", e.").append(version.getName()).append(" = e.").append(version.getName()).append(" + 1");
+            }
+            if (updatedAt != null) {
+                set.append(", e.").append(updatedAt.getName()).append(" = :updatedAt");
+            }
+            String where = " where " + id + " in :ids and " + active + " = true";
+            return new Statements(
+                    set + where,
+                    updatedBy == null ? null : set + ", e." + updatedBy.getName() + " = :updatedBy" + where,
+                    "select " + id + " from " + entity + " e" + where,
+                    attribute, updatedAt, updatedBy);
+        }
+    }
+
+    /**
+     * Number of entities loaded and deleted per chunk
+     */
+    protected int getBatchSize() {
+        return CrudBatchSupport.DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Perform the deletion of a chunk, IDs are aligned with entities.
+     * Calls performDelete for each entity; override to issue a single statement.
+     */
+    protected void performDeleteBatch(List<ID> ids, List<Entity> entities) {
+        for (int i = 0; i < ids.size(); i++) {
+            performDelete(Objects.requireNonNull(ids.get(i)), entities.get(i));
+        }
+    }
+
+    /**
+     * Find entity by ID, reporting a missing one through holder.fail().
      * Override to customize entity retrieval or to skip retrieval for hard deletes.
      */
-    protected Entity findEntity(@NonNull ID id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new RuntimeException(
-                        String.format("Entity not found with ID: %s", id)));
+    protected Entity findEntity(@NonNull ID id, CommandHolder<ID> holder) {
+        Entity entity = repository.findById(id).orElse(null);
+        if (entity == null) {
+            holder.fail(CommandResult.notFound(entityClass.getSimpleName(), id),
+                    () -> new RuntimeException(String.format("Entity not found with ID: %s", id)));
+        }
+        return entity;
     }
 
     /**
@@ -91,11 +463,19 @@ public abstract class BaseCrudDeleteCommand<Entity, ID>
     }
 
     /**
-     * Perform the actual deletion.
-     * Override for soft delete implementation.
+     * Perform the actual deletion of a loaded entity.
+     * With the SOFT strategy the soft delete attribute is cleared on the entity
+     * and written by dirty checking; otherwise the entity is deleted through the
+     * repository, by id only when findEntity was overridden to skip loading.
      */
     protected void performDelete(@NonNull ID id, Entity entity) {
-        repository.deleteById(id);
+        if (entity == null) {
+            repository.deleteById(id);
+        } else if (getDeleteStrategy() == DeleteStrategy.SOFT) {
+            statements().softDelete().set(entity, false);
+        } else {
+            repository.delete(entity);
+        }
     }
 
     /**
@@ -109,4 +489,8 @@ public abstract class BaseCrudDeleteCommand<Entity, ID>
     protected Class<Entity> getEntityClass() {
         return entityClass;
     }
+
+    protected EntityMetadata<Entity> getEntityMetadata() {
+        return entityMetadata;
+    }
 }
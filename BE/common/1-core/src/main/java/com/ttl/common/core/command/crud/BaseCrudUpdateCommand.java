@@ -2,7 +2,12 @@ package com.ttl.common.core.command.crud;
 
 import com.ttl.common.core.command.BaseCommand;
 import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandMetrics;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.QueryCache;
 import com.ttl.common.core.command.TransactionalCommand;
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -42,12 +47,14 @@ public abstract class BaseCrudUpdateCommand<Entity, Input, ID>
 
     protected final JpaRepository<Entity, ID> repository;
     private final Class<Entity> entityClass;
+    private final EntityMetadata<Entity> entityMetadata;
 
     @SuppressWarnings("unchecked")
     protected BaseCrudUpdateCommand(JpaRepository<Entity, ID> repository) {
         this.repository = repository;
         this.entityClass = (Class<Entity>) ((ParameterizedType) getClass()
                 .getGenericSuperclass()).getActualTypeArguments()[0];
+        this.entityMetadata = EntityMetadataRegistry.get(entityClass);
     }
 
     /**
@@ -56,6 +63,7 @@ public abstract class BaseCrudUpdateCommand<Entity, Input, ID>
     @Override
     protected Entity onExecute(CommandHolder<Input> holder) {
         Input input = holder.getInput();
+        CommandMetrics metrics = getMetrics();
 
         // Extract ID from input
         ID id = extractId(input);
@@ -64,17 +72,24 @@ public abstract class BaseCrudUpdateCommand<Entity, Input, ID>
         Objects.requireNonNull(id, "Entity ID cannot be null");
 
         // Find existing entity
-        Entity existingEntity = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException(
-                        String.format("Entity not found with ID: %s", id)));
+        long started = metrics.start();
+        Entity existingEntity = repository.findById(id).orElse(null);
+        metrics.record(CommandMetrics.PHASE_FIND_BY_ID, started, true);
+        if (existingEntity == null) {
+            holder.fail(CommandResult.notFound(entityClass.getSimpleName(), id),
+                    () -> new RuntimeException(String.format("Entity not found with ID: %s", id)));
+            return null;
+        }
 
         // Allow subclasses to modify input before update
         input = beforeUpdate(input, existingEntity, holder);
 
         // Update entity fields
+        started = metrics.start();
         existingEntity = Objects.requireNonNull(
                 updateEntity(existingEntity, input, holder),
                 "updateEntity() returned null");
+        metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
 
         // Allow subclasses to modify entity before save
         existingEntity = Objects.requireNonNull(
@@ -82,12 +97,17 @@ public abstract class BaseCrudUpdateCommand<Entity, Input, ID>
                 "beforeSave() returned null");
 
         // Save the updated entity
+        started = metrics.start();
         Entity savedEntity = Objects.requireNonNull(
                 repository.save(existingEntity),
                 "Repository save operation returned null");
+        started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+        addRowsTouched(holder, 1);
+        QueryCache.evictAfterCommit(entityClass);
 
         // Allow subclasses to perform post-save operations
         afterSave(savedEntity, input, holder);
+        metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
 
         return savedEntity;
     }
@@ -132,4 +152,8 @@ public abstract class BaseCrudUpdateCommand<Entity, Input, ID>
     protected Class<Entity> getEntityClass() {
         return entityClass;
     }
+
+    protected EntityMetadata<Entity> getEntityMetadata() {
+        return entityMetadata;
+    }
 }
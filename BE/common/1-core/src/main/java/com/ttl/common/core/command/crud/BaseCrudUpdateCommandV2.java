@@ -1,17 +1,46 @@
 package com.ttl.common.core.command.crud;
 
+import am.ik.yavi.core.ConstraintViolations;
 import com.ttl.common.core.command.BaseCommand;
+import com.ttl.common.core.command.BatchResult;
 import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandMetrics;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.QueryCache;
+import com.ttl.common.core.command.Context;
+import com.ttl.common.core.command.ContextKey;
 import com.ttl.common.core.command.TransactionalCommand;
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
 import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Improved generic base command for UPDATE operations with automatic mapping.
  * Uses EntityMapper for automatic field updates.
+ * Annotate the command with {@link GenerateMapper} to map through a
+ * reflection-free mapper generated at compile time; EntityMapper picks it up
+ * automatically.
  * 
  * Usage Example:
  * 
@@ -36,6 +65,30 @@ import java.lang.reflect.ParameterizedType;
  * }
  * </pre>
  * 
+ * Batch update: {@link #executeBatch(List)} validates every input first, loads
+ * each chunk with a single findAllById and saves it with saveAll. Inputs whose
+ * entity does not exist are reported as violations instead of failing the batch.
+ * Batches bypass the CommandInterceptor chain, and no idempotency key or
+ * concurrency limit applies to them; the conflict retry advice still does.
+ *
+ * Update modes ({@link #getUpdateMode()}):
+ * <ul>
+ * <li>{@link UpdateMode#MERGE} (default): findById, map the input onto the entity,
+ * save; dirty checking writes the full row.</li>
+ * <li>{@link UpdateMode#PARTIAL}: a single native
+ * {@code UPDATE <table> SET <non-null input fields> WHERE id = ?} without loading
+ * the entity. Input fields match entity attributes by name and type, like the
+ * mapper. The updated-at/by auditing columns are set. A numeric @Version is
+ * incremented and always guards the update: the input must declare the version
+ * field, a mismatch throws {@link StaleVersionException}, and an input without
+ * a version value is merged instead, so the loaded entity detects conflicts.
+ * The row comes back through {@code RETURNING *} unless the caller sets
+ * {@link #RESULT_NOT_NEEDED} and afterSave is not overridden. Entity listeners
+ * other than @PostLoad do not run. Overriding beforeUpdate, updateEntity or
+ * beforeSave needs the loaded entity, so such commands keep merging.</li>
+ * </ul>
+ * executeBatch always merges.
+ * 
  * @param <Entity> JPA Entity type
  * @param <Input>  Input DTO type
  * @param <ID>     Entity ID type
@@ -45,49 +98,344 @@ public abstract class BaseCrudUpdateCommandV2<Entity, Input, ID>
         extends BaseCommand<Input, Entity>
         implements TransactionalCommand<Input, Entity> {
 
+    /**
+     * How a single update reaches the database
+     */
+    public enum UpdateMode {
+        /** Load, map and save the entity */
+        MERGE,
+        /** One UPDATE of the non-null input fields, without loading */
+        PARTIAL
+    }
+
+    /**
+     * Context flag for PARTIAL updates: the caller ignores the returned entity,
+     * so the statement skips RETURNING and execute returns null
+     */
+    public static final ContextKey<Boolean> RESULT_NOT_NEEDED =
+            ContextKey.of(BaseCrudUpdateCommandV2.class.getName() + ".resultNotNeeded");
+
     protected final JpaRepository<Entity, ID> repository;
     protected final EntityMapper entityMapper;
     private final Class<Entity> entityClass;
+    private final Type inputType;
+    private final EntityMetadata<Entity> entityMetadata;
+    private final java.util.Set<String> excludedFields;
+    private final boolean hooksOverridden;
+    private final boolean afterSaveOverridden;
+    private volatile PartialUpdate partialUpdate;
+    private AuditorAware<?> auditorAware;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @SuppressWarnings("unchecked")
     protected BaseCrudUpdateCommandV2(JpaRepository<Entity, ID> repository, EntityMapper entityMapper) {
         this.repository = repository;
         this.entityMapper = entityMapper;
-        this.entityClass = (Class<Entity>) ((ParameterizedType) getClass()
-                .getGenericSuperclass()).getActualTypeArguments()[0];
+        Type[] typeArguments = ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments();
+        this.entityClass = (Class<Entity>) typeArguments[0];
+        this.inputType = typeArguments[1];
+        this.entityMetadata = EntityMetadataRegistry.get(entityClass);
+        this.excludedFields = CrudBatchSupport.union(updateProtectedFields(entityMetadata),
+                "id", "createdAt", "createdBy");
+        this.hooksOverridden = CrudBatchSupport.overridesAny(getClass(), BaseCrudUpdateCommandV2.class,
+                "beforeUpdate", "updateEntity", "beforeSave");
+        this.afterSaveOverridden = CrudBatchSupport.overridesAny(getClass(), BaseCrudUpdateCommandV2.class,
+                "afterSave");
+    }
+
+    /**
+     * Current auditor for the updated-by column of PARTIAL updates
+     */
+    @Autowired(required = false)
+    public void setAuditorAware(AuditorAware<?> auditorAware) {
+        this.auditorAware = auditorAware;
     }
 
     @Override
     protected Entity onExecute(CommandHolder<Input> holder) {
         Input input = holder.getInput();
+        CommandMetrics metrics = getMetrics();
 
         // Extract ID
         ID id = extractId(input);
         java.util.Objects.requireNonNull(id, "ID must not be null");
 
+        if (getUpdateMode() == UpdateMode.PARTIAL && !isEntityRequired() && partialUpdate().accepts(input)) {
+            return updatePartial(input, id, holder);
+        }
+
         // Find existing entity
-        Entity existingEntity = repository.findById(id)
-                .orElseThrow(() -> newEntityNotFoundException(id));
+        long started = metrics.start();
+        Entity existingEntity = repository.findById(id).orElse(null);
+        metrics.record(CommandMetrics.PHASE_FIND_BY_ID, started, true);
+        if (existingEntity == null) {
+            holder.fail(CommandResult.notFound(entityClass.getSimpleName(), id), () -> newEntityNotFoundException(id));
+            return null;
+        }
 
         // Hook: before update
         input = beforeUpdate(input, existingEntity, holder);
 
         // Update entity (with auto-mapping)
+        started = metrics.start();
         existingEntity = updateEntity(existingEntity, input, holder);
+        metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
 
         // Hook: before save
         existingEntity = beforeSave(existingEntity, input, holder);
 
         // Save updated entity
+        started = metrics.start();
         @SuppressWarnings("null")
         Entity savedEntity = repository.save(existingEntity);
+        started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+        addRowsTouched(holder, 1);
+        QueryCache.evictAfterCommit(entityClass);
 
         // Hook: after save
         afterSave(savedEntity, input, holder);
+        metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
 
         return savedEntity;
     }
 
+    /**
+     * PARTIAL mode: one UPDATE statement, the row count or the returned row replaces the lookup
+     */
+    private Entity updatePartial(Input input, ID id, CommandHolder<Input> holder) {
+        CommandMetrics metrics = getMetrics();
+        PartialUpdate update = partialUpdate();
+        boolean returning = afterSaveOverridden || !Boolean.TRUE.equals(resultNotNeeded(holder));
+
+        long started = metrics.start();
+        List<Object> parameters = new ArrayList<>();
+        String sql = update.sql(input, id, currentAuditor(), returning, parameters);
+        metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
+
+        started = metrics.start();
+        Entity entity = null;
+        int rows;
+        if (sql == null) {
+            // Nothing to set: like dirty checking, no UPDATE is issued
+            if (returning) {
+                entity = repository.findById(id).orElse(null);
+                rows = entity == null ? 0 : 1;
+            } else {
+                rows = repository.existsById(id) ? 1 : 0;
+            }
+            metrics.record(CommandMetrics.PHASE_FIND_BY_ID, started, true);
+            if (rows == 0) {
+                holder.fail(CommandResult.notFound(entityClass.getSimpleName(), id), () -> newEntityNotFoundException(id));
+            }
+            return entity;
+        }
+
+        Entity managed = managedInstance(id);
+        Query query = returning
+                ? requireEntityManager().createNativeQuery(sql, entityClass)
+                : requireEntityManager().createNativeQuery(sql);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        if (returning) {
+            List<?> updated = query.getResultList();
+            rows = updated.size();
+            entity = rows == 0 ? null : entityClass.cast(updated.get(0));
+        } else {
+            rows = query.executeUpdate();
+        }
+        if (rows > 0 && managed != null) {
+            // A native query keeps the state of a managed instance, read the updated row into it
+            requireEntityManager().refresh(managed);
+            entity = returning ? managed : null;
+        }
+        started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+
+        if (rows == 0) {
+            if (update.version() != null && repository.existsById(id)) {
+                throw new StaleVersionException(entityClass, id);
+            }
+            holder.fail(CommandResult.notFound(entityClass.getSimpleName(), id), () -> newEntityNotFoundException(id));
+            return null;
+        }
+        addRowsTouched(holder, rows);
+        QueryCache.evictAfterCommit(entityClass);
+
+        // Hook: after save, with the returned row
+        if (entity != null) {
+            afterSave(entity, input, holder);
+            metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
+        }
+        return entity;
+    }
+
+    private static Boolean resultNotNeeded(CommandHolder<?> holder) {
+        Context context = holder.peekContext();
+        return context == null ? null : context.get(RESULT_NOT_NEEDED);
+    }
+
+    /**
+     * Instance of the row already in the persistence context, null when there is none
+     */
+    private Entity managedInstance(ID id) {
+        SessionImplementor session = requireEntityManager().unwrap(SessionImplementor.class);
+        if (session == null) {
+            return null;
+        }
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+        return managed == null ? null : entityClass.cast(managed);
+    }
+
+    private Object currentAuditor() {
+        return auditorAware == null ? null : auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    private PartialUpdate partialUpdate() {
+        PartialUpdate current = partialUpdate;
+        if (current == null) {
+            current = PartialUpdate.of(entityMetadata, inputType, getExcludedFields());
+            partialUpdate = current;
+        }
+        return current;
+    }
+
+    private EntityManager requireEntityManager() {
+        if (entityManager == null) {
+            throw new IllegalStateException("PARTIAL update requires an EntityManager");
+        }
+        return entityManager;
+    }
+
+    /**
+     * Update all inputs in one transaction.
+     * Invalid inputs and missing entities are skipped and reported in the result.
+     */
+    @Transactional
+    public BatchResult<Entity> executeBatch(List<Input> inputs) {
+        return executeBatch(inputs, new Context());
+    }
+
+    /**
+     * Update all inputs in one transaction, with a context shared by every item
+     */
+    @Transactional
+    public BatchResult<Entity> executeBatch(List<Input> inputs, Context context) {
+        CommandMetrics metrics = getMetrics();
+        List<CommandHolder<Input>> holders = CrudBatchSupport.holders(inputs, context);
+
+        // Validate everything first, batch constraints run once for all inputs
+        long started = metrics.start();
+        List<ConstraintViolations> violations = validateBatch(holders);
+        metrics.record(CommandMetrics.PHASE_VALIDATE, started, true);
+
+        List<Entity> results = CrudBatchSupport.nulls(inputs.size());
+        for (List<Integer> chunk : CrudBatchSupport.validChunks(violations, getBatchSize())) {
+            // Load the whole chunk in one query
+            List<ID> ids = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                ids.add(java.util.Objects.requireNonNull(extractId(holders.get(index).getInput()),
+                        "ID must not be null"));
+            }
+            started = metrics.start();
+            Map<Object, Entity> existing = CrudBatchSupport.byId(entityMetadata, repository.findAllById(ids));
+            metrics.record(CommandMetrics.PHASE_FIND_BY_ID, started, true);
+
+            started = metrics.start();
+            List<Integer> found = new ArrayList<>(chunk.size());
+            List<CommandHolder<Input>> chunkHolders = new ArrayList<>(chunk.size());
+            List<Entity> entities = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                Entity entity = existing.get(ids.get(i));
+                if (entity == null) {
+                    violations.set(index, CrudBatchSupport.notFound("id", ids.get(i)));
+                    continue;
+                }
+
+                // Hook: before update
+                CommandHolder<Input> holder = holders.get(index);
+                holder.setInput(beforeUpdate(holder.getInput(), entity, holder));
+
+                found.add(index);
+                chunkHolders.add(holder);
+                entities.add(updateEntity(entity, holder.getInput(), holder));
+            }
+            metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
+            if (entities.isEmpty()) {
+                continue;
+            }
+
+            // Hook: before save
+            entities = beforeSaveBatch(entities, chunkHolders);
+
+            started = metrics.start();
+            List<Entity> savedEntities = repository.saveAll(entities);
+            CrudBatchSupport.flush(entityManager);
+            started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+            context.addRowsTouched(savedEntities.size());
+            QueryCache.evictAfterCommit(entityClass);
+
+            // Hook: after save
+            afterSaveBatch(savedEntities, chunkHolders);
+            metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
+            CrudBatchSupport.flushAndDetach(entityManager, savedEntities);
+
+            for (int i = 0; i < found.size(); i++) {
+                results.set(found.get(i), savedEntities.get(i));
+            }
+        }
+        return BatchResult.of(results, violations);
+    }
+
+    /**
+     * Number of entities loaded and saved per chunk
+     */
+    protected int getBatchSize() {
+        return CrudBatchSupport.DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Batch hook: called before saving a chunk, entities are aligned with holders.
+     * Calls beforeSave for each item.
+     */
+    protected List<Entity> beforeSaveBatch(List<Entity> entities, List<CommandHolder<Input>> holders) {
+        List<Entity> result = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            CommandHolder<Input> holder = holders.get(i);
+            result.add(beforeSave(entities.get(i), holder.getInput(), holder));
+        }
+        return result;
+    }
+
+    /**
+     * Batch hook: called after a chunk is saved and flushed, before the persistence
+     * context is cleared. Calls afterSave for each item.
+     */
+    protected void afterSaveBatch(List<Entity> savedEntities, List<CommandHolder<Input>> holders) {
+        for (int i = 0; i < savedEntities.size(); i++) {
+            CommandHolder<Input> holder = holders.get(i);
+            afterSave(savedEntities.get(i), holder.getInput(), holder);
+        }
+    }
+
+    /**
+     * How single updates reach the database, MERGE by default
+     */
+    protected UpdateMode getUpdateMode() {
+        return UpdateMode.MERGE;
+    }
+
+    /**
+     * Whether a single update has to load the entity, even in PARTIAL mode.
+     * True when beforeUpdate, updateEntity or beforeSave is overridden.
+     */
+    protected boolean isEntityRequired() {
+        return hooksOverridden;
+    }
+
     /**
      * Extract ID from input DTO - MUST be implemented
      */
@@ -104,11 +452,12 @@ public abstract class BaseCrudUpdateCommandV2<Entity, Input, ID>
     }
 
     /**
-     * Override to specify fields that should NOT be auto-updated
+     * Override to specify fields that should NOT be auto-updated.
+     * Defaults to the id, version and creation auditing fields of the entity,
+     * plus id, createdAt and createdBy by name.
      */
     protected java.util.Set<String> getExcludedFields() {
-        // Typically exclude: id, createdAt, createdBy
-        return java.util.Set.of("id", "createdAt", "createdBy");
+        return excludedFields;
     }
 
     /**
@@ -144,4 +493,178 @@ public abstract class BaseCrudUpdateCommandV2<Entity, Input, ID>
     protected Class<Entity> getEntityClass() {
         return entityClass;
     }
+
+    protected EntityMetadata<Entity> getEntityMetadata() {
+        return entityMetadata;
+    }
+
+    /**
+     * Id, version and creation auditing fields, which an update must never overwrite from input
+     */
+    private static java.util.Set<String> updateProtectedFields(EntityMetadata<?> metadata) {
+        java.util.Set<String> fields = new java.util.HashSet<>();
+        fields.add(metadata.getId().getName());
+        if (metadata.getVersion() != null) {
+            fields.add(metadata.getVersion().getName());
+        }
+        for (EntityMetadata.AuditField auditField : java.util.List.of(
+                EntityMetadata.AuditField.CREATED_AT, EntityMetadata.AuditField.CREATED_BY)) {
+            EntityMetadata.Attribute attribute = metadata.getAuditFields().get(auditField);
+            if (attribute != null) {
+                fields.add(attribute.getName());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Input fields of a PARTIAL update and the columns they write, resolved on first use
+     */
+    private record PartialUpdate(String table, String idColumn, List<InputColumn> columns,
+                                 EntityMetadata.Attribute updatedAt, EntityMetadata.Attribute updatedBy,
+                                 EntityMetadata.Attribute version, MethodHandle inputVersion) {
+
+        private static final java.util.Set<Class<?>> NUMBERS =
+                java.util.Set.of(Long.class, long.class, Integer.class, int.class, Short.class, short.class);
+
+        private record InputColumn(String column, MethodHandle getter) {
+        }
+
+        static PartialUpdate of(EntityMetadata<?> metadata, Type inputType, java.util.Set<String> excludedFields) {
+            if (!(inputType instanceof Class<?> inputClass)) {
+                throw new IllegalStateException("PARTIAL update requires a concrete input class, got " + inputType);
+            }
+            MethodHandles.Lookup lookup;
+            try {
+                lookup = MethodHandles.privateLookupIn(inputClass, MethodHandles.lookup());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + inputClass.getName(), e);
+            }
+
+            EntityMetadata.Attribute updatedAt = metadata.getAuditFields().get(EntityMetadata.AuditField.UPDATED_AT);
+            EntityMetadata.Attribute updatedBy = metadata.getAuditFields().get(EntityMetadata.AuditField.UPDATED_BY);
+            EntityMetadata.Attribute version = metadata.getVersion();
+            if (updatedAt != null && !CrudBatchSupport.isTimestamp(updatedAt.getType())) {
+                throw new IllegalStateException("PARTIAL update cannot set " + updatedAt.getName() + " of type "
+                        + updatedAt.getType().getName() + " on " + metadata.getEntityClass().getName());
+            }
+            if (version != null && !NUMBERS.contains(version.getType())) {
+                throw new IllegalStateException("PARTIAL update requires a numeric @Version on "
+                        + metadata.getEntityClass().getName());
+            }
+
+            List<InputColumn> columns = new ArrayList<>();
+            MethodHandle inputVersion = null;
+            for (Class<?> type = inputClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (version != null && field.getName().equals(version.getName())) {
+                        inputVersion = getter(lookup, field);
+                        continue;
+                    }
+                    EntityMetadata.Attribute attribute = metadata.getAttributes().get(field.getName());
+                    if (attribute == null || attribute == updatedAt || attribute == updatedBy
+                            || excludedFields.contains(field.getName())
+                            || !isCompatible(field.getType(), attribute.getType())) {
+                        continue;
+                    }
+                    if (attribute.isConverted()) {
+                        throw new IllegalStateException("PARTIAL update cannot bind converted attribute "
+                                + metadata.getEntityClass().getSimpleName() + "." + attribute.getName()
+                                + ", use MERGE");
+                    }
+                    columns.add(new InputColumn(attribute.getColumnName(), getter(lookup, field)));
+                }
+            }
+            if (version != null && inputVersion == null) {
+                throw new IllegalStateException("PARTIAL update of " + metadata.getEntityClass().getSimpleName()
+                        + " requires a " + version.getName() + " field on " + inputClass.getSimpleName()
+                        + " to guard the update, use MERGE");
+            }
+            return new PartialUpdate(metadata.getTableName(), metadata.getId().getColumnName(),
+                    List.copyOf(columns), updatedAt, updatedBy, version, inputVersion);
+        }
+
+        /**
+         * SQL of one update, its parameters are appended in order.
+         * Null when the input sets no column.
+         */
+        String sql(Object input, Object id, Object auditor, boolean returning, List<Object> parameters) {
+            StringBuilder sql = new StringBuilder(64).append("UPDATE ").append(table).append(" SET ");
+            for (InputColumn column : columns) {
+                Object value = read(column.getter(), input);
+                if (value != null) {
+                    set(sql, column.column(), value, parameters);
+                }
+            }
+            if (parameters.isEmpty()) {
+                return null;
+            }
+            if (updatedAt != null) {
+                set(sql, updatedAt.getColumnName(), CrudBatchSupport.now(updatedAt.getType()), parameters);
+            }
+            if (updatedBy != null && updatedBy.getType().isInstance(auditor)) {
+                set(sql, updatedBy.getColumnName(), auditor, parameters);
+            }
+            if (version != null) {
+                sql.append(", ").append(version.getColumnName()).append(" = ").append(version.getColumnName())
+                        .append(" + 1");
+            }
+            parameters.add(id);
+            sql.append(" WHERE ").append(idColumn).append(" = ?").append(parameters.size());
+            if (version != null) {
+                parameters.add(read(inputVersion, input));
+                sql.append(" AND ").append(version.getColumnName()).append(" = ?").append(parameters.size());
+            }
+            if (returning) {
+                sql.append(" RETURNING *");
+            }
+            return sql.toString();
+        }
+
+        /**
+         * Whether the input can be written without loading: a versioned entity needs the expected version
+         */
+        boolean accepts(Object input) {
+            return version == null || read(inputVersion, input) != null;
+        }
+
+        private static void set(StringBuilder sql, String column, Object value, List<Object> parameters) {
+            if (!parameters.isEmpty()) {
+                sql.append(", ");
+            }
+            parameters.add(value);
+            sql.append(column).append(" = ?").append(parameters.size());
+        }
+
+        /**
+         * Same rule as EntityMapper: identical primitive types, or an assignable reference type
+         */
+        private static boolean isCompatible(Class<?> sourceType, Class<?> targetType) {
+            if (sourceType.isPrimitive() || targetType.isPrimitive()) {
+                return sourceType == targetType;
+            }
+            return targetType.isAssignableFrom(sourceType);
+        }
+
+        private static MethodHandle getter(MethodHandles.Lookup lookup, Field field) {
+            try {
+                return lookup.unreflectGetter(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + field, e);
+            }
+        }
+
+        private static Object read(MethodHandle getter, Object input) {
+            try {
+                return getter.invoke(input);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to read input field", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,523 @@
+package com.ttl.common.core.command.crud;
+
+import am.ik.yavi.core.ConstraintViolations;
+import com.ttl.common.core.command.BaseCommand;
+import com.ttl.common.core.command.BatchResult;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandMetrics;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.Context;
+import com.ttl.common.core.command.QueryCache;
+import com.ttl.common.core.command.TransactionalCommand;
+import com.ttl.common.core.command.ValidationException;
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
+import com.ttl.common.core.mapper.EntityMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Generic base command for INSERT-or-UPDATE operations on a natural key.
+ *
+ * The entity is mapped from the input like {@link BaseCrudCreateCommandV2},
+ * then written with one native statement, without reading first:
+ *
+ * <pre>
+ * INSERT INTO projects (id, name, ...) VALUES (?1, ?2, ...)
+ * ON CONFLICT (name) DO UPDATE SET description = EXCLUDED.description, ...
+ * RETURNING id, name
+ * </pre>
+ *
+ * The conflict key ({@link #getConflictKey()}) names entity attributes backed
+ * by a unique constraint. On conflict, {@link ConflictAction#UPDATE} overwrites
+ * every other column except the creation auditing fields and returns the id of
+ * the existing row; {@link ConflictAction#NOTHING} keeps the row and reports an
+ * "already exists" violation on the first key attribute.
+ *
+ * The statement fills the auditing columns and a @Version itself and generates
+ * UUID ids, since no entity listener runs. afterSave receives the mapped entity
+ * with its id set; it is not managed by the persistence context.
+ *
+ * Usage Example:
+ *
+ * <pre>
+ * {@code
+ * @Service
+ * public class ProjectUpsertCommand
+ *         extends BaseCrudUpsertCommand<Project, ProjectCreateInput, UUID> {
+ *
+ *     public ProjectUpsertCommand(ProjectRepository repository, EntityMapper mapper) {
+ *         super(repository, mapper);
+ *     }
+ *
+ *     @Override
+ *     protected List<String> getConflictKey() {
+ *         return List.of("name");
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Batch upsert: {@link #executeBatch(List)} validates every input first and
+ * writes each chunk of {@link #getBatchSize()} inputs with one multi-row
+ * statement. A key repeated within the batch is reported as a violation,
+ * since PostgreSQL cannot update the same row twice in one statement.
+ * The batch runs outside the CommandInterceptor chain, and without the
+ * idempotency or concurrency limit advice.
+ *
+ * @param <Entity> JPA Entity type
+ * @param <Input>  Input DTO type
+ * @param <ID>     Entity ID type
+ */
+@Slf4j
+public abstract class BaseCrudUpsertCommand<Entity, Input, ID>
+        extends BaseCommand<Input, ID>
+        implements TransactionalCommand<Input, ID> {
+
+    /**
+     * What happens to an existing row with the same conflict key
+     */
+    public enum ConflictAction {
+        /** Overwrite the row with the input */
+        UPDATE,
+        /** Keep the row, report the input as already existing */
+        NOTHING
+    }
+
+    protected final JpaRepository<Entity, ID> repository;
+    protected final EntityMapper entityMapper;
+    private final Class<Entity> entityClass;
+    private final EntityMetadata<Entity> entityMetadata;
+    private final Set<String> excludedFields;
+    private volatile Statement statement;
+    private AuditorAware<?> auditorAware;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @SuppressWarnings("unchecked")
+    protected BaseCrudUpsertCommand(JpaRepository<Entity, ID> repository, EntityMapper entityMapper) {
+        this.repository = repository;
+        this.entityMapper = entityMapper;
+        this.entityClass = (Class<Entity>) ((ParameterizedType) getClass()
+                .getGenericSuperclass()).getActualTypeArguments()[0];
+        this.entityMetadata = EntityMetadataRegistry.get(entityClass);
+        this.excludedFields = CrudBatchSupport.union(entityMetadata.getManagedFields(),
+                "id", "createdAt", "updatedAt", "createdBy", "updatedBy");
+    }
+
+    /**
+     * Current auditor for the created-by and updated-by columns
+     */
+    @Autowired(required = false)
+    public void setAuditorAware(AuditorAware<?> auditorAware) {
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    protected ID onExecute(CommandHolder<Input> holder) {
+        Input input = holder.getInput();
+        CommandMetrics metrics = getMetrics();
+
+        // Map input to entity (with auto-mapping)
+        long started = metrics.start();
+        Entity entity = mapInputToEntity(input, holder);
+        metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
+
+        // Hook: before save
+        entity = beforeSave(entity, input, holder);
+
+        Statement statement = statement();
+        List<Object> key = statement.key(entity);
+        if (key.contains(null)) {
+            ConstraintViolations violations = missingKey(statement);
+            holder.fail(CommandResult.invalid(violations), () -> newValidationException(violations));
+            return null;
+        }
+
+        started = metrics.start();
+        Object id = upsert(statement, List.of(entity)).get(0);
+        started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+        if (id == null) {
+            ConstraintViolations violations = CrudBatchSupport.exists(statement.keyName(), key.get(0));
+            holder.fail(CommandResult.invalid(violations), () -> newValidationException(violations));
+            return null;
+        }
+        addRowsTouched(holder, 1);
+        QueryCache.evictAfterCommit(entityClass);
+
+        // Hook: after save
+        afterSave(entity, input, holder);
+        metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
+
+        return extractId(entity);
+    }
+
+    /**
+     * Upsert all inputs in one transaction.
+     * Invalid inputs, repeated keys and keys kept by DO NOTHING are reported in the result.
+     */
+    @Transactional
+    public BatchResult<ID> executeBatch(List<Input> inputs) {
+        return executeBatch(inputs, new Context());
+    }
+
+    /**
+     * Upsert all inputs in one transaction, with a context shared by every item
+     */
+    @Transactional
+    public BatchResult<ID> executeBatch(List<Input> inputs, Context context) {
+        CommandMetrics metrics = getMetrics();
+        List<CommandHolder<Input>> holders = CrudBatchSupport.holders(inputs, context);
+
+        // Validate everything first, batch constraints run once for all inputs
+        long started = metrics.start();
+        List<ConstraintViolations> violations = validateBatch(holders);
+        metrics.record(CommandMetrics.PHASE_VALIDATE, started, true);
+
+        Statement statement = statement();
+        Map<List<Object>, Integer> seen = new HashMap<>();
+        List<ID> ids = CrudBatchSupport.nulls(inputs.size());
+        for (List<Integer> chunk : CrudBatchSupport.validChunks(violations, getBatchSize())) {
+            started = metrics.start();
+            List<Integer> written = new ArrayList<>(chunk.size());
+            List<Entity> entities = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                CommandHolder<Input> holder = holders.get(index);
+                Entity entity = mapInputToEntity(holder.getInput(), holder);
+                entity = beforeSave(entity, holder.getInput(), holder);
+
+                List<Object> key = statement.key(entity);
+                if (key.contains(null)) {
+                    violations.set(index, missingKey(statement));
+                } else if (seen.putIfAbsent(key, index) != null) {
+                    violations.set(index, CrudBatchSupport.duplicate(statement.keyName(), key.get(0)));
+                } else {
+                    written.add(index);
+                    entities.add(entity);
+                }
+            }
+            metrics.record(CommandMetrics.PHASE_MAPPING, started, true);
+            if (entities.isEmpty()) {
+                continue;
+            }
+
+            started = metrics.start();
+            List<Object> chunkIds = upsert(statement, entities);
+            started = metrics.record(CommandMetrics.PHASE_SAVE, started, true);
+            QueryCache.evictAfterCommit(entityClass);
+
+            for (int i = 0; i < written.size(); i++) {
+                int index = written.get(i);
+                Entity entity = entities.get(i);
+                if (chunkIds.get(i) == null) {
+                    violations.set(index, CrudBatchSupport.exists(statement.keyName(), statement.key(entity).get(0)));
+                    continue;
+                }
+                context.addRowsTouched(1);
+                CommandHolder<Input> holder = holders.get(index);
+                afterSave(entity, holder.getInput(), holder);
+                ids.set(index, extractId(entity));
+            }
+            metrics.record(CommandMetrics.PHASE_AFTER_SAVE, started, true);
+        }
+        return BatchResult.of(ids, violations);
+    }
+
+    /**
+     * One statement for the entities, returns the ids aligned with them.
+     * A null id means the row was kept by DO NOTHING. The ids are set on the entities.
+     */
+    private List<Object> upsert(Statement statement, List<Entity> entities) {
+        Object auditor = auditorAware == null ? null : auditorAware.getCurrentAuditor().orElse(null);
+        List<Object> parameters = new ArrayList<>(entities.size() * statement.columns().size());
+        for (Entity entity : entities) {
+            statement.bind(entity, auditor, parameters);
+        }
+
+        Query query = requireEntityManager().createNativeQuery(statement.sql(entities.size()));
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+
+        // RETURNING order is not guaranteed, match the rows by key
+        Map<List<Object>, Object> returned = new HashMap<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            returned.put(Arrays.asList(columns).subList(1, columns.length), columns[0]);
+        }
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            Object id = returned.get(statement.key(entity));
+            if (id != null) {
+                entityMetadata.getId().set(entity, id);
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private Statement statement() {
+        Statement current = statement;
+        if (current == null) {
+            current = Statement.of(entityMetadata, getConflictKey(), getConflictAction());
+            statement = current;
+        }
+        return current;
+    }
+
+    private EntityManager requireEntityManager() {
+        if (entityManager == null) {
+            throw new IllegalStateException("Upsert requires an EntityManager");
+        }
+        return entityManager;
+    }
+
+    private ConstraintViolations missingKey(Statement statement) {
+        return CrudBatchSupport.required(statement.keyName());
+    }
+
+    private ValidationException newValidationException(ConstraintViolations violations) {
+        var violation = violations.get(0);
+        return new ValidationException("Validation failed: " + violation.name() + ": " + violation.message(),
+                violations);
+    }
+
+    /**
+     * Entity attributes of the unique constraint the statement conflicts on - MUST be implemented
+     */
+    protected abstract List<String> getConflictKey();
+
+    /**
+     * What happens on conflict, UPDATE by default
+     */
+    protected ConflictAction getConflictAction() {
+        return ConflictAction.UPDATE;
+    }
+
+    /**
+     * Number of inputs written per statement
+     */
+    protected int getBatchSize() {
+        return CrudBatchSupport.DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Map input DTO to entity using EntityMapper.
+     * Override this for custom mapping logic while still using auto-mapping as base.
+     */
+    protected @NonNull Entity mapInputToEntity(Input input, CommandHolder<Input> holder) {
+        Entity entity = entityMetadata.newInstance();
+        entityMapper.map(input, entity, getExcludedFields());
+        return entity;
+    }
+
+    /**
+     * Override to specify fields that should NOT be auto-mapped.
+     * Defaults to the id, version and auditing fields of the entity, plus the
+     * conventional audit field names.
+     */
+    protected Set<String> getExcludedFields() {
+        return excludedFields;
+    }
+
+    /**
+     * Hook: called before the statement, e.g. to fill defaults
+     */
+    protected @NonNull Entity beforeSave(@NonNull Entity entity, Input input, CommandHolder<Input> holder) {
+        return entity;
+    }
+
+    /**
+     * Hook: called after the row is written, with the id set on the mapped entity
+     */
+    protected void afterSave(Entity savedEntity, Input input, CommandHolder<Input> holder) {
+        // Override if needed
+    }
+
+    /**
+     * Extract ID from the written entity
+     */
+    @SuppressWarnings("unchecked")
+    protected ID extractId(Entity entity) {
+        return (ID) entityMetadata.getId(entity);
+    }
+
+    protected Class<Entity> getEntityClass() {
+        return entityClass;
+    }
+
+    protected EntityMetadata<Entity> getEntityMetadata() {
+        return entityMetadata;
+    }
+
+    /**
+     * Columns and SQL fragments of the upsert, resolved on first use
+     */
+    private record Statement(String insert, String onConflict, List<EntityMetadata.Attribute> columns,
+                             List<EntityMetadata.Attribute> key, EntityMetadata<?> metadata) {
+
+        static Statement of(EntityMetadata<?> metadata, List<String> conflictKey, ConflictAction action) {
+            String entityName = metadata.getEntityClass().getSimpleName();
+            if (conflictKey.isEmpty()) {
+                throw new IllegalStateException("Upsert of " + entityName + " requires a conflict key");
+            }
+            List<EntityMetadata.Attribute> key = new ArrayList<>(conflictKey.size());
+            for (String name : conflictKey) {
+                EntityMetadata.Attribute attribute = metadata.getAttributes().get(name);
+                if (attribute == null) {
+                    throw new IllegalStateException("Conflict key " + name + " is not a basic attribute of "
+                            + entityName);
+                }
+                key.add(attribute);
+            }
+
+            // Non-UUID ids are generated by the database and left out
+            EntityMetadata.Attribute id = metadata.getId();
+            boolean generatedId = id.getType() == UUID.class;
+            List<EntityMetadata.Attribute> columns = new ArrayList<>();
+            for (EntityMetadata.Attribute attribute : metadata.getAttributes().values()) {
+                if (attribute == id && !generatedId) {
+                    continue;
+                }
+                if (attribute.isConverted()) {
+                    throw new IllegalStateException("Upsert cannot bind converted attribute " + entityName + "."
+                            + attribute.getName());
+                }
+                columns.add(attribute);
+            }
+            for (EntityMetadata.AuditField auditField : List.of(EntityMetadata.AuditField.CREATED_AT,
+                    EntityMetadata.AuditField.UPDATED_AT)) {
+                EntityMetadata.Attribute attribute = metadata.getAuditFields().get(auditField);
+                if (attribute != null && !CrudBatchSupport.isTimestamp(attribute.getType())) {
+                    throw new IllegalStateException("Upsert cannot set " + attribute.getName() + " of type "
+                            + attribute.getType().getName() + " on " + entityName);
+                }
+            }
+
+            StringBuilder insert = new StringBuilder("INSERT INTO ").append(metadata.getTableName()).append(" (");
+            for (int i = 0; i < columns.size(); i++) {
+                insert.append(i == 0 ? "" : ", ").append(columns.get(i).getColumnName());
+            }
+            insert.append(") VALUES ");
+
+            StringBuilder onConflict = new StringBuilder(" ON CONFLICT (");
+            for (int i = 0; i < key.size(); i++) {
+                onConflict.append(i == 0 ? "" : ", ").append(key.get(i).getColumnName());
+            }
+            onConflict.append(')');
+            if (action == ConflictAction.NOTHING) {
+                onConflict.append(" DO NOTHING");
+            } else {
+                onConflict.append(" DO UPDATE SET ");
+                Set<EntityMetadata.Attribute> kept = new java.util.HashSet<>(key);
+                kept.add(id);
+                kept.add(metadata.getVersion());
+                kept.add(metadata.getAuditFields().get(EntityMetadata.AuditField.CREATED_AT));
+                kept.add(metadata.getAuditFields().get(EntityMetadata.AuditField.CREATED_BY));
+                String separator = "";
+                for (EntityMetadata.Attribute column : columns) {
+                    if (!kept.contains(column)) {
+                        onConflict.append(separator).append(column.getColumnName())
+                                .append(" = EXCLUDED.").append(column.getColumnName());
+                        separator = ", ";
+                    }
+                }
+                EntityMetadata.Attribute version = metadata.getVersion();
+                if (version != null) {
+                    onConflict.append(separator).append(version.getColumnName()).append(" = ")
+                            .append(metadata.getTableName()).append('.').append(version.getColumnName())
+                            .append(" + 1");
+                    separator = ", ";
+                }
+                if (separator.isEmpty()) {
+                    // Nothing to overwrite, a no-op update still returns the existing row
+                    onConflict.append(key.get(0).getColumnName()).append(" = EXCLUDED.")
+                            .append(key.get(0).getColumnName());
+                }
+            }
+            onConflict.append(" RETURNING ").append(id.getColumnName());
+            for (EntityMetadata.Attribute attribute : key) {
+                onConflict.append(", ").append(attribute.getColumnName());
+            }
+
+            return new Statement(insert.toString(), onConflict.toString(), List.copyOf(columns),
+                    List.copyOf(key), metadata);
+        }
+
+        /**
+         * SQL writing the given number of rows
+         */
+        String sql(int rows) {
+            int width = columns.size();
+            StringBuilder sql = new StringBuilder(insert.length() + onConflict.length() + rows * width * 6)
+                    .append(insert);
+            int parameter = 1;
+            for (int row = 0; row < rows; row++) {
+                sql.append(row == 0 ? "(" : ", (");
+                for (int column = 0; column < width; column++) {
+                    sql.append(column == 0 ? "?" : ", ?").append(parameter++);
+                }
+                sql.append(')');
+            }
+            return sql.append(onConflict).toString();
+        }
+
+        /**
+         * Append the column values of one entity, filling a missing id and version and the auditing columns
+         */
+        void bind(Object entity, Object auditor, List<Object> parameters) {
+            Map<EntityMetadata.AuditField, EntityMetadata.Attribute> auditFields = metadata.getAuditFields();
+            for (EntityMetadata.Attribute column : columns) {
+                Object value = column.get(entity);
+                if (column == metadata.getId() && value == null) {
+                    value = UUID.randomUUID();
+                } else if (column == metadata.getVersion() && value == null) {
+                    value = column.getType() == Long.class || column.getType() == long.class ? (Object) 0L : 0;
+                } else if (column == auditFields.get(EntityMetadata.AuditField.CREATED_AT)
+                        || column == auditFields.get(EntityMetadata.AuditField.UPDATED_AT)) {
+                    value = CrudBatchSupport.now(column.getType());
+                } else if ((column == auditFields.get(EntityMetadata.AuditField.CREATED_BY)
+                        || column == auditFields.get(EntityMetadata.AuditField.UPDATED_BY))
+                        && column.getType().isInstance(auditor)) {
+                    value = auditor;
+                }
+                parameters.add(value);
+            }
+        }
+
+        /**
+         * Conflict key values of an entity
+         */
+        List<Object> key(Object entity) {
+            List<Object> values = new ArrayList<>(key.size());
+            for (EntityMetadata.Attribute attribute : key) {
+                values.add(attribute.get(entity));
+            }
+            return values;
+        }
+
+        /**
+         * Attribute name violations of the key are reported on
+         */
+        String keyName() {
+            return key.get(0).getName();
+        }
+    }
+}
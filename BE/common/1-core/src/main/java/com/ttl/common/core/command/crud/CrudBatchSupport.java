@@ -0,0 +1,202 @@
+package com.ttl.common.core.command.crud;
+
+import am.ik.yavi.core.ConstraintViolation;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.message.SimpleMessageFormatter;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.Context;
+import com.ttl.common.core.entity.EntityMetadata;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Shared plumbing of the CRUD commands, mostly for their executeBatch methods
+ */
+final class CrudBatchSupport {
+
+    /**
+     * Default chunk size, aligned with hibernate.jdbc.batch_size in application.yml
+     */
+    static final int DEFAULT_BATCH_SIZE = 50;
+
+    private static final SimpleMessageFormatter MESSAGE_FORMATTER = new SimpleMessageFormatter();
+    private static final Set<Class<?>> TIMESTAMPS = Set.of(LocalDateTime.class, Instant.class, OffsetDateTime.class);
+
+    private CrudBatchSupport() {
+    }
+
+    /**
+     * One holder per input, all sharing the batch context
+     */
+    static <In> List<CommandHolder<In>> holders(List<In> inputs, Context context) {
+        List<CommandHolder<In>> holders = new ArrayList<>(inputs.size());
+        for (In input : inputs) {
+            holders.add(new CommandHolder<>(Objects.requireNonNull(input, "Batch inputs must not be null"), context));
+        }
+        return holders;
+    }
+
+    /**
+     * Positions of the valid items, split into chunks of at most {@code size}
+     */
+    static List<List<Integer>> validChunks(List<ConstraintViolations> violations, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + size);
+        }
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>(size);
+        for (int i = 0; i < violations.size(); i++) {
+            if (!violations.get(i).isValid()) {
+                continue;
+            }
+            chunk.add(i);
+            if (chunk.size() == size) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(size);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    static <T> List<T> nulls(int size) {
+        return new ArrayList<>(Collections.nCopies(size, null));
+    }
+
+    /**
+     * Index loaded entities by identifier so results can be matched back to inputs
+     */
+    static <Entity> Map<Object, Entity> byId(EntityMetadata<Entity> metadata, Iterable<Entity> entities) {
+        Map<Object, Entity> byId = new HashMap<>();
+        for (Entity entity : entities) {
+            byId.put(metadata.getId(entity), entity);
+        }
+        return byId;
+    }
+
+    /**
+     * Immutable union of resolved field names and conventional ones
+     */
+    static Set<String> union(Set<String> fields, String... names) {
+        Set<String> union = new HashSet<>(fields);
+        union.addAll(Arrays.asList(names));
+        return Set.copyOf(union);
+    }
+
+    /**
+     * Whether the command class overrides one of the named methods below the given base class
+     */
+    static boolean overridesAny(Class<?> commandClass, Class<?> baseClass, String... methodNames) {
+        Set<String> names = Set.of(methodNames);
+        for (Class<?> type = commandClass; type != baseClass && type != null; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (names.contains(method.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether native statements can fill an auditing timestamp of this type
+     */
+    static boolean isTimestamp(Class<?> type) {
+        return TIMESTAMPS.contains(type);
+    }
+
+    /**
+     * Current time for an auditing timestamp, in place of the auditing listener
+     */
+    static Object now(Class<?> type) {
+        if (type == Instant.class) {
+            return Instant.now();
+        }
+        return type == OffsetDateTime.class ? OffsetDateTime.now() : LocalDateTime.now();
+    }
+
+    /**
+     * Send pending statements as JDBC batches
+     */
+    static void flush(EntityManager entityManager) {
+        if (entityManager != null) {
+            entityManager.flush();
+        }
+    }
+
+    /**
+     * Flush what the after-save hooks changed and detach the chunk so the
+     * persistence context does not grow with the batch.
+     * The whole context is cleared only when executeBatch started the transaction;
+     * inside a caller's transaction only the chunk's entities are detached, so the
+     * caller's own entities stay managed.
+     * Without an EntityManager (plain unit tests, benchmarks) this is a no-op.
+     */
+    static void flushAndDetach(EntityManager entityManager, List<?> entities) {
+        if (entityManager == null) {
+            return;
+        }
+        entityManager.flush();
+        if (ownsTransaction()) {
+            entityManager.clear();
+            return;
+        }
+        for (Object entity : entities) {
+            if (entityManager.contains(entity)) {
+                entityManager.detach(entity);
+            }
+        }
+    }
+
+    /**
+     * Whether the current @Transactional method started its transaction instead of joining one
+     */
+    private static boolean ownsTransaction() {
+        try {
+            return TransactionAspectSupport.currentTransactionStatus().isNewTransaction();
+        } catch (NoTransactionException e) {
+            return false;
+        }
+    }
+
+    static ConstraintViolations notFound(String name, Object id) {
+        return violation(name, "error.entity.notFound", "Entity not found with ID: {1}", id);
+    }
+
+    static ConstraintViolations exists(String name, Object value) {
+        return violation(name, "error.entity.exists", "Entity already exists with {0}: {1}", value);
+    }
+
+    static ConstraintViolations required(String name) {
+        return violation(name, "error.entity.keyRequired", "\"{0}\" is required", null);
+    }
+
+    static ConstraintViolations duplicate(String name, Object value) {
+        return violation(name, "error.entity.duplicate", "Duplicate {0} in batch: {1}", value);
+    }
+
+    private static ConstraintViolations violation(String name, String messageKey, String message, Object value) {
+        ConstraintViolations violations = new ConstraintViolations();
+        violations.add(new ConstraintViolation(name, messageKey, message,
+                new Object[] { name, value }, MESSAGE_FORMATTER, Locale.getDefault()));
+        return violations;
+    }
+}
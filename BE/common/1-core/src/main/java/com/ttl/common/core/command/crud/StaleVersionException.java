@@ -0,0 +1,15 @@
+package com.ttl.common.core.command.crud;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Exception thrown when the version supplied with the input no longer matches the row.
+ * Unlike a conflict between two transactions, re-reading the entity cannot
+ * resolve it, so conflict retries skip it; the caller has to reload first.
+ */
+public class StaleVersionException extends ObjectOptimisticLockingFailureException {
+
+    public StaleVersionException(Class<?> entityClass, Object id) {
+        super(entityClass, id);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ttl.common.core.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency, with a bounded wait queue.
+ *
+ * The limit follows a gradient: the ratio between a long-term average latency
+ * and the latest sample. While latency stays near its average the limit grows
+ * by about sqrt(limit); when latency rises the limit shrinks, down to half of
+ * its value per sample. Growth is skipped while less than half of the limit is
+ * in use, so an idle command does not inflate its limit.
+ *
+ * Callers over the limit wait up to {@code maxWait} in a queue of at most
+ * {@code maxQueue} entries; beyond that they are rejected immediately.
+ *
+ * Usage:
+ *
+ * <pre>
+ * {@code
+ * long started = limiter.acquire();
+ * try {
+ *     return work();
+ * } finally {
+ *     limiter.release(started);
+ * }
+ * }
+ * </pre>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Samples over which the long-term latency is averaged
+     */
+    private static final int LONG_WINDOW = 600;
+    /**
+     * Latency may exceed its long-term average by this factor before the limit shrinks
+     */
+    private static final double TOLERANCE = 1.5;
+    /**
+     * Weight of a new limit estimate
+     */
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+    private int queued;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue, Duration maxWait) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format(
+                    "Limits must satisfy 0 < min <= initial <= max: %d, %d, %d", minLimit, initialLimit, maxLimit));
+        }
+        if (maxQueue < 0) {
+            throw new IllegalArgumentException("maxQueue must not be negative: " + maxQueue);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Take a permit, waiting in the queue when the limit is reached.
+     *
+     * @return the start timestamp to pass to {@link #release(long)}
+     * @throws CommandRejectedException when the queue is full or the wait times out
+     */
+    public long acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return System.nanoTime();
+            }
+            if (queued >= maxQueue) {
+                throw new CommandRejectedException("Concurrency limit reached and wait queue is full",
+                        CommandRejectedException.Reason.QUEUE_FULL);
+            }
+
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw new CommandRejectedException(
+                                "No permit available within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms",
+                                CommandRejectedException.Reason.TIMEOUT);
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+                inFlight++;
+                return System.nanoTime();
+            } finally {
+                queued--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommandRejectedException("Interrupted while waiting for a permit",
+                    CommandRejectedException.Reason.TIMEOUT);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return a permit taken at {@code started} and feed its latency into the limit
+     */
+    public void release(long started) {
+        long rtt = System.nanoTime() - started;
+        lock.lock();
+        try {
+            int previous = (int) limit;
+            update(Math.max(rtt, 1L));
+            inFlight--;
+            if ((int) limit > previous) {
+                available.signalAll();
+            } else {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rtt) {
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            longRtt += (rtt - longRtt) * 2.0 / (LONG_WINDOW + 1);
+        }
+        // Latency recovered well below the average: let the average catch up faster
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        if (estimate > limit && inFlight < limit / 2) {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + estimate * SMOOTHING));
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ttl.common.core.concurrency;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a command is shed by its concurrency limiter.
+ * Callers may retry later; nothing was executed.
+ */
+@Getter
+public class CommandRejectedException extends RuntimeException {
+
+    public enum Reason {
+        /**
+         * The wait queue was full
+         */
+        QUEUE_FULL,
+        /**
+         * No permit became available within the maximum wait
+         */
+        TIMEOUT
+    }
+
+    private final Reason reason;
+
+    public CommandRejectedException(String message, Reason reason) {
+        super(message);
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ttl.common.core.concurrency;
+
+import com.ttl.common.core.command.Command;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Per-command concurrency limiting, enabled with common.concurrency-limit.enabled=true
+ */
+@Configuration
+@ConditionalOnProperty(name = "common.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Inside the conflict retry (every attempt takes a permit) and outside the
+     * transaction advice (LOWEST_PRECEDENCE), so a queued command holds no connection
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 50;
+
+    private static final Set<String> LIMITED_METHODS = Set.of("execute", "executeForResult");
+
+    /**
+     * Infrastructure role, so the proxy creator of @EnableTransactionManagement applies it without AspectJ
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor concurrencyLimitAdvisor(
+            @Value("${common.concurrency-limit.initial-limit:10}") int initialLimit,
+            @Value("${common.concurrency-limit.min-limit:1}") int minLimit,
+            @Value("${common.concurrency-limit.max-limit:100}") int maxLimit,
+            @Value("${common.concurrency-limit.max-queue:50}") int maxQueue,
+            @Value("${common.concurrency-limit.max-wait:1s}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        // The registry is looked up when a command first executes, advisors are created before it
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new CommandPointcut(),
+                new ConcurrencyLimitInterceptor(initialLimit, minLimit, maxLimit, maxQueue, maxWait,
+                        meterRegistry::getIfAvailable));
+        advisor.setOrder(ORDER);
+        return advisor;
+    }
+
+    /**
+     * Execute methods of Command beans; batches and async submission are not limited
+     */
+    static class CommandPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return LIMITED_METHODS.contains(method.getName()) && Command.class.isAssignableFrom(targetClass);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ttl.common.core.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead per command class, backed by an {@link AdaptiveConcurrencyLimiter}.
+ *
+ * Applied as method advice on the command proxy, ordered before the transaction
+ * advice (see ConcurrencyLimitConfig): a queued command has not opened its
+ * transaction yet, so it holds no pooled connection whatever the connection
+ * settings. The permit is held around the transaction, commit included.
+ *
+ * Metrics, tagged with the command class:
+ * - command.concurrency.limit: current adaptive limit
+ * - command.concurrency.inflight: executions holding a permit
+ * - command.concurrency.queued: executions waiting for a permit
+ * - command.concurrency.rejected: shed executions, tagged with reason
+ */
+public class ConcurrencyLimitInterceptor implements MethodInterceptor {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Map<Class<?>, Limiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry supplies the registry for the limiter metrics, null when there is none
+     */
+    public ConcurrencyLimitInterceptor(int initialLimit, int minLimit, int maxLimit, int maxQueue,
+                                       Duration maxWait, Supplier<MeterRegistry> meterRegistry) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.meterRegistry = meterRegistry;
+        // Fail at startup on invalid settings rather than on the first command
+        new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, maxQueue, maxWait);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Limiter limiter = limiterFor(ClassUtils.getUserClass(invocation.getThis()));
+        long started;
+        try {
+            started = limiter.limiter().acquire();
+        } catch (CommandRejectedException e) {
+            limiter.reject(e.getReason());
+            throw e;
+        }
+        try {
+            return invocation.proceed();
+        } finally {
+            limiter.limiter().release(started);
+        }
+    }
+
+    /**
+     * Limiter of a command class, null until the command first executes
+     */
+    public AdaptiveConcurrencyLimiter findLimiter(Class<?> commandClass) {
+        Limiter limiter = limiters.get(commandClass);
+        return limiter == null ? null : limiter.limiter();
+    }
+
+    private Limiter limiterFor(Class<?> commandClass) {
+        Limiter limiter = limiters.get(commandClass);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(commandClass, this::createLimiter);
+        }
+        return limiter;
+    }
+
+    private Limiter createLimiter(Class<?> commandClass) {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, maxQueue, maxWait);
+        MeterRegistry meterRegistry = this.meterRegistry == null ? null : this.meterRegistry.get();
+        if (meterRegistry == null) {
+            return new Limiter(limiter, null, null);
+        }
+
+        String command = commandClass.getSimpleName();
+        Gauge.builder("command.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("command", command)
+                .register(meterRegistry);
+        Gauge.builder("command.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("command", command)
+                .register(meterRegistry);
+        Gauge.builder("command.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .tag("command", command)
+                .register(meterRegistry);
+        return new Limiter(limiter,
+                rejectedCounter(meterRegistry, command, CommandRejectedException.Reason.QUEUE_FULL),
+                rejectedCounter(meterRegistry, command, CommandRejectedException.Reason.TIMEOUT));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String command,
+                                           CommandRejectedException.Reason reason) {
+        return Counter.builder("command.concurrency.rejected")
+                .tag("command", command)
+                .tag("reason", reason.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    private record Limiter(AdaptiveConcurrencyLimiter limiter, Counter queueFull, Counter timeout) {
+
+        void reject(CommandRejectedException.Reason reason) {
+            Counter counter = reason == CommandRejectedException.Reason.QUEUE_FULL ? queueFull : timeout;
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.ttl.common.core.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistence metadata of an entity class, resolved once by {@link EntityMetadataRegistry}.
+ *
+ * Holds what the CRUD commands need on every call without reflection:
+ * a constructor handle, id and version accessors, the auditing fields, and
+ * the table and column names of the basic attributes.
+ *
+ * Entity, table and column names are those of the Hibernate mapping, bound by
+ * the registry at boot (see {@link EntityMetadataRegistry}), so they follow the
+ * naming strategy of the persistence unit. Until then, and for classes that
+ * are not mapped (tests, benchmarks), they default to the explicit
+ * {@code @Entity}/{@code @Table}/{@code @Column} name or the (snake_case of
+ * the) Java name.
+ *
+ * @param <E> Entity type
+ */
+public final class EntityMetadata<E> {
+
+    /**
+     * Auditing fields, filled by Spring Data auditing or Hibernate timestamps
+     */
+    public enum AuditField {
+        CREATED_AT, UPDATED_AT, CREATED_BY, UPDATED_BY
+    }
+
+    private final Class<E> entityClass;
+    private volatile String entityName;
+    private volatile String tableName;
+    private final Attribute id;
+    private final Attribute version;
+    private final Map<AuditField, Attribute> auditFields;
+    private final Map<String, Attribute> attributes;
+    private final Set<String> managedFields;
+    private final MethodHandle constructor;
+
+    private EntityMetadata(Class<E> entityClass, String entityName, String tableName, Attribute id, Attribute version,
+                           Map<AuditField, Attribute> auditFields, Map<String, Attribute> attributes,
+                           MethodHandle constructor) {
+        this.entityClass = entityClass;
+        this.entityName = entityName;
+        this.tableName = tableName;
+        this.id = id;
+        this.version = version;
+        this.auditFields = auditFields;
+        this.attributes = attributes;
+        this.constructor = constructor;
+
+        Set<String> managed = new LinkedHashSet<>();
+        managed.add(id.getName());
+        if (version != null) {
+            managed.add(version.getName());
+        }
+        for (Attribute attribute : auditFields.values()) {
+            managed.add(attribute.getName());
+        }
+        this.managedFields = Collections.unmodifiableSet(managed);
+    }
+
+    /**
+     * Resolve the metadata of a class.
+     *
+     * @throws IllegalStateException when the class has no id field or no no-args constructor
+     */
+    static <E> EntityMetadata<E> resolve(Class<E> entityClass) {
+        MethodHandles.Lookup lookup = lookup(entityClass);
+
+        Attribute id = null;
+        Attribute version = null;
+        Attribute namedId = null;
+        Map<AuditField, Attribute> auditFields = new EnumMap<>(AuditField.class);
+        Map<String, Attribute> attributes = new LinkedHashMap<>();
+
+        for (Field field : fields(entityClass)) {
+            Attribute attribute = Attribute.of(field, lookup);
+            if (field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) {
+                id = attribute;
+            } else if (field.getName().equals("id")) {
+                namedId = attribute;
+            }
+            if (field.isAnnotationPresent(Version.class)) {
+                version = attribute;
+            }
+            AuditField auditField = auditField(field);
+            if (auditField != null) {
+                auditFields.put(auditField, attribute);
+            }
+            if (isBasic(field)) {
+                attributes.put(field.getName(), attribute);
+            }
+        }
+
+        // Plain classes (tests, benchmarks) follow the "id" field convention of the CRUD commands
+        if (id == null) {
+            id = namedId;
+        }
+        if (id == null) {
+            throw new IllegalStateException("No @Id field found on " + entityClass.getName());
+        }
+
+        return new EntityMetadata<>(entityClass, entityName(entityClass), tableName(entityClass), id, version,
+                Collections.unmodifiableMap(auditFields), Collections.unmodifiableMap(attributes),
+                constructor(entityClass, lookup));
+    }
+
+    public Class<E> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Name of the entity in JPQL queries
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Replace the default names with those of the mapping.
+     *
+     * @param columnNames column by field name; fields not in the map keep their default
+     */
+    void bindNames(String entityName, String tableName, Map<String, String> columnNames) {
+        Set<Attribute> bound = new LinkedHashSet<>(attributes.values());
+        bound.add(id);
+        if (version != null) {
+            bound.add(version);
+        }
+        bound.addAll(auditFields.values());
+        for (Attribute attribute : bound) {
+            String columnName = columnNames.get(attribute.getName());
+            if (columnName != null) {
+                attribute.columnName = columnName;
+            }
+        }
+        this.entityName = entityName;
+        this.tableName = tableName;
+    }
+
+    /**
+     * New empty instance through the no-args constructor
+     */
+    @SuppressWarnings("unchecked")
+    public E newInstance() {
+        try {
+            return (E) constructor.invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to instantiate " + entityClass.getName(), e);
+        }
+    }
+
+    public Attribute getId() {
+        return id;
+    }
+
+    /**
+     * Identifier of an entity, also for uninitialized Hibernate proxies
+     */
+    public Object getId(Object entity) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return id.get(entity);
+    }
+
+    /**
+     * The @Version attribute, null when the entity is not versioned
+     */
+    public Attribute getVersion() {
+        return version;
+    }
+
+    public Map<AuditField, Attribute> getAuditFields() {
+        return auditFields;
+    }
+
+    /**
+     * Names of the fields managed by persistence rather than by input: id, version and auditing fields
+     */
+    public Set<String> getManagedFields() {
+        return managedFields;
+    }
+
+    /**
+     * Basic attributes by field name, in declaration order (superclass fields first)
+     */
+    public Map<String, Attribute> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityMetadata[" + entityClass.getSimpleName() + " -> " + tableName + "]";
+    }
+
+    /**
+     * A persistent field with its column name and accessors
+     */
+    public static final class Attribute {
+
+        private final String name;
+        private volatile String columnName;
+        private final Class<?> type;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final boolean converted;
+
+        private Attribute(String name, String columnName, Class<?> type, MethodHandle getter, MethodHandle setter,
+                          boolean converted) {
+            this.name = name;
+            this.columnName = columnName;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+            this.converted = converted;
+        }
+
+        static Attribute of(Field field, MethodHandles.Lookup lookup) {
+            try {
+                return new Attribute(field.getName(), columnName(field), field.getType(),
+                        lookup.unreflectGetter(field),
+                        Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field),
+                        requiresConversion(field));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + field, e);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getColumnName() {
+            return columnName;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Whether Hibernate converts the value before binding it (enums, converters,
+         * embeddables, explicit JDBC types), so it cannot be bound as-is in native SQL
+         */
+        public boolean isConverted() {
+            return converted;
+        }
+
+        public Object get(Object entity) {
+            try {
+                return getter.invoke(entity);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to read " + name, e);
+            }
+        }
+
+        public void set(Object entity, Object value) {
+            if (setter == null) {
+                throw new IllegalStateException(name + " is final");
+            }
+            try {
+                setter.invoke(entity, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to write " + name, e);
+            }
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> entityClass) {
+        try {
+            return MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access " + entityClass.getName(), e);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> entityClass, MethodHandles.Lookup lookup) {
+        try {
+            Constructor<?> constructor = entityClass.getDeclaredConstructor();
+            return lookup.unreflectConstructor(constructor);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("No accessible no-args constructor on " + entityClass.getName(), e);
+        }
+    }
+
+    /**
+     * Instance fields of the class and its superclasses, superclass fields first
+     */
+    private static List<Field> fields(Class<?> entityClass) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.add(0, type);
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static boolean isBasic(Field field) {
+        return !Modifier.isTransient(field.getModifiers())
+                && !field.isAnnotationPresent(Transient.class)
+                && !field.isAnnotationPresent(OneToMany.class)
+                && !field.isAnnotationPresent(ManyToMany.class)
+                && !field.isAnnotationPresent(ManyToOne.class)
+                && !field.isAnnotationPresent(OneToOne.class)
+                && !field.isAnnotationPresent(ElementCollection.class);
+    }
+
+    private static boolean requiresConversion(Field field) {
+        return field.getType().isEnum()
+                || field.isAnnotationPresent(Enumerated.class)
+                || field.isAnnotationPresent(Convert.class)
+                || field.isAnnotationPresent(Lob.class)
+                || field.isAnnotationPresent(Embedded.class)
+                || field.isAnnotationPresent(EmbeddedId.class)
+                || field.isAnnotationPresent(JdbcTypeCode.class);
+    }
+
+    private static AuditField auditField(Field field) {
+        if (field.isAnnotationPresent(CreatedDate.class) || field.isAnnotationPresent(CreationTimestamp.class)) {
+            return AuditField.CREATED_AT;
+        }
+        if (field.isAnnotationPresent(LastModifiedDate.class) || field.isAnnotationPresent(UpdateTimestamp.class)) {
+            return AuditField.UPDATED_AT;
+        }
+        if (field.isAnnotationPresent(CreatedBy.class)) {
+            return AuditField.CREATED_BY;
+        }
+        if (field.isAnnotationPresent(LastModifiedBy.class)) {
+            return AuditField.UPDATED_BY;
+        }
+        return null;
+    }
+
+    private static String entityName(Class<?> entityClass) {
+        Entity entity = entityClass.getAnnotation(Entity.class);
+        return entity != null && !entity.name().isEmpty() ? entity.name() : entityClass.getSimpleName();
+    }
+
+    private static String tableName(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table != null && !table.name().isEmpty()) {
+            return table.name();
+        }
+        return snakeCase(entityName(entityClass));
+    }
+
+    private static String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name();
+        }
+        return snakeCase(field.getName());
+    }
+
+    /**
+     * Default of unmapped classes, the conversion of Spring Boot's CamelCaseToUnderscoresNamingStrategy
+     */
+    static String snakeCase(String name) {
+        StringBuilder builder = new StringBuilder(name.replace('.', '_'));
+        for (int i = 1; i < builder.length() - 1; i++) {
+            if (Character.isLowerCase(builder.charAt(i - 1)) && Character.isUpperCase(builder.charAt(i))
+                    && Character.isLowerCase(builder.charAt(i + 1))) {
+                builder.insert(i++, '_');
+            }
+        }
+        return builder.toString().toLowerCase();
+    }
+}
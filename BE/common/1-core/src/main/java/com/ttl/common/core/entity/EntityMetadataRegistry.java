@@ -0,0 +1,96 @@
+package com.ttl.common.core.entity;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link EntityMetadata}, one per entity class.
+ *
+ * The CRUD commands look up their entity in their constructor, so the
+ * reflection happens while the context starts. Once all singletons exist,
+ * every entity of the JPA metamodel is resolved too: an entity without an id
+ * field or no-args constructor fails the startup instead of its first request.
+ * Its entity name is then taken from the metamodel and its table and column
+ * names from the Hibernate entity persister, before any command builds JPQL
+ * or native SQL with them.
+ *
+ * Lookups are static so commands built outside Spring (tests, benchmarks)
+ * share the same metadata.
+ */
+@Component
+@Slf4j
+public class EntityMetadataRegistry implements SmartInitializingSingleton {
+
+    private static final Map<Class<?>, EntityMetadata<?>> METADATA = new ConcurrentHashMap<>();
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactories;
+
+    public EntityMetadataRegistry(ObjectProvider<EntityManagerFactory> entityManagerFactories) {
+        this.entityManagerFactories = entityManagerFactories;
+    }
+
+    /**
+     * Metadata of an entity class, resolved on first lookup
+     *
+     * @throws IllegalStateException when the class cannot be used as a CRUD entity
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> EntityMetadata<E> get(Class<E> entityClass) {
+        EntityMetadata<?> metadata = METADATA.get(entityClass);
+        if (metadata == null) {
+            metadata = METADATA.computeIfAbsent(entityClass, EntityMetadata::resolve);
+        }
+        return (EntityMetadata<E>) metadata;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        entityManagerFactories.orderedStream().forEach(entityManagerFactory -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+                EntityMetadata<?> metadata = get(entityType.getJavaType());
+                bindNames(metadata, entityType.getName(),
+                        sessionFactory.getMappingMetamodel().getEntityDescriptor(entityType.getJavaType()));
+                log.debug("Resolved {}", metadata);
+            }
+        });
+    }
+
+    /**
+     * Names of the root table and of the single-column attributes, as Hibernate renders them
+     *
+     * @param entityName name of the entity in JPQL
+     */
+    static void bindNames(EntityMetadata<?> metadata, String entityName, EntityPersister persister) {
+        if (!(persister instanceof AbstractEntityPersister mapped)) {
+            return;
+        }
+        Map<String, String> columnNames = new HashMap<>();
+        String[] idColumns = mapped.getIdentifierColumnNames();
+        if (idColumns.length == 1) {
+            columnNames.put(metadata.getId().getName(), idColumns[0]);
+        }
+        List<String> properties = List.of(mapped.getPropertyNames());
+        for (String field : metadata.getAttributes().keySet()) {
+            if (properties.contains(field)) {
+                String[] columns = mapped.getPropertyColumnNames(field);
+                if (columns.length == 1) {
+                    columnNames.put(field, columns[0]);
+                }
+            }
+        }
+        metadata.bindNames(entityName, mapped.getRootTableName(), columnNames);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ttl.common.core.idempotency;
+
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.TransactionalCommand;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Idempotency key configuration
+ * - In-memory LRU store, disabled with common.idempotency.enabled=false
+ * - PostgreSQL store shared by all nodes with common.idempotency.store=jdbc
+ *   (requires the command_idempotency table, see JdbcIdempotencyStore)
+ */
+@Configuration
+@ConditionalOnProperty(name = "common.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    /**
+     * Outside the conflict retry, the concurrency limit and the transaction advice
+     * (LOWEST_PRECEDENCE), so a duplicate waits without a connection or a permit
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 150;
+
+    private static final Set<String> KEYED_METHODS = Set.of("execute", "executeForResult");
+
+    /**
+     * Infrastructure role, so the proxy creator of @EnableTransactionManagement applies it without AspectJ
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor idempotencyAdvisor(
+            @Value("${common.idempotency.ttl:24h}") Duration ttl,
+            @Value("${common.idempotency.max-size:10000}") int maxSize,
+            @Value("${common.idempotency.max-wait:30s}") Duration maxWait,
+            ObjectProvider<JdbcIdempotencyStore> sharedStore) {
+        // The shared store is looked up when a keyed command executes, advisors are created before it
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new CommandPointcut(),
+                new IdempotencyInterceptor(new InMemoryIdempotencyStore(maxSize), sharedStore::getIfAvailable,
+                        ttl, maxWait));
+        advisor.setOrder(ORDER);
+        return advisor;
+    }
+
+    /**
+     * Execute methods taking a holder, the only ones carrying a key, of transactional commands
+     */
+    static class CommandPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return KEYED_METHODS.contains(method.getName())
+                    && method.getParameterCount() == 1
+                    && method.getParameterTypes()[0] == CommandHolder.class
+                    && TransactionalCommand.class.isAssignableFrom(targetClass);
+        }
+    }
+
+    /**
+     * Also picked up on its own by component scanning; the store is unused when idempotency is disabled
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "common.idempotency.store", havingValue = "jdbc")
+    static class JdbcStoreConfig {
+
+        @Bean
+        public JdbcIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                                         PlatformTransactionManager transactionManager) {
+            return new JdbcIdempotencyStore(jdbcTemplate, transactionManager);
+        }
+    }
+}
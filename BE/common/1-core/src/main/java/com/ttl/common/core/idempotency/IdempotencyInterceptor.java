@@ -0,0 +1,229 @@
+package com.ttl.common.core.idempotency;
+
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.Context;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Honours {@link Context#getIdempotencyKey()} for transactional (mutation) commands.
+ *
+ * The key is scoped by command class and tenant. Lookups go to the node-local
+ * store first, then to the optional shared store. Concurrent executions with
+ * the same key wait for the one in flight and return its result (or its
+ * exception) instead of running validate and insert again.
+ *
+ * A fingerprint of the input is kept with the key: reusing a key with a
+ * different input fails with an {@link IdempotencyKeyException} (INPUT_MISMATCH)
+ * instead of returning the result of the other input. Waiting for an execution
+ * in flight is bounded by {@code maxWait}, after which the duplicate fails with
+ * IN_PROGRESS and the client retries later.
+ *
+ * Applied as method advice on the command proxy, ordered before the conflict
+ * retry, the concurrency limit and the transaction advice (see IdempotencyConfig):
+ * the lookup and the wait for a duplicate happen before a transaction is opened,
+ * so a waiting duplicate holds neither a pooled connection nor a permit.
+ *
+ * Results are stored once the transaction commits, when the advised call
+ * returns or, for a command joining the caller's transaction, when that one
+ * commits. A rolled back execution stores nothing, so the client can retry
+ * with the same key. Neither does a failure recorded by executeForResult:
+ * waiting executions then run the command themselves. execute and
+ * executeForResult share their stored results.
+ * Commands without a key are passed through untouched.
+ */
+@Slf4j
+public class IdempotencyInterceptor implements MethodInterceptor {
+
+    /**
+     * Completion of an in-flight execution that left nothing to share
+     */
+    private static final Object NOT_STORED = new Object();
+
+    private final IdempotencyStore localStore;
+    private final Supplier<? extends IdempotencyStore> sharedStore;
+    private final Duration ttl;
+    private final Duration maxWait;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param sharedStore supplies the multi-node store, null to keep results on this node only
+     * @param maxWait     longest wait for an execution in flight with the same key
+     */
+    public IdempotencyInterceptor(IdempotencyStore localStore, Supplier<? extends IdempotencyStore> sharedStore,
+                                  Duration ttl, Duration maxWait) {
+        this.localStore = localStore;
+        this.sharedStore = sharedStore;
+        this.ttl = ttl;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CommandHolder<?> holder = (CommandHolder<?>) invocation.getArguments()[0];
+        Context context = holder == null ? null : holder.peekContext();
+        if (context == null || context.getIdempotencyKey() == null) {
+            return invocation.proceed();
+        }
+
+        boolean forResult = "executeForResult".equals(invocation.getMethod().getName());
+        String key = ClassUtils.getUserClass(invocation.getThis()).getName() + '|' + context.getTenantId()
+                + '|' + context.getIdempotencyKey();
+        String inputHash = InputFingerprint.of(holder.getInput());
+        IdempotencyStore.Entry entry = find(key);
+        if (entry != null) {
+            return returned(storedResult(entry, inputHash), forResult);
+        }
+
+        InFlight execution = new InFlight(inputHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            if (!running.inputHash().equals(inputHash)) {
+                throw inputMismatch();
+            }
+            Object result = await(running.result());
+            return result == NOT_STORED ? invoke(invocation) : returned(result, forResult);
+        }
+
+        try {
+            // The previous owner may have stored its result between find and putIfAbsent
+            entry = find(key);
+            if (entry != null) {
+                Object result = storedResult(entry, inputHash);
+                complete(key, execution, result);
+                return returned(result, forResult);
+            }
+
+            Object output = invocation.proceed();
+            if (holder.isFailed()) {
+                complete(key, execution, NOT_STORED);
+            } else {
+                completeAfterCommit(key, execution,
+                        forResult ? ((CommandResult<?>) output).getOrThrow() : output);
+            }
+            return output;
+        } catch (Throwable e) {
+            fail(key, execution, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Results are stored as the output, executeForResult returns them wrapped
+     */
+    private static Object returned(Object result, boolean forResult) {
+        return forResult ? CommandResult.success(result) : result;
+    }
+
+    /**
+     * Result of a stored entry, when it was produced by the same input.
+     * Entries stored without a fingerprint are trusted.
+     */
+    private static Object storedResult(IdempotencyStore.Entry entry, String inputHash) {
+        if (entry.inputHash() != null && !entry.inputHash().equals(inputHash)) {
+            throw inputMismatch();
+        }
+        return entry.result();
+    }
+
+    private static IdempotencyKeyException inputMismatch() {
+        return new IdempotencyKeyException("Idempotency key was already used with a different input",
+                IdempotencyKeyException.Reason.INPUT_MISMATCH);
+    }
+
+    private IdempotencyStore.Entry find(String key) {
+        IdempotencyStore.Entry entry = localStore.find(key);
+        IdempotencyStore sharedStore = this.sharedStore == null ? null : this.sharedStore.get();
+        if (entry == null && sharedStore != null) {
+            entry = sharedStore.find(key);
+            if (entry != null) {
+                localStore.save(key, entry.inputHash(), entry.result(), ttl);
+            }
+        }
+        return entry;
+    }
+
+    private void completeAfterCommit(String key, InFlight execution, Object output) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store(key, execution.inputHash(), output);
+            complete(key, execution, output);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    store(key, execution.inputHash(), output);
+                    complete(key, execution, output);
+                } else {
+                    fail(key, execution, new IllegalStateException(
+                            "Execution for idempotency key was rolled back, retry with the same key"));
+                }
+            }
+        });
+    }
+
+    private void store(String key, String inputHash, Object output) {
+        localStore.save(key, inputHash, output, ttl);
+        IdempotencyStore sharedStore = this.sharedStore == null ? null : this.sharedStore.get();
+        if (sharedStore != null) {
+            try {
+                sharedStore.save(key, inputHash, output, ttl);
+            } catch (RuntimeException e) {
+                // Already committed: the local entry still deduplicates retries on this node
+                log.warn("Failed to store idempotent result in the shared store", e);
+            }
+        }
+    }
+
+    private void complete(String key, InFlight execution, Object output) {
+        inFlight.remove(key, execution);
+        execution.result().complete(output);
+    }
+
+    private void fail(String key, InFlight execution, Throwable error) {
+        inFlight.remove(key, execution);
+        execution.result().completeExceptionally(error);
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyException("Execution with the same idempotency key is still in progress",
+                    IdempotencyKeyException.Reason.IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyException("Interrupted while waiting for the execution with the same key",
+                    IdempotencyKeyException.Reason.IN_PROGRESS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Execution in flight for a key, with the fingerprint of its input
+     */
+    private record InFlight(String inputHash, CompletableFuture<Object> result) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.ttl.common.core.idempotency;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when an idempotency key cannot be honoured.
+ * Nothing was executed for the request that received it.
+ */
+@Getter
+public class IdempotencyKeyException extends RuntimeException {
+
+    public enum Reason {
+        /**
+         * The key was first used with a different input
+         */
+        INPUT_MISMATCH,
+        /**
+         * The execution holding the key did not finish within the maximum wait; retry later
+         */
+        IN_PROGRESS
+    }
+
+    private final Reason reason;
+
+    public IdempotencyKeyException(String message, Reason reason) {
+        super(message);
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ttl.common.core.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Stores the first result of a command execution under its idempotency key
+ */
+public interface IdempotencyStore {
+
+    /**
+     * @return the stored entry, null when the key is unknown or expired
+     */
+    Entry find(String key);
+
+    /**
+     * Store a result for {@code ttl}. An unexpired entry for the same key is kept.
+     *
+     * @param inputHash fingerprint of the input that produced the result
+     */
+    void save(String key, String inputHash, Object result, Duration ttl);
+
+    /**
+     * Stored result, which may itself be null (e.g. a Void command)
+     *
+     * @param inputHash fingerprint of the input, null for entries stored without one
+     */
+    record Entry(String inputHash, Object result) {
+    }
+}
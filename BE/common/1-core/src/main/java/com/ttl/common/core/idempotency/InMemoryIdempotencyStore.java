@@ -0,0 +1,54 @@
+package com.ttl.common.core.idempotency;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Node-local store: LRU bounded by {@code maxSize}, entries expire after their TTL
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Stored> entries;
+
+    public InMemoryIdempotencyStore(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Entry find(String key) {
+        Stored stored = entries.get(key);
+        if (stored == null) {
+            return null;
+        }
+        if (System.nanoTime() - stored.expiresAt() >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return stored.entry();
+    }
+
+    @Override
+    public synchronized void save(String key, String inputHash, Object result, Duration ttl) {
+        Stored stored = entries.get(key);
+        long now = System.nanoTime();
+        if (stored == null || now - stored.expiresAt() >= 0) {
+            entries.put(key, new Stored(new Entry(inputHash, result), now + ttl.toNanos()));
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Stored(Entry entry, long expiresAt) {
+    }
+}
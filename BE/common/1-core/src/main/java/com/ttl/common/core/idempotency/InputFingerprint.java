@@ -0,0 +1,149 @@
+package com.ttl.common.core.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * SHA-256 of a command input, stored next to its idempotency key so a key
+ * reused with a different input is detected.
+ *
+ * The hash is taken over a canonical form that is the same on every node:
+ * JDK values by their string form, lists in order, sets and maps sorted and
+ * other objects by their instance fields sorted by name, or by their string
+ * form when a field cannot be made accessible (a type of an unopened module).
+ */
+@Slf4j
+final class InputFingerprint {
+
+    /**
+     * Guards against cyclic inputs, DTOs are far shallower
+     */
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * Instance fields sorted by name, null when one of them cannot be made accessible
+     */
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    if (!field.trySetAccessible()) {
+                        log.debug("Field {} of {} is not accessible, inputs of this type are fingerprinted "
+                                + "by their string form", field.getName(), type.getSimpleName());
+                        return null;
+                    }
+                    fields.add(field);
+                }
+            }
+            fields.sort(Comparator.comparing(Field::getName));
+            return List.copyOf(fields);
+        }
+    };
+
+    private InputFingerprint() {
+    }
+
+    static String of(Object input) {
+        StringBuilder canonical = new StringBuilder();
+        append(canonical, input, 0);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void append(StringBuilder out, Object value, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Input is nested deeper than " + MAX_DEPTH + " levels");
+        }
+        if (value == null) {
+            out.append('~');
+        } else if (value instanceof Set<?> set) {
+            // Iteration order of hash-based sets differs between JVMs
+            List<String> elements = new ArrayList<>(set.size());
+            for (Object element : set) {
+                StringBuilder canonical = new StringBuilder();
+                append(canonical, element, depth + 1);
+                elements.add(canonical.toString());
+            }
+            elements.sort(Comparator.naturalOrder());
+            out.append('(');
+            elements.forEach(out::append);
+            out.append(')');
+        } else if (value instanceof Iterable<?> iterable) {
+            out.append('[');
+            for (Object element : iterable) {
+                append(out, element, depth + 1);
+            }
+            out.append(']');
+        } else if (value.getClass().isArray()) {
+            out.append('[');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                append(out, Array.get(value, i), depth + 1);
+            }
+            out.append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((key, element) -> sorted.put(String.valueOf(key), element));
+            out.append('{');
+            sorted.forEach((key, element) -> {
+                appendString(out, key);
+                append(out, element, depth + 1);
+            });
+            out.append('}');
+        } else if (value instanceof Enum<?> constant) {
+            appendString(out, constant.name());
+        } else if (value.getClass().getName().startsWith("java.")) {
+            appendString(out, value.toString());
+        } else {
+            appendObject(out, value, depth);
+        }
+    }
+
+    private static void appendObject(StringBuilder out, Object value, int depth) {
+        List<Field> fields = FIELDS.get(value.getClass());
+        if (fields == null) {
+            appendString(out, value.getClass().getName() + ':' + value);
+            return;
+        }
+        out.append('{');
+        for (Field field : fields) {
+            appendString(out, field.getName());
+            try {
+                append(out, field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+        }
+        out.append('}');
+    }
+
+    /**
+     * Length-prefixed, so no value can be mistaken for structure
+     */
+    private static void appendString(StringBuilder out, String value) {
+        out.append(value.length()).append(':').append(value);
+    }
+}
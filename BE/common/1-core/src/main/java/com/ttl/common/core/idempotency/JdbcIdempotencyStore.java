@@ -0,0 +1,113 @@
+package com.ttl.common.core.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * PostgreSQL store shared by all nodes.
+ *
+ * Results are stored with Java serialization; results that are not
+ * Serializable stay in the node-local store only. Expired rows are
+ * overwritten when their key is reused. Writes run in their own transaction:
+ * they happen after the command's transaction completed, while its
+ * connection may still be bound to the thread.
+ *
+ * Table:
+ *
+ * <pre>
+ * CREATE TABLE command_idempotency (
+ *     idempotency_key VARCHAR(512) PRIMARY KEY,
+ *     input_hash VARCHAR(64),
+ *     result BYTEA,
+ *     expires_at TIMESTAMP NOT NULL
+ * );
+ * </pre>
+ */
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String SELECT_SQL =
+            "SELECT input_hash, result FROM command_idempotency WHERE idempotency_key = ? AND expires_at > ?";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO command_idempotency (idempotency_key, input_hash, result, expires_at) VALUES (?, ?, ?, ?) "
+                    + "ON CONFLICT (idempotency_key) DO UPDATE SET input_hash = EXCLUDED.input_hash, "
+                    + "result = EXCLUDED.result, expires_at = EXCLUDED.expires_at "
+                    + "WHERE command_idempotency.expires_at <= ?";
+
+    /**
+     * Only JDK and application types are deserialized
+     */
+    private static final ObjectInputFilter RESULT_FILTER =
+            ObjectInputFilter.Config.createFilter("java.base/*;com.ttl.**;!*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Entry find(String key) {
+        List<Entry> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new Entry(rs.getString(1), deserialize(rs.getBytes(2))),
+                key, Timestamp.from(Instant.now()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void save(String key, String inputHash, Object result, Duration ttl) {
+        if (result != null && !(result instanceof Serializable)) {
+            log.debug("Result of {} is not Serializable, not stored in the shared idempotency store",
+                    result.getClass().getName());
+            return;
+        }
+        byte[] data = serialize(result);
+        Instant now = Instant.now();
+        requiresNew.executeWithoutResult(status -> jdbcTemplate.update(UPSERT_SQL, key, inputHash, data,
+                Timestamp.from(now.plus(ttl)), Timestamp.from(now)));
+    }
+
+    private static byte[] serialize(Object result) {
+        if (result == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(result);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize idempotent result", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            in.setObjectInputFilter(RESULT_FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to deserialize idempotent result", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ttl.common.core.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Always-on JFR recording bounded by age and size, dumped on demand.
+ * Records the JDK events of the given settings ("default" is the low-overhead
+ * profile) plus the custom CommandExecuted and GraphQLOperation events.
+ */
+@Slf4j
+public class ContinuousRecording implements AutoCloseable {
+
+    private final Recording recording;
+    private final Duration dumpMaxAge;
+    private final Map<Path, Instant> dumps = new ConcurrentHashMap<>();
+
+    /**
+     * @param dumpMaxAge how long a dump file may stay unreleased before the next dump deletes it
+     */
+    public ContinuousRecording(String settings, Duration maxAge, long maxSizeBytes, Duration dumpMaxAge)
+            throws IOException, ParseException {
+        this.dumpMaxAge = dumpMaxAge;
+        this.recording = new Recording(Configuration.getConfiguration(settings));
+        this.recording.setName("ttl-continuous");
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(maxAge);
+        this.recording.setMaxSize(maxSizeBytes);
+    }
+
+    public void start() {
+        recording.start();
+        log.info("Started continuous JFR recording (max age {}, max size {} bytes)",
+                recording.getMaxAge(), recording.getMaxSize());
+    }
+
+    /**
+     * Dump the recorded window to a new temporary file.
+     * Each call gets its own file, deleted by release() once it has been read.
+     * Files never released are deleted by a later dump once older than the dump
+     * max age, and on close.
+     */
+    public Path dump() throws IOException {
+        Instant expired = Instant.now().minus(dumpMaxAge);
+        dumps.forEach((old, created) -> {
+            if (created.isBefore(expired)) {
+                release(old);
+            }
+        });
+
+        Path file = Files.createTempFile("ttl-continuous-", ".jfr");
+        dumps.put(file, Instant.now());
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            release(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Delete a file returned by dump()
+     */
+    public void release(Path file) {
+        if (dumps.remove(file) == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete JFR dump {}", file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+        List.copyOf(dumps.keySet()).forEach(this::release);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ttl.common.core.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * JFR configuration
+ * - Continuous recording, disabled with common.jfr.enabled=false
+ * - jfr actuator web endpoint when actuator is on the classpath, not exposed by default
+ */
+@Configuration
+@ConditionalOnProperty(name = "common.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ContinuousRecording continuousRecording(
+            @Value("${common.jfr.settings:default}") String settings,
+            @Value("${common.jfr.max-age:15m}") Duration maxAge,
+            @Value("${common.jfr.max-size:100MB}") DataSize maxSize,
+            @Value("${common.jfr.dump-max-age:10m}") Duration dumpMaxAge) throws IOException, ParseException {
+        return new ContinuousRecording(settings, maxAge, maxSize.toBytes(), dumpMaxAge);
+    }
+
+    /**
+     * Also picked up on its own by component scanning, hence the repeated property condition
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "common.jfr.enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class JfrEndpointConfig {
+
+        @Bean
+        public JfrEndpoint jfrEndpoint(ContinuousRecording continuousRecording) {
+            return new JfrEndpoint(continuousRecording);
+        }
+    }
+}
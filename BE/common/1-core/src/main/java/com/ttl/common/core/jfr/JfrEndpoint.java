@@ -0,0 +1,67 @@
+package com.ttl.common.core.jfr;
+
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Actuator endpoint dumping the continuous JFR recording.
+ * GET /actuator/jfr returns a .jfr file to open with JDK Mission Control or {@code jfr print}.
+ *
+ * The dump contains system properties and environment variables, credentials included:
+ * expose it ({@code management.endpoints.web.exposure.include=jfr}) only behind
+ * management security. It is a web-only endpoint, JMX cannot stream the file.
+ *
+ * The file of a dump is deleted once the response body has been read, or by
+ * the dump max age of ContinuousRecording when it never is (HEAD requests,
+ * failed writes).
+ */
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final ContinuousRecording recording;
+
+    public JfrEndpoint(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        return new DumpResource(recording, recording.dump());
+    }
+
+    /**
+     * Dump file of one request, deleted once its content has been read
+     */
+    private static final class DumpResource extends FileSystemResource {
+
+        private final ContinuousRecording recording;
+        private final Path file;
+
+        DumpResource(ContinuousRecording recording, Path file) {
+            super(file);
+            this.recording = recording;
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        recording.release(file);
+                    }
+                }
+            };
+        }
+    }
+}
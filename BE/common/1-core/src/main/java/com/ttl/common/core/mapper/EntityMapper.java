@@ -1,23 +1,55 @@
 package com.ttl.common.core.mapper;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Simple entity mapper utility for copying properties between objects.
  * Supports field-to-field mapping with optional field name transformations.
+ *
+ * Field resolution is done once per (source class, target class, excluded
+ * fields) and cached as an immutable {@link MappingPlan}, so repeated
+ * mappings of the same pair do not repeat any reflection lookups.
+ *
+ * The copy strategy is chosen per class pair with {@link MappingMode}:
+ * REFLECTIVE (default) copies through cached fields, GENERATED spins a hidden
+ * class calling the getters/setters directly and falls back to REFLECTIVE
+ * when the pair cannot be generated.
+ *
+ * <pre>
+ * {@code
+ * entityMapper.setMode(ProjectCreateInput.class, Project.class, MappingMode.GENERATED);
+ * }
+ * </pre>
+ *
+ * Mappers generated at compile time with {@link GenerateMapper} are loaded
+ * through {@link ServiceLoader} and always take precedence for their pair.
  */
 @Component
 @Slf4j
 public class EntityMapper {
 
+    private final ConcurrentMap<PlanKey, PropertyCopier> copierCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Map<String, Field>> fieldCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ClassPair, MappingMode> modes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ClassPair, TypeMapper<Object, Object>> typeMappers = new ConcurrentHashMap<>();
+    private volatile MappingMode defaultMode = MappingMode.REFLECTIVE;
+
+    public EntityMapper() {
+        loadTypeMappers();
+    }
+
     /**
      * Map properties from source to target object.
      * Only maps fields with matching names and compatible types.
-     * 
+     *
      * @param source Source object
      * @param target Target object
      * @param <S>    Source type
@@ -25,12 +57,12 @@ public class EntityMapper {
      * @return The target object with mapped fields
      */
     public <S, T> T map(S source, T target) {
-        return map(source, target, new HashSet<>());
+        return map(source, target, Collections.emptySet());
     }
 
     /**
      * Map properties from source to target object, excluding specified fields.
-     * 
+     *
      * @param source        Source object
      * @param target        Target object
      * @param excludeFields Fields to exclude from mapping
@@ -43,31 +75,13 @@ public class EntityMapper {
             return target;
         }
 
-        Map<String, Field> sourceFields = getAllFields(source.getClass());
-        Map<String, Field> targetFields = getAllFields(target.getClass());
-
-        for (Map.Entry<String, Field> entry : sourceFields.entrySet()) {
-            String fieldName = entry.getKey();
-
-            // Skip excluded fields
-            if (excludeFields.contains(fieldName)) {
-                continue;
-            }
-
-            Field sourceField = entry.getValue();
-            Field targetField = targetFields.get(fieldName);
-
-            if (targetField != null && isCompatible(sourceField, targetField)) {
-                copyField(source, target, sourceField, targetField);
-            }
-        }
-
+        getCopier(source.getClass(), target.getClass(), excludeFields).copy(source, target);
         return target;
     }
 
     /**
      * Create a new instance of target class and map properties from source.
-     * 
+     *
      * @param source      Source object
      * @param targetClass Target class
      * @param <S>         Source type
@@ -84,61 +98,133 @@ public class EntityMapper {
     }
 
     /**
-     * Get all fields from a class including inherited fields
+     * Set the mapping mode used for class pairs without an explicit mode.
+     * Configurable with the {@code common.mapper.default-mode} property.
      */
-    private Map<String, Field> getAllFields(Class<?> clazz) {
-        Map<String, Field> fields = new HashMap<>();
-        Class<?> current = clazz;
+    @Value("${common.mapper.default-mode:REFLECTIVE}")
+    public void setDefaultMode(MappingMode defaultMode) {
+        this.defaultMode = Objects.requireNonNull(defaultMode, "defaultMode must not be null");
+        copierCache.clear();
+    }
 
-        while (current != null && current != Object.class) {
-            for (Field field : current.getDeclaredFields()) {
-                fields.putIfAbsent(field.getName(), field);
+    public MappingMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    /**
+     * Set the mapping mode for a specific source/target class pair
+     */
+    public void setMode(Class<?> sourceClass, Class<?> targetClass, MappingMode mode) {
+        modes.put(new ClassPair(sourceClass, targetClass), Objects.requireNonNull(mode, "mode must not be null"));
+        copierCache.keySet().removeIf(key -> key.sourceClass() == sourceClass && key.targetClass() == targetClass);
+    }
+
+    /**
+     * Get the mapping mode used for a source/target class pair
+     */
+    public MappingMode getMode(Class<?> sourceClass, Class<?> targetClass) {
+        return modes.getOrDefault(new ClassPair(sourceClass, targetClass), defaultMode);
+    }
+
+    /**
+     * Register a type mapper for its source/target pair.
+     * It replaces any reflective or generated mapping for that pair.
+     */
+    @SuppressWarnings("unchecked")
+    public void registerMapper(TypeMapper<?, ?> typeMapper) {
+        Class<?> sourceClass = typeMapper.sourceType();
+        Class<?> targetClass = typeMapper.targetType();
+        typeMappers.put(new ClassPair(sourceClass, targetClass), (TypeMapper<Object, Object>) typeMapper);
+        copierCache.keySet().removeIf(key -> key.sourceClass() == sourceClass && key.targetClass() == targetClass);
+    }
+
+    /**
+     * Check whether a compile-time generated or registered mapper exists for a pair
+     */
+    public boolean hasTypeMapper(Class<?> sourceClass, Class<?> targetClass) {
+        return typeMappers.containsKey(new ClassPair(sourceClass, targetClass));
+    }
+
+    private void loadTypeMappers() {
+        try {
+            for (TypeMapper<?, ?> typeMapper : ServiceLoader.load(TypeMapper.class)) {
+                registerMapper(typeMapper);
+                log.debug("Registered generated mapper {} -> {}",
+                        typeMapper.sourceType().getSimpleName(), typeMapper.targetType().getSimpleName());
             }
-            current = current.getSuperclass();
+        } catch (ServiceConfigurationError e) {
+            log.warn("Failed to load generated mappers, using runtime mapping", e);
         }
-
-        return fields;
     }
 
     /**
-     * Check if two fields are compatible for mapping
+     * Get the cached copier for a class pair, building it on first use
      */
-    private boolean isCompatible(Field sourceField, Field targetField) {
-        // Same type is always compatible
-        if (sourceField.getType().equals(targetField.getType())) {
-            return true;
+    PropertyCopier getCopier(Class<?> sourceClass, Class<?> targetClass, Set<String> excludeFields) {
+        PropertyCopier copier = copierCache.get(new PlanKey(sourceClass, targetClass, excludeFields));
+        if (copier != null) {
+            return copier;
         }
 
-        // Check if target type is assignable from source type
-        return targetField.getType().isAssignableFrom(sourceField.getType());
+        // Copy the excluded fields so the cached key cannot be mutated by callers
+        PlanKey key = new PlanKey(sourceClass, targetClass, Set.copyOf(excludeFields));
+        copier = buildCopier(key);
+        PropertyCopier existing = copierCache.putIfAbsent(key, copier);
+        return existing != null ? existing : copier;
+    }
+
+    private PropertyCopier buildCopier(PlanKey key) {
+        TypeMapper<Object, Object> typeMapper = typeMappers.get(new ClassPair(key.sourceClass(), key.targetClass()));
+        if (typeMapper != null) {
+            Set<String> excludeFields = key.excludeFields();
+            return (source, target) -> typeMapper.map(source, target, excludeFields);
+        }
+
+        MappingPlan plan = MappingPlan.build(
+                getAllFields(key.sourceClass()), getAllFields(key.targetClass()), key.excludeFields());
+
+        if (getMode(key.sourceClass(), key.targetClass()) == MappingMode.GENERATED) {
+            PropertyCopier generated = GeneratedCopierFactory.generate(key.sourceClass(), key.targetClass(), plan);
+            if (generated != null) {
+                return generated;
+            }
+        }
+        return plan;
     }
 
     /**
-     * Copy field value from source to target
+     * Get all fields from a class including inherited fields.
+     * Fields are made accessible once and cached per class.
      */
-    private <S, T> void copyField(S source, T target, Field sourceField, Field targetField) {
-        try {
-            sourceField.setAccessible(true);
-            targetField.setAccessible(true);
+    private Map<String, Field> getAllFields(Class<?> clazz) {
+        return fieldCache.computeIfAbsent(clazz, this::resolveFields);
+    }
 
-            Object value = sourceField.get(source);
+    private Map<String, Field> resolveFields(Class<?> clazz) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        Class<?> current = clazz;
 
-            // Skip null values
-            if (value != null) {
-                targetField.set(target, value);
+        while (current != null && current != Object.class) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || fields.containsKey(field.getName())) {
+                    continue;
+                }
+                if (!field.trySetAccessible()) {
+                    log.warn("Field {} of {} is not accessible and will not be mapped",
+                            field.getName(), clazz.getSimpleName());
+                    continue;
+                }
+                fields.put(field.getName(), field);
             }
-        } catch (Exception e) {
-            log.warn("Failed to copy field: {} from {} to {}",
-                    sourceField.getName(),
-                    source.getClass().getSimpleName(),
-                    target.getClass().getSimpleName(),
-                    e);
+            current = current.getSuperclass();
         }
+
+        return Collections.unmodifiableMap(fields);
     }
 
     /**
      * Update target object with non-null values from source
-     * 
+     *
      * @param source Source object
      * @param target Target object
      * @param <T>    Object type
@@ -150,7 +236,7 @@ public class EntityMapper {
 
     /**
      * Update specific fields on target from source
-     * 
+     *
      * @param source     Source object
      * @param target     Target object
      * @param fieldNames Fields to update
@@ -167,10 +253,19 @@ public class EntityMapper {
         for (String fieldName : fieldNames) {
             Field field = fields.get(fieldName);
             if (field != null) {
-                copyField(source, target, field, field);
+                MappingPlan.copyField(source, target, field, field);
             }
         }
 
         return target;
     }
+
+    /**
+     * Cache key for copiers
+     */
+    private record PlanKey(Class<?> sourceClass, Class<?> targetClass, Set<String> excludeFields) {
+    }
+
+    private record ClassPair(Class<?> sourceClass, Class<?> targetClass) {
+    }
 }
@@ -0,0 +1,50 @@
+package com.ttl.common.core.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a reflection-free {@link TypeMapper} at compile time.
+ * Requires {@code annotationProcessor 'com.ttl.common:processor'} in the
+ * module build.
+ *
+ * On a BaseCrudCreateCommandV2/BaseCrudUpdateCommandV2/BaseCrudUpsertCommand subclass, the input
+ * and entity types are taken from the command's type arguments:
+ *
+ * <pre>
+ * {@code
+ * @Service
+ * @GenerateMapper
+ * public class ProjectCreateCommand
+ *         extends BaseCrudCreateCommandV2<Project, ProjectCreateInput, UUID> {
+ * }
+ * }
+ * </pre>
+ *
+ * On any other class, the annotated class is the source and {@link #target()}
+ * must be set:
+ *
+ * <pre>
+ * {@code
+ * @GenerateMapper(target = Project.class)
+ * public class ProjectCreateInput {
+ * }
+ * }
+ * </pre>
+ *
+ * The generated mapper is registered through {@code META-INF/services} and
+ * used by {@link EntityMapper} for that class pair automatically.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMapper {
+
+    /**
+     * Target class of the mapping. Not needed on CRUD commands.
+     */
+    Class<?> target() default Void.class;
+}
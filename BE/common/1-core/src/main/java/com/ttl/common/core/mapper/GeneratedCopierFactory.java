@@ -0,0 +1,211 @@
+package com.ttl.common.core.mapper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Spins a hidden class per mapping plan that copies fields through direct
+ * getter/setter calls instead of reflective {@link Field} access.
+ *
+ * The generated code is equivalent to:
+ *
+ * <pre>
+ * {@code
+ * public void copy(Object source, Object target) {
+ *     ProjectCreateInput s = (ProjectCreateInput) source;
+ *     Project t = (Project) target;
+ *     String name = s.getName();
+ *     if (name != null) {
+ *         t.setName(name);
+ *     }
+ *     // ... one block per planned field
+ * }
+ * }
+ * </pre>
+ */
+@Slf4j
+final class GeneratedCopierFactory {
+
+    private static final String COPIER_NAME = Type.getInternalName(GeneratedCopierFactory.class) + "$Copier";
+    private static final String OBJECT_NAME = Type.getInternalName(Object.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private GeneratedCopierFactory() {
+    }
+
+    /**
+     * Generate a copier for the plan.
+     *
+     * @return the generated copier, or null when the pair cannot be generated
+     *         (non-public classes, missing accessors, foreign class loader)
+     */
+    static PropertyCopier generate(Class<?> sourceClass, Class<?> targetClass, MappingPlan plan) {
+        if (!isLinkable(sourceClass) || !isLinkable(targetClass)) {
+            log.debug("Cannot generate mapper for {} -> {}: classes are not accessible",
+                    sourceClass.getName(), targetClass.getName());
+            return null;
+        }
+
+        Field[] sourceFields = plan.getSourceFields();
+        Field[] targetFields = plan.getTargetFields();
+        Method[] getters = new Method[sourceFields.length];
+        Method[] setters = new Method[targetFields.length];
+
+        for (int i = 0; i < sourceFields.length; i++) {
+            getters[i] = findGetter(sourceClass, sourceFields[i]);
+            setters[i] = findSetter(targetClass, targetFields[i]);
+            if (getters[i] == null || setters[i] == null) {
+                log.debug("Cannot generate mapper for {} -> {}: no public accessors for field {}",
+                        sourceClass.getName(), targetClass.getName(), sourceFields[i].getName());
+                return null;
+            }
+        }
+
+        try {
+            byte[] bytecode = generateBytecode(sourceClass, targetClass, getters, setters);
+            MethodHandles.Lookup hiddenLookup = LOOKUP.defineHiddenClass(bytecode, true);
+            return (PropertyCopier) hiddenLookup
+                    .findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            log.warn("Failed to generate mapper for {} -> {}, using reflective mapping",
+                    sourceClass.getName(), targetClass.getName(), e);
+            return null;
+        }
+    }
+
+    private static byte[] generateBytecode(Class<?> sourceClass, Class<?> targetClass,
+                                           Method[] getters, Method[] setters) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // Frames never merge different types of the same local, so avoid class loading here
+                return OBJECT_NAME;
+            }
+        };
+        cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+                COPIER_NAME, null, OBJECT_NAME,
+                new String[] { Type.getInternalName(PropertyCopier.class) });
+
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT_NAME, "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        String sourceName = Type.getInternalName(sourceClass);
+        String targetName = Type.getInternalName(targetClass);
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "copy",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.getType(Object.class)),
+                null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, sourceName);
+        mv.visitVarInsn(Opcodes.ASTORE, 3);
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, targetName);
+        mv.visitVarInsn(Opcodes.ASTORE, 4);
+
+        for (int i = 0; i < getters.length; i++) {
+            Method getter = getters[i];
+            Method setter = setters[i];
+
+            mv.visitVarInsn(Opcodes.ALOAD, 4);
+            mv.visitVarInsn(Opcodes.ALOAD, 3);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, sourceName, getter.getName(),
+                    Type.getMethodDescriptor(getter), false);
+
+            if (getter.getReturnType().isPrimitive()) {
+                // Primitives are never null, always copy
+                invokeSetter(mv, targetName, setter);
+                continue;
+            }
+
+            // Skip null values
+            Label skip = new Label();
+            Label end = new Label();
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitJumpInsn(Opcodes.IFNULL, skip);
+            invokeSetter(mv, targetName, setter);
+            mv.visitJumpInsn(Opcodes.GOTO, end);
+            mv.visitLabel(skip);
+            mv.visitInsn(Opcodes.POP);
+            mv.visitInsn(Opcodes.POP);
+            mv.visitLabel(end);
+        }
+
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void invokeSetter(MethodVisitor mv, String targetName, Method setter) {
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, targetName, setter.getName(),
+                Type.getMethodDescriptor(setter), false);
+
+        // Fluent setters return a value that must be discarded
+        Class<?> returnType = setter.getReturnType();
+        if (returnType == long.class || returnType == double.class) {
+            mv.visitInsn(Opcodes.POP2);
+        } else if (returnType != void.class) {
+            mv.visitInsn(Opcodes.POP);
+        }
+    }
+
+    /**
+     * The hidden class is defined in this class's loader, so mapped classes
+     * must be public and resolve to the same class from that loader.
+     */
+    private static boolean isLinkable(Class<?> clazz) {
+        if (!Modifier.isPublic(clazz.getModifiers()) || clazz.isHidden()) {
+            return false;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, GeneratedCopierFactory.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Method findGetter(Class<?> clazz, Field field) {
+        String suffix = capitalize(field.getName());
+        Method getter = findMethod(clazz, "get" + suffix);
+        if (getter == null && field.getType() == boolean.class) {
+            getter = findMethod(clazz, "is" + suffix);
+        }
+        return getter != null && getter.getReturnType() == field.getType() ? getter : null;
+    }
+
+    private static Method findSetter(Class<?> clazz, Field field) {
+        return findMethod(clazz, "set" + capitalize(field.getName()), field.getType());
+    }
+
+    private static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = clazz.getMethod(name, parameterTypes);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
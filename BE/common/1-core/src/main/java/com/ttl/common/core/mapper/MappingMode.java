@@ -0,0 +1,21 @@
+package com.ttl.common.core.mapper;
+
+/**
+ * Strategy used by {@link EntityMapper} to copy fields for a class pair.
+ */
+public enum MappingMode {
+
+    /**
+     * Copy fields through cached, accessible {@link java.lang.reflect.Field}s.
+     * Works for every class pair and is the fallback for GENERATED.
+     */
+    REFLECTIVE,
+
+    /**
+     * Copy fields through a hidden class generated at first use that calls
+     * the public getters and setters directly, so the JIT can inline the
+     * mapping like hand-written code.
+     * Falls back to REFLECTIVE when a mapped field has no public accessor.
+     */
+    GENERATED
+}
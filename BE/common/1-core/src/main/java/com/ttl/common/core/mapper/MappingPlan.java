@@ -0,0 +1,111 @@
+package com.ttl.common.core.mapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, pre-resolved mapping between a source class and a target class.
+ * Built once per (source class, target class, excluded fields) by
+ * {@link EntityMapper} and reused for every subsequent mapping of that pair.
+ *
+ * The plan holds the ordered list of accessible source/target field pairs,
+ * so applying it is a tight loop without any reflection lookups.
+ */
+@Slf4j
+final class MappingPlan implements PropertyCopier {
+
+    private final Field[] sourceFields;
+    private final Field[] targetFields;
+
+    private MappingPlan(Field[] sourceFields, Field[] targetFields) {
+        this.sourceFields = sourceFields;
+        this.targetFields = targetFields;
+    }
+
+    /**
+     * Resolve the plan for the given field maps.
+     * Only fields with matching names and compatible types are kept.
+     */
+    static MappingPlan build(Map<String, Field> sourceFieldMap,
+                             Map<String, Field> targetFieldMap,
+                             Set<String> excludeFields) {
+        List<Field> sources = new ArrayList<>();
+        List<Field> targets = new ArrayList<>();
+
+        for (Map.Entry<String, Field> entry : sourceFieldMap.entrySet()) {
+            String fieldName = entry.getKey();
+
+            // Skip excluded fields
+            if (excludeFields.contains(fieldName)) {
+                continue;
+            }
+
+            Field sourceField = entry.getValue();
+            Field targetField = targetFieldMap.get(fieldName);
+
+            if (targetField != null && isCompatible(sourceField, targetField)) {
+                sources.add(sourceField);
+                targets.add(targetField);
+            }
+        }
+
+        return new MappingPlan(sources.toArray(new Field[0]), targets.toArray(new Field[0]));
+    }
+
+    /**
+     * Check if two fields are compatible for mapping
+     */
+    static boolean isCompatible(Field sourceField, Field targetField) {
+        // Same type is always compatible
+        if (sourceField.getType().equals(targetField.getType())) {
+            return true;
+        }
+
+        // Check if target type is assignable from source type
+        return targetField.getType().isAssignableFrom(sourceField.getType());
+    }
+
+    /**
+     * Copy every planned field from source to target, skipping null values
+     */
+    @Override
+    public void copy(Object source, Object target) {
+        for (int i = 0; i < sourceFields.length; i++) {
+            copyField(source, target, sourceFields[i], targetFields[i]);
+        }
+    }
+
+    /**
+     * Copy field value from source to target.
+     * Both fields are already accessible.
+     */
+    static void copyField(Object source, Object target, Field sourceField, Field targetField) {
+        try {
+            Object value = sourceField.get(source);
+
+            // Skip null values
+            if (value != null) {
+                targetField.set(target, value);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to copy field: {} from {} to {}",
+                    sourceField.getName(),
+                    source.getClass().getSimpleName(),
+                    target.getClass().getSimpleName(),
+                    e);
+        }
+    }
+
+    Field[] getSourceFields() {
+        return sourceFields;
+    }
+
+    Field[] getTargetFields() {
+        return targetFields;
+    }
+}
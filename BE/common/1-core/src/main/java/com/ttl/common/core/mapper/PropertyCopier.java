@@ -0,0 +1,14 @@
+package com.ttl.common.core.mapper;
+
+/**
+ * Copies the mapped properties of a source object onto a target object.
+ * Implementations are bound to one (source class, target class, excluded
+ * fields) combination and are cached by {@link EntityMapper}.
+ */
+interface PropertyCopier {
+
+    /**
+     * Copy non-null values from source to target
+     */
+    void copy(Object source, Object target);
+}
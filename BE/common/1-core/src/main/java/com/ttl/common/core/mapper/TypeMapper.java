@@ -0,0 +1,25 @@
+package com.ttl.common.core.mapper;
+
+import java.util.Set;
+
+/**
+ * Type-safe mapper between a source and a target class.
+ * Implementations are usually generated at compile time by
+ * {@link GenerateMapper} and follow the {@link EntityMapper} rules:
+ * only fields with matching names and compatible types are copied,
+ * null values and excluded fields are skipped.
+ *
+ * @param <S> Source type
+ * @param <T> Target type
+ */
+public interface TypeMapper<S, T> {
+
+    Class<S> sourceType();
+
+    Class<T> targetType();
+
+    /**
+     * Copy non-null, non-excluded fields from source to target
+     */
+    void map(S source, T target, Set<String> excludeFields);
+}
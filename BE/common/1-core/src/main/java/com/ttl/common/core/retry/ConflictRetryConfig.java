@@ -0,0 +1,68 @@
+package com.ttl.common.core.retry;
+
+import com.ttl.common.core.command.crud.BaseCrudUpdateCommand;
+import com.ttl.common.core.command.crud.BaseCrudUpdateCommandV2;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Optimistic locking conflict retry for the update commands,
+ * disabled with common.conflict-retry.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "common.conflict-retry.enabled", havingValue = "true", matchIfMissing = true)
+public class ConflictRetryConfig {
+
+    /**
+     * Runs before the transaction advice (LOWEST_PRECEDENCE), so it wraps the transaction
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private static final Set<String> RETRIED_METHODS = Set.of("execute", "executeForResult", "executeBatch");
+
+    /**
+     * Infrastructure role, so the proxy creator of @EnableTransactionManagement applies it without AspectJ
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor conflictRetryAdvisor(
+            @Value("${common.conflict-retry.max-attempts:3}") int maxAttempts,
+            @Value("${common.conflict-retry.initial-backoff:10ms}") Duration initialBackoff,
+            @Value("${common.conflict-retry.max-backoff:200ms}") Duration maxBackoff,
+            @Value("${common.conflict-retry.multiplier:2}") double multiplier,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ConflictRetryPolicy policy = new ConflictRetryPolicy(maxAttempts, initialBackoff, maxBackoff, multiplier);
+        // The registry is looked up on the first conflict, advisors are created before it
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new UpdateCommandPointcut(),
+                new ConflictRetryInterceptor(policy, meterRegistry::getIfAvailable));
+        advisor.setOrder(ORDER);
+        return advisor;
+    }
+
+    /**
+     * Execute methods of the BaseCrudUpdateCommand and BaseCrudUpdateCommandV2 subclasses
+     */
+    static class UpdateCommandPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return RETRIED_METHODS.contains(method.getName())
+                    && (BaseCrudUpdateCommand.class.isAssignableFrom(targetClass)
+                    || BaseCrudUpdateCommandV2.class.isAssignableFrom(targetClass));
+        }
+    }
+}
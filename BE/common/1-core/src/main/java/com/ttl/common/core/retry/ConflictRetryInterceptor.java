@@ -0,0 +1,98 @@
+package com.ttl.common.core.retry;
+
+import com.ttl.common.core.command.crud.StaleVersionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a command execution that failed on an optimistic locking conflict.
+ *
+ * Advises the command proxy outside the transaction advice, so every attempt
+ * runs in a new transaction and loads a fresh entity before mapping the input
+ * again. When the caller already holds a transaction, the conflict is left to
+ * the caller: that transaction is rolled back anyway.
+ *
+ * A {@link StaleVersionException} is not retried, the version came from the
+ * caller and a fresh read cannot match it.
+ *
+ * Metrics: command.conflicts, tagged with the command class and the outcome
+ * - retried: a conflict followed by another attempt
+ * - resolved: an attempt succeeded after at least one conflict
+ * - exhausted: the last attempt conflicted too
+ * - stale: the caller's version was outdated
+ */
+@Slf4j
+public class ConflictRetryInterceptor implements MethodInterceptor {
+
+    public static final String CONFLICTS = "command.conflicts";
+
+    private final ConflictRetryPolicy policy;
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    /**
+     * @param meterRegistry supplies the registry for the conflict counter, null when there is none
+     */
+    public ConflictRetryInterceptor(ConflictRetryPolicy policy, Supplier<MeterRegistry> meterRegistry) {
+        this.policy = policy;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Every attempt runs the remaining advice chain, including the transaction
+                Object result = ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+                if (attempt > 1) {
+                    count(invocation, "resolved");
+                }
+                return result;
+            } catch (StaleVersionException e) {
+                count(invocation, "stale");
+                throw e;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= policy.getMaxAttempts()) {
+                    count(invocation, "exhausted");
+                    throw e;
+                }
+                count(invocation, "retried");
+                Duration backoff = policy.backoff(attempt);
+                if (log.isDebugEnabled()) {
+                    log.debug("Conflict in {} (attempt {}), retrying in {}", commandName(invocation), attempt, backoff);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoff.toNanos());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void count(MethodInvocation invocation, String outcome) {
+        MeterRegistry registry = meterRegistry.get();
+        if (registry != null) {
+            registry.counter(CONFLICTS, "command", commandName(invocation), "outcome", outcome).increment();
+        }
+    }
+
+    private static String commandName(MethodInvocation invocation) {
+        return AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ttl.common.core.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how fast a command is re-run after an optimistic locking conflict.
+ *
+ * The delay before retry n grows from initialBackoff by multiplier up to
+ * maxBackoff, and is jittered to a random value between half and all of it,
+ * so writers that collided once do not collide again on the same beat.
+ */
+public final class ConflictRetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+
+    /**
+     * @param maxAttempts total executions, including the first one
+     */
+    public ConflictRetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, got " + maxAttempts);
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= initialBackoff <= maxBackoff, got "
+                    + initialBackoff + " and " + maxBackoff);
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be at least 1, got " + multiplier);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.multiplier = multiplier;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Jittered delay before the given retry, the first retry being 1
+     */
+    public Duration backoff(int retry) {
+        double nanos = initialBackoff.toNanos() * Math.pow(multiplier, retry - 1);
+        long capped = (long) Math.min(nanos, maxBackoff.toNanos());
+        if (capped <= 1) {
+            return Duration.ofNanos(capped);
+        }
+        long half = capped / 2;
+        return Duration.ofNanos(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ttl.common.core.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for BaseQueryCommand and QueryCache eviction
+ */
+class BaseQueryCommandTest {
+
+    @Test
+    void execute_shouldServeRepeatedQueriesFromCache() {
+        // Given
+        LookupQuery query = new LookupQuery();
+
+        // When
+        String first = query.execute("a");
+        String second = query.execute("a");
+        query.execute("b");
+
+        // Then
+        assertThat(first).isEqualTo("a-1");
+        assertThat(second).isEqualTo("a-1");
+        assertThat(query.loads.get()).isEqualTo(2);
+        assertThat(query.getCache().size()).isEqualTo(2);
+    }
+
+    @Test
+    void evict_shouldClearCachesOfTheEntityClass() {
+        // Given
+        LookupQuery query = new LookupQuery();
+        query.execute("a");
+
+        // When
+        QueryCache.evictAfterCommit(LookupEntity.class);
+        String reloaded = query.execute("a");
+
+        // Then
+        assertThat(reloaded).isEqualTo("a-2");
+    }
+
+    @Test
+    void execute_shouldNotCacheWithZeroTtl() {
+        // Given
+        LookupQuery query = new LookupQuery();
+        query.setCacheTtl(Duration.ZERO);
+
+        // When
+        query.execute("a");
+        String second = query.execute("a");
+
+        // Then
+        assertThat(second).isEqualTo("a-2");
+    }
+
+    @Test
+    void put_shouldDropValuesLoadedBeforeAnEviction() {
+        // Given
+        QueryCache<String> cache = new QueryCache<>(LookupEntity.class, 10, BaseQueryCommand.DEFAULT_TTL);
+        long generation = cache.generation();
+
+        // When
+        QueryCache.evict(LookupEntity.class);
+        cache.put("a", "stale", generation);
+
+        // Then
+        assertThat(cache.get("a")).isNull();
+    }
+
+    private static class LookupEntity {
+    }
+
+    private static class LookupQuery extends BaseQueryCommand<String, String> {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        LookupQuery() {
+            super(LookupEntity.class);
+        }
+
+        @Override
+        protected String query(CommandHolder<String> holder) {
+            return holder.getInput() + "-" + loads.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ttl.common.core.command;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolations;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for BatchConstraint and its integration in BaseCommand
+ */
+class BatchConstraintTest {
+
+    private final List<Collection<String>> queries = new ArrayList<>();
+    private final List<Thread> queryThreads = new ArrayList<>();
+
+    private final BatchConstraint<String, String> unique = BatchConstraint.unique("name",
+            name -> name,
+            names -> {
+                queries.add(List.copyOf(names));
+                queryThreads.add(Thread.currentThread());
+                return names.stream().filter(Set.of("taken", "already-taken")::contains).toList();
+            },
+            "error.name.exists",
+            "Name already exists");
+
+    @Test
+    void validate_shouldQueryOnceForWholeBatch() {
+        // When
+        List<ConstraintViolations> results = unique.validate(List.of("a", "taken", "b", "a"));
+
+        // Then
+        assertThat(queries).containsExactly(List.of("a", "taken", "b"));
+        assertThat(results).extracting(ConstraintViolations::isValid)
+                .containsExactly(true, false, true, false);
+        assertThat(results.get(1).get(0).message()).isEqualTo("Name already exists");
+    }
+
+    @Test
+    void execute_shouldMergeBatchViolationsIntoValidationException() {
+        // Given
+        NameCommand command = new NameCommand();
+
+        // When / Then
+        assertThatThrownBy(() -> command.execute("taken"))
+                .isInstanceOf(ValidationException.class)
+                .satisfies(e -> assertThat(((ValidationException) e).getViolations())
+                        .extracting(v -> v.messageKey())
+                        .containsExactly("error.name.exists"));
+        assertThat(command.executed).isFalse();
+        assertThat(queryThreads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void execute_shouldMergeStaticAndBatchViolations() {
+        // Given
+        NameCommand command = new NameCommand();
+
+        // When / Then
+        assertThatThrownBy(() -> command.execute("already-taken"))
+                .isInstanceOf(ValidationException.class)
+                .satisfies(e -> assertThat(((ValidationException) e).getViolations()).hasSize(2));
+        assertThat(command.execute("ok")).isEqualTo("ok");
+    }
+
+    /**
+     * Command with a static rule and a batch constraint on the name
+     */
+    private class NameCommand extends BaseCommand<String, String> {
+
+        private boolean executed;
+
+        @Override
+        protected ValidatorBuilder<String> getStaticValidatorBuilder() {
+            return ValidatorBuilder.<String>of()
+                    .constraintOnTarget(name -> name.length() <= 10, "name", "name.length",
+                            "Name must not exceed 10 characters");
+        }
+
+        @Override
+        protected List<BatchConstraint<String, ?>> getBatchConstraints() {
+            return List.of(unique);
+        }
+
+        @Override
+        protected String onExecute(CommandHolder<String> holder) {
+            executed = true;
+            return holder.getInput();
+        }
+    }
+}
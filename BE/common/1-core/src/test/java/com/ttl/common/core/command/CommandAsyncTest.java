@@ -0,0 +1,77 @@
+package com.ttl.common.core.command;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for BaseCommand.executeAsync
+ */
+class CommandAsyncTest {
+
+    @Test
+    void executeAsync_shouldPropagateContextCopyAndMdc() {
+        // Given
+        ContextCommand command = new ContextCommand();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        command.setAsyncExecutor(executor);
+
+        Context context = new Context();
+        context.setUserId("user-1");
+        context.setTenantId("tenant-1");
+        context.setAttribute("source", "graphql");
+        MDC.put("requestId", "req-1");
+
+        try {
+            // When
+            String result = command.executeAsync(new CommandHolder<>("input", context)).join();
+
+            // Then
+            assertThat(result).isEqualTo("user-1/tenant-1/graphql/req-1");
+            assertThat(command.thread).isNotSameAs(Thread.currentThread());
+            // The async execution works on its own copy of the context
+            assertThat(context.<String>getAttribute("written")).isNull();
+        } finally {
+            MDC.clear();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void executeAsync_shouldCompleteExceptionallyOnValidationFailure() {
+        // Given
+        ContextCommand command = new ContextCommand();
+
+        // When / Then
+        assertThatThrownBy(() -> command.executeAsync("").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ValidationException.class);
+    }
+
+    private static class ContextCommand extends BaseCommand<String, String> {
+
+        private volatile Thread thread;
+
+        @Override
+        protected void validate(CommandHolder<String> holder) {
+            if (holder.getInput().isEmpty()) {
+                throw new ValidationException("Input is required", null);
+            }
+        }
+
+        @Override
+        protected String onExecute(CommandHolder<String> holder) {
+            thread = Thread.currentThread();
+            Context context = holder.getContext();
+            context.setAttribute("written", true);
+            return context.getUserId() + "/" + context.getTenantId() + "/"
+                    + context.getAttribute("source") + "/" + MDC.get("requestId");
+        }
+    }
+}
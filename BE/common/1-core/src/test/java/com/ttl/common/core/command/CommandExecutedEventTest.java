@@ -0,0 +1,53 @@
+package com.ttl.common.core.command;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the CommandExecuted JFR event
+ */
+class CommandExecutedEventTest {
+
+    @Test
+    void execute_shouldCommitEventWithPhasesAndRows() throws Exception {
+        // Given
+        SaveCommand command = new SaveCommand();
+        Path file = Files.createTempFile("command-executed-", ".jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable("com.ttl.common.CommandExecuted");
+            recording.start();
+            command.execute("row");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("commandClass")).isEqualTo(SaveCommand.class.getName());
+        assertThat(event.getBoolean("success")).isTrue();
+        assertThat(event.getLong("rowsTouched")).isEqualTo(1);
+        assertThat(event.getLong("onExecuteDuration")).isPositive();
+    }
+
+    private static class SaveCommand extends BaseCommand<String, String> {
+
+        @Override
+        protected String onExecute(CommandHolder<String> holder) {
+            addRowsTouched(holder, 1);
+            return holder.getInput();
+        }
+    }
+}
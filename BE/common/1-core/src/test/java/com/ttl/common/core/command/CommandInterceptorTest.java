@@ -0,0 +1,74 @@
+package com.ttl.common.core.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the CommandInterceptor chain of BaseCommand
+ */
+class CommandInterceptorTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void execute_shouldRunInterceptorsInOrderAroundLifecycle() {
+        // Given
+        EchoCommand command = new EchoCommand();
+        command.setInterceptors(List.of(new Recording("first"), new Recording("second")));
+
+        // When
+        String result = command.execute("input");
+
+        // Then
+        assertThat(result).isEqualTo("input");
+        assertThat(calls).containsExactly("first:before", "second:before", "execute", "second:after", "first:after");
+    }
+
+    @Test
+    void execute_shouldSkipUnsupportedInterceptors() {
+        // Given
+        EchoCommand command = new EchoCommand();
+        command.setInterceptors(List.of(new Recording("first") {
+            @Override
+            public boolean supports(Class<?> commandClass) {
+                return false;
+            }
+        }));
+
+        // When
+        command.execute("input");
+
+        // Then
+        assertThat(calls).containsExactly("execute");
+    }
+
+    private class Recording implements CommandInterceptor {
+
+        private final String name;
+
+        private Recording(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public <In, Out> Out intercept(Command<In, Out> command, CommandHolder<In> holder, CommandChain<In, Out> chain) {
+            calls.add(name + ":before");
+            Out output = chain.proceed(holder);
+            calls.add(name + ":after");
+            return output;
+        }
+    }
+
+    private class EchoCommand extends BaseCommand<String, String> {
+
+        @Override
+        protected String onExecute(CommandHolder<String> holder) {
+            calls.add("execute");
+            return holder.getInput();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ttl.common.core.command;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for the per-phase timers of BaseCommand
+ */
+class CommandMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_shouldTimeEachPhaseWithOutcome() {
+        // Given
+        EchoCommand command = new EchoCommand();
+        command.setMeterRegistry(registry);
+
+        // When
+        command.execute("ok");
+        assertThatThrownBy(() -> command.execute("fail")).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(phaseCount("validate", "success")).isEqualTo(2);
+        assertThat(phaseCount("onExecute", "success")).isEqualTo(1);
+        assertThat(phaseCount("onExecute", "error")).isEqualTo(1);
+        assertThat(phaseCount("onSuccess", "success")).isEqualTo(1);
+        assertThat(phaseCount("onError", "success")).isEqualTo(1);
+        assertThat(registry.get(CommandMetrics.EXECUTION_TIMER)
+                .tag("command", "EchoCommand").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldNotRecordWithoutRegistry() {
+        // Given
+        EchoCommand command = new EchoCommand();
+
+        // When
+        command.execute("ok");
+
+        // Then
+        assertThat(command.getMetrics().isEnabled()).isFalse();
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    private long phaseCount(String phase, String outcome) {
+        return registry.get(CommandMetrics.PHASE_TIMER)
+                .tag("command", "EchoCommand")
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private static class EchoCommand extends BaseCommand<String, String> {
+
+        @Override
+        protected String onExecute(CommandHolder<String> holder) {
+            if ("fail".equals(holder.getInput())) {
+                throw new IllegalStateException("fail");
+            }
+            return holder.getInput();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ttl.common.core.command;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for CommandResult and BaseCommand.executeForResult
+ */
+class CommandResultTest {
+
+    private final LookupCommand command = new LookupCommand(Map.of("a", "Alpha"));
+
+    @Test
+    void executeForResult_shouldReturnOutputOnSuccess() {
+        // When
+        CommandResult<String> result = command.executeForResult("a");
+
+        // Then
+        assertThat(result).isEqualTo(CommandResult.success("Alpha"));
+        assertThat(command.phases).containsExactly("onExecute", "onSuccess");
+    }
+
+    @Test
+    void executeForResult_shouldReturnViolationsWithoutRunningCommand() {
+        // When
+        CommandResult<String> result = command.executeForResult("");
+
+        // Then
+        assertThat(result).isInstanceOf(CommandResult.Invalid.class);
+        assertThat(((CommandResult.Invalid<String>) result).violations())
+                .extracting(v -> v.name())
+                .containsExactly("key");
+        assertThat(command.phases).isEmpty();
+    }
+
+    @Test
+    void executeForResult_shouldReturnNotFoundWithoutCallingOnError() {
+        // When
+        CommandResult<String> result = command.executeForResult("missing");
+
+        // Then
+        assertThat(result).isEqualTo(CommandResult.notFound("Entry", "missing"));
+        assertThat(command.phases).containsExactly("onExecute");
+    }
+
+    @Test
+    void execute_shouldStillThrowExpectedFailures() {
+        // When / Then
+        assertThatThrownBy(() -> command.execute(""))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> command.execute("missing"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Entry not found: missing");
+        assertThat(command.phases).containsExactly("onError", "onExecute", "onError");
+    }
+
+    @Test
+    void getOrThrow_shouldThrowWhatExecuteWouldThrow() {
+        // When / Then
+        assertThatThrownBy(() -> command.executeForResult("").getOrThrow())
+                .isInstanceOf(ValidationException.class);
+        assertThat(command.executeForResult("a").getOrThrow()).isEqualTo("Alpha");
+    }
+
+    private static class LookupCommand extends BaseCommand<String, String> {
+
+        private final Map<String, String> entries;
+        private final List<String> phases = new ArrayList<>();
+
+        LookupCommand(Map<String, String> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        protected ValidatorBuilder<String> getStaticValidatorBuilder() {
+            return ValidatorBuilder.<String>of()
+                    ._string(key -> key, "key", c -> c.notBlank());
+        }
+
+        @Override
+        protected String onExecute(CommandHolder<String> holder) {
+            phases.add("onExecute");
+            String entry = entries.get(holder.getInput());
+            if (entry == null) {
+                holder.fail(CommandResult.notFound("Entry", holder.getInput()),
+                        () -> new RuntimeException("Entry not found: " + holder.getInput()));
+            }
+            return entry;
+        }
+
+        @Override
+        protected String onSuccess(CommandHolder<String> holder, String output) {
+            phases.add("onSuccess");
+            return output;
+        }
+
+        @Override
+        protected RuntimeException onError(CommandHolder<String> holder, Exception ex) {
+            phases.add("onError");
+            return super.onError(holder, ex);
+        }
+    }
+}
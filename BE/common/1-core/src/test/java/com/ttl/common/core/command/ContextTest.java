@@ -0,0 +1,60 @@
+package com.ttl.common.core.command;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for Context and the lazy context of CommandHolder
+ */
+class ContextTest {
+
+    private static final ContextKey<Integer> ATTEMPT = ContextKey.of("attempt");
+
+    @Test
+    void execute_shouldNotCreateContextWhenCommandDoesNotUseIt() {
+        // Given
+        CommandHolder<String> holder = new CommandHolder<>("input");
+        BaseCommand<String, String> command = new BaseCommand<>() {
+            @Override
+            protected String onExecute(CommandHolder<String> holder) {
+                return holder.getInput();
+            }
+        };
+
+        // When
+        String result = command.execute(holder);
+
+        // Then
+        assertThat(result).isEqualTo("input");
+        assertThat(holder.peekContext()).isNull();
+        assertThat(holder.getContext()).isNotNull();
+        assertThat(holder.peekContext()).isSameAs(holder.getContext());
+    }
+
+    @Test
+    void typedKey_shouldShareStorageWithStringAttributes() {
+        // Given
+        Context context = new Context();
+
+        // When
+        context.set(ATTEMPT, 2);
+
+        // Then
+        assertThat(context.get(ATTEMPT)).isEqualTo(2);
+        assertThat(context.<Integer>getAttribute("attempt")).isEqualTo(2);
+        assertThat(context.copy().get(ATTEMPT)).isEqualTo(2);
+        assertThat(context.remove(ATTEMPT)).isEqualTo(2);
+        assertThat(context.get(ATTEMPT)).isNull();
+    }
+
+    @Test
+    void copy_shouldNotRequireAttributes() {
+        // When
+        Context copy = new Context().copy();
+
+        // Then
+        assertThat(copy.get(ATTEMPT)).isNull();
+        assertThat(copy.getAttributes()).isEmpty();
+    }
+}
@@ -0,0 +1,194 @@
+package com.ttl.common.core.command.crud;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchResult;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.crud.CrudFixture.Item;
+import com.ttl.common.core.command.crud.CrudFixture.ItemInput;
+import com.ttl.common.core.mapper.EntityMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for executeBatch of the CRUD commands
+ */
+class CrudBatchTest {
+
+    private final Map<UUID, Item> store = new LinkedHashMap<>();
+    private final List<Integer> saveAllSizes = new ArrayList<>();
+    private final JpaRepository<Item, UUID> repository = inMemoryRepository();
+
+    @Test
+    void createBatch_shouldSkipInvalidItemsAndSaveInChunks() {
+        // Given
+        ItemCreateCommand command = new ItemCreateCommand(repository);
+        List<ItemInput> inputs = List.of(new ItemInput(null, "a"), new ItemInput(null, ""),
+                new ItemInput(null, "b"), new ItemInput(null, "c"));
+
+        // When
+        BatchResult<UUID> result = command.executeBatch(inputs);
+
+        // Then
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getFailures()).extracting(BatchResult.Item::index).containsExactly(1);
+        assertThat(result.getOutputs()).hasSize(3).doesNotContainNull();
+        assertThat(saveAllSizes).containsExactly(2, 1);
+        assertThat(store.values()).extracting(Item::getName).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void updateBatch_shouldReportMissingEntities() {
+        // Given
+        UUID existingId = UUID.randomUUID();
+        store.put(existingId, new Item(existingId, "old"));
+        ItemUpdateCommand command = new ItemUpdateCommand(repository);
+        UUID missingId = UUID.randomUUID();
+
+        // When
+        BatchResult<Item> result = command.executeBatch(
+                List.of(new ItemInput(missingId, "x"), new ItemInput(existingId, "new")));
+
+        // Then
+        assertThat(result.getFailures()).singleElement()
+                .satisfies(item -> assertThat(item.violations().get(0).messageKey()).isEqualTo("error.entity.notFound"));
+        assertThat(store.get(existingId).getName()).isEqualTo("new");
+        assertThat(result.getItems().get(1).output().getName()).isEqualTo("new");
+    }
+
+    @Test
+    void createBatch_shouldOnlyDetachItsEntitiesInCallerTransaction() {
+        // Given
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.contains(any())).thenReturn(true);
+        ItemCreateCommand command = transactional(new ItemCreateCommand(repository), entityManager, false);
+
+        // When
+        command.executeBatch(List.of(new ItemInput(null, "a"), new ItemInput(null, "b"), new ItemInput(null, "c")));
+
+        // Then
+        for (Item item : store.values()) {
+            verify(entityManager).detach(item);
+        }
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void createBatch_shouldClearContextWhenItStartsTheTransaction() {
+        // Given
+        EntityManager entityManager = mock(EntityManager.class);
+        ItemCreateCommand command = transactional(new ItemCreateCommand(repository), entityManager, true);
+
+        // When
+        command.executeBatch(List.of(new ItemInput(null, "a")));
+
+        // Then
+        verify(entityManager).clear();
+        verify(entityManager, never()).detach(any());
+    }
+
+    /**
+     * Proxy the command with a transaction advice whose transaction is new or joined
+     */
+    private ItemCreateCommand transactional(ItemCreateCommand command, EntityManager entityManager,
+                                            boolean newTransaction) {
+        CrudFixture.withEntityManager(command, entityManager);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus(newTransaction));
+        TransactionInterceptor transactionInterceptor = new TransactionInterceptor();
+        transactionInterceptor.setTransactionManager(transactionManager);
+        transactionInterceptor.setTransactionAttributeSource(new AnnotationTransactionAttributeSource());
+        ProxyFactory factory = new ProxyFactory(command);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(transactionInterceptor);
+        return (ItemCreateCommand) factory.getProxy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private JpaRepository<Item, UUID> inMemoryRepository() {
+        return (JpaRepository<Item, UUID>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { JpaRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> {
+                        List<Item> saved = new ArrayList<>();
+                        for (Item item : (Iterable<Item>) args[0]) {
+                            if (item.getId() == null) {
+                                item.setId(UUID.randomUUID());
+                            }
+                            store.put(item.getId(), item);
+                            saved.add(item);
+                        }
+                        saveAllSizes.add(saved.size());
+                        yield saved;
+                    }
+                    case "findAllById" -> {
+                        List<Item> found = new ArrayList<>();
+                        for (UUID id : (Iterable<UUID>) args[0]) {
+                            if (store.containsKey(id)) {
+                                found.add(store.get(id));
+                            }
+                        }
+                        yield found;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static class ItemCreateCommand extends BaseCrudCreateCommandV2<Item, ItemInput, UUID> {
+
+        ItemCreateCommand(JpaRepository<Item, UUID> repository) {
+            super(repository, new EntityMapper());
+        }
+
+        @Override
+        protected ValidatorBuilder<ItemInput> getStaticValidatorBuilder() {
+            return ValidatorBuilder.<ItemInput>of()
+                    .constraint(ItemInput::getName, "name", c -> c.notBlank());
+        }
+
+        @Override
+        protected int getBatchSize() {
+            return 2;
+        }
+
+        @Override
+        protected Item beforeSave(Item entity, ItemInput input, CommandHolder<ItemInput> holder) {
+            entity.setName(entity.getName().toUpperCase());
+            return entity;
+        }
+    }
+
+    private static class ItemUpdateCommand extends BaseCrudUpdateCommandV2<Item, ItemInput, UUID> {
+
+        ItemUpdateCommand(JpaRepository<Item, UUID> repository) {
+            super(repository, new EntityMapper());
+        }
+
+        @Override
+        protected UUID extractId(ItemInput input) {
+            return input.getId();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ttl.common.core.command.crud;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.Query;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Entities, input and EntityManager mock shared by the CRUD command tests
+ */
+class CrudFixture {
+
+    final EntityManager entityManager = mock(EntityManager.class);
+    final Query query = mock(Query.class);
+
+    /**
+     * JPQL and native statements created through the EntityManager, in order
+     */
+    final List<String> statements = new ArrayList<>();
+
+    CrudFixture() {
+        when(entityManager.createQuery(anyString())).thenAnswer(invocation -> record(invocation.getArgument(0)));
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> record(invocation.getArgument(0)));
+        when(entityManager.createNativeQuery(anyString(), any(Class.class)))
+                .thenAnswer(invocation -> record(invocation.getArgument(0)));
+        when(query.setParameter(anyInt(), any())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> JpaRepository<E, UUID> repository() {
+        return mock(JpaRepository.class);
+    }
+
+    /**
+     * Set the EntityManager the command otherwise gets through @PersistenceContext
+     */
+    static <C> C withEntityManager(C command, EntityManager entityManager) {
+        ReflectionTestUtils.setField(command, "entityManager", entityManager);
+        return command;
+    }
+
+    <C> C withEntityManager(C command) {
+        return withEntityManager(command, entityManager);
+    }
+
+    private Query record(String statement) {
+        statements.add(statement);
+        return query;
+    }
+
+    @Entity
+    @Table(name = "item")
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        @Id
+        private UUID id;
+        @Column(unique = true)
+        private String name;
+        private String description;
+        private boolean active;
+        @CreatedDate
+        private LocalDateTime createdAt;
+        @LastModifiedDate
+        private LocalDateTime updatedAt;
+
+        Item(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @Entity
+    @Table(name = "versioned_item")
+    @Data
+    @NoArgsConstructor
+    public static class VersionedItem {
+        @Id
+        private UUID id;
+        private String name;
+        private String description;
+        private boolean active;
+        @Version
+        private Long version;
+        @LastModifiedDate
+        private LocalDateTime updatedAt;
+        @LastModifiedBy
+        private String updatedBy;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemInput {
+        private UUID id;
+        private String name;
+        private String description;
+        private Long version;
+
+        ItemInput(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
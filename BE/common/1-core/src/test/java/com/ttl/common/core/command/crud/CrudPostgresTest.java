@@ -0,0 +1,252 @@
+package com.ttl.common.core.command.crud;
+
+import com.ttl.common.core.command.BatchResult;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.crud.CrudFixture.Item;
+import com.ttl.common.core.command.crud.CrudFixture.ItemInput;
+import com.ttl.common.core.command.crud.CrudFixture.VersionedItem;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
+import com.ttl.common.core.mapper.EntityMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test running the native statements of the CRUD commands against PostgreSQL,
+ * skipped where Docker is not available
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class CrudPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void upsert_shouldUpdateRowWithConflictingKey() {
+        // Given
+        UpsertCommand command = upsert(BaseCrudUpsertCommand.ConflictAction.UPDATE);
+        UUID id = command.execute(input("a", "first"));
+
+        // When
+        UUID upsertedId = command.execute(input("a", "second"));
+
+        // Then
+        assertThat(upsertedId).isEqualTo(id);
+        entityManager.clear();
+        Item item = entityManager.find(Item.class, id);
+        assertThat(item.getDescription()).isEqualTo("second");
+        assertThat(item.getCreatedAt()).isNotNull();
+        assertThat(item.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void upsertBatch_shouldKeepExistingRowsOnDoNothing() {
+        // Given
+        UpsertCommand command = upsert(BaseCrudUpsertCommand.ConflictAction.NOTHING);
+        UUID id = command.execute(input("a", "first"));
+
+        // When
+        BatchResult<UUID> result = command.executeBatch(List.of(input("a", "second"), input("b", null)));
+
+        // Then
+        assertThat(result.getOutputs()).hasSize(1).doesNotContain(id);
+        assertThat(result.getFailures()).extracting(item -> item.violations().get(0).messageKey())
+                .containsExactly("error.entity.exists");
+        entityManager.clear();
+        assertThat(entityManager.find(Item.class, id).getDescription()).isEqualTo("first");
+        assertThat(entityManager.find(Item.class, result.getOutputs().get(0)).getName()).isEqualTo("b");
+    }
+
+    @Test
+    void upsert_shouldReportExistingKeyOnDoNothing() {
+        // Given
+        UpsertCommand command = upsert(BaseCrudUpsertCommand.ConflictAction.NOTHING);
+        command.execute(input("a", "first"));
+
+        // When
+        CommandResult<UUID> result = command.executeForResult(input("a", "second"));
+
+        // Then
+        assertThat(result).isInstanceOf(CommandResult.Invalid.class);
+    }
+
+    @Test
+    void partialUpdate_shouldReturnUpdatedRowAndRefreshManagedInstance() {
+        // Given
+        VersionedItem managed = versionedItem("a");
+        UpdateCommand command = update();
+
+        // When
+        VersionedItem result = command.execute(ItemInput.builder()
+                .id(managed.getId()).name("renamed").version(managed.getVersion()).build());
+
+        // Then
+        assertThat(result).isSameAs(managed);
+        assertThat(result.getName()).isEqualTo("renamed");
+        assertThat(result.getDescription()).isEqualTo("text");
+        assertThat(result.getVersion()).isEqualTo(1L);
+        assertThat(result.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void partialUpdate_shouldFailOnStaleVersion() {
+        // Given
+        VersionedItem item = versionedItem("a");
+        UpdateCommand command = update();
+        ItemInput input = ItemInput.builder().id(item.getId()).name("renamed").version(5L).build();
+
+        // When / Then
+        assertThatThrownBy(() -> command.execute(input)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        entityManager.clear();
+        assertThat(entityManager.find(VersionedItem.class, item.getId()).getName()).isEqualTo("a");
+    }
+
+    @Test
+    void partialUpdate_shouldReportMissingRow() {
+        // Given
+        UUID id = UUID.randomUUID();
+
+        // When
+        CommandResult<VersionedItem> result =
+                update().executeForResult(ItemInput.builder().id(id).name("renamed").version(0L).build());
+
+        // Then
+        assertThat(result).isEqualTo(CommandResult.notFound("VersionedItem", id));
+    }
+
+    @Test
+    void softDelete_shouldDeactivateVersionAndAuditRows() {
+        // Given
+        VersionedItem item = versionedItem("a");
+        DeleteCommand command = CrudFixture.withEntityManager(new DeleteCommand(repository(VersionedItem.class)), entityManager);
+        command.setAuditorAware(() -> Optional.of("alice"));
+
+        // When
+        int rows = command.deleteAllById(List.of(item.getId(), UUID.randomUUID()));
+        int repeated = command.deleteAllById(List.of(item.getId()));
+
+        // Then
+        assertThat(rows).isEqualTo(1);
+        assertThat(repeated).isZero();
+        entityManager.clear();
+        VersionedItem deleted = entityManager.find(VersionedItem.class, item.getId());
+        assertThat(deleted.isActive()).isFalse();
+        assertThat(deleted.getVersion()).isEqualTo(1L);
+        assertThat(deleted.getUpdatedAt()).isNotNull();
+        assertThat(deleted.getUpdatedBy()).isEqualTo("alice");
+    }
+
+    /**
+     * Persisted and flushed, so the row exists and the entity stays managed
+     */
+    private VersionedItem versionedItem(String name) {
+        VersionedItem item = new VersionedItem();
+        item.setId(UUID.randomUUID());
+        item.setName(name);
+        item.setDescription("text");
+        item.setActive(true);
+        entityManager.persist(item);
+        entityManager.flush();
+        return item;
+    }
+
+    private static ItemInput input(String name, String description) {
+        return ItemInput.builder().name(name).description(description).build();
+    }
+
+    private UpsertCommand upsert(BaseCrudUpsertCommand.ConflictAction action) {
+        return CrudFixture.withEntityManager(new UpsertCommand(repository(Item.class), action), entityManager);
+    }
+
+    private UpdateCommand update() {
+        return CrudFixture.withEntityManager(new UpdateCommand(repository(VersionedItem.class)), entityManager);
+    }
+
+    private <E> JpaRepository<E, UUID> repository(Class<E> entityClass) {
+        return new SimpleJpaRepository<>(entityClass, entityManager);
+    }
+
+    /**
+     * Registers this package, where Hibernate finds the CrudFixture entities,
+     * and binds their names from the mapping as in the applications
+     */
+    @Configuration
+    @AutoConfigurationPackage
+    @Import(EntityMetadataRegistry.class)
+    static class Config {
+    }
+
+    private static class DeleteCommand extends BaseCrudDeleteCommand<VersionedItem, UUID> {
+
+        DeleteCommand(JpaRepository<VersionedItem, UUID> repository) {
+            super(repository);
+        }
+
+        @Override
+        protected DeleteStrategy getDeleteStrategy() {
+            return DeleteStrategy.SOFT;
+        }
+    }
+
+    private static class UpdateCommand extends BaseCrudUpdateCommandV2<VersionedItem, ItemInput, UUID> {
+
+        UpdateCommand(JpaRepository<VersionedItem, UUID> repository) {
+            super(repository, new EntityMapper());
+        }
+
+        @Override
+        protected UpdateMode getUpdateMode() {
+            return UpdateMode.PARTIAL;
+        }
+
+        @Override
+        protected UUID extractId(ItemInput input) {
+            return input.getId();
+        }
+    }
+
+    private static class UpsertCommand extends BaseCrudUpsertCommand<Item, ItemInput, UUID> {
+
+        private final ConflictAction action;
+
+        UpsertCommand(JpaRepository<Item, UUID> repository, ConflictAction action) {
+            super(repository, new EntityMapper());
+            this.action = action;
+        }
+
+        @Override
+        protected List<String> getConflictKey() {
+            return List.of("name");
+        }
+
+        @Override
+        protected ConflictAction getConflictAction() {
+            return action;
+        }
+    }
+}
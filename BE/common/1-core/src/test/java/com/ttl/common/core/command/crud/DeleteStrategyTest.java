@@ -0,0 +1,217 @@
+package com.ttl.common.core.command.crud;
+
+import com.ttl.common.core.command.BatchResult;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.crud.CrudFixture.Item;
+import com.ttl.common.core.command.crud.CrudFixture.VersionedItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for the delete strategies of BaseCrudDeleteCommand
+ */
+class DeleteStrategyTest {
+
+    private final CrudFixture fixture = new CrudFixture();
+    private final JpaRepository<Item, UUID> repository = CrudFixture.repository();
+
+    @Test
+    void entity_shouldDeleteLoadedEntity() {
+        // Given
+        ItemDeleteCommand command = command(BaseCrudDeleteCommand.DeleteStrategy.ENTITY);
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        when(repository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        // When
+        command.execute(item.getId());
+
+        // Then
+        verify(repository).delete(item);
+        verify(repository, never()).deleteById(any());
+    }
+
+    @Test
+    void direct_shouldDeleteWithOneStatementWithoutLoading() {
+        // Given
+        ItemDeleteCommand command = command(BaseCrudDeleteCommand.DeleteStrategy.DIRECT);
+        when(fixture.query.executeUpdate()).thenReturn(1);
+
+        // When
+        command.execute(UUID.randomUUID());
+
+        // Then
+        assertThat(fixture.statements).containsExactly("delete from Item e where e.id in :ids");
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void direct_shouldReportMissingEntityFromRowCount() {
+        // Given
+        ItemDeleteCommand command = command(BaseCrudDeleteCommand.DeleteStrategy.DIRECT);
+        UUID id = UUID.randomUUID();
+        when(fixture.query.executeUpdate()).thenReturn(0);
+
+        // When
+        CommandResult<Void> result = command.executeForResult(id);
+
+        // Then
+        assertThat(result).isEqualTo(CommandResult.notFound("Item", id));
+    }
+
+    @Test
+    void soft_shouldDeactivateActiveRows() {
+        // Given
+        ItemDeleteCommand command = command(BaseCrudDeleteCommand.DeleteStrategy.SOFT);
+        when(fixture.query.executeUpdate()).thenReturn(2);
+
+        // When
+        int rows = command.deleteAllById(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        // Then
+        assertThat(rows).isEqualTo(2);
+        assertThat(fixture.statements).containsExactly(
+                "update Item e set e.active = false, e.updatedAt = :updatedAt where e.id in :ids and e.active = true");
+    }
+
+    @Test
+    void soft_shouldIncrementVersionAndAuditLikeDirtyChecking() {
+        // Given
+        VersionedDeleteCommand command = fixture.withEntityManager(new VersionedDeleteCommand(CrudFixture.repository()));
+        command.setAuditorAware(() -> Optional.of("alice"));
+        when(fixture.query.executeUpdate()).thenReturn(1);
+
+        // When
+        command.deleteAllById(List.of(UUID.randomUUID()));
+
+        // Then
+        assertThat(fixture.statements).containsExactly("update VersionedItem e set e.active = false,"
+                + " e.version = e.version + 1, e.updatedAt = :updatedAt, e.updatedBy = :updatedBy"
+                + " where e.id in :ids and e.active = true");
+        verify(fixture.query).setParameter(eq("updatedAt"), any(LocalDateTime.class));
+        verify(fixture.query).setParameter("updatedBy", "alice");
+    }
+
+    @Test
+    void soft_shouldClearAttributeOnLoadedEntityWhenHooksNeedIt() {
+        // Given
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        item.setActive(true);
+        when(repository.findById(item.getId())).thenReturn(Optional.of(item));
+        AuditedDeleteCommand command = fixture.withEntityManager(new AuditedDeleteCommand(repository));
+
+        // When
+        command.execute(item.getId());
+
+        // Then
+        assertThat(command.deleted).containsExactly(item);
+        assertThat(item.isActive()).isFalse();
+        assertThat(fixture.statements).isEmpty();
+        verify(repository, never()).deleteById(any());
+    }
+
+    @Test
+    void directBatch_shouldReportUnknownIds() {
+        // Given
+        ItemDeleteCommand command = command(BaseCrudDeleteCommand.DeleteStrategy.DIRECT);
+        UUID existing = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(fixture.query.getResultList()).thenReturn(List.of(existing));
+        when(fixture.query.executeUpdate()).thenReturn(1);
+
+        // When
+        BatchResult<UUID> result = command.executeBatch(List.of(missing, existing));
+
+        // Then
+        assertThat(result.getOutputs()).containsExactly(existing);
+        assertThat(result.getFailures()).extracting(BatchResult.Item::index).containsExactly(0);
+        assertThat(fixture.statements).hasSize(2);
+    }
+
+    @Test
+    void soft_shouldRequireBooleanAttribute() {
+        // Given
+        ItemDeleteCommand command = command(BaseCrudDeleteCommand.DeleteStrategy.SOFT);
+        command.softDeleteAttribute = "name";
+
+        // When / Then
+        assertThatThrownBy(() -> command.execute(UUID.randomUUID()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("boolean attribute 'name'");
+    }
+
+    private ItemDeleteCommand command(BaseCrudDeleteCommand.DeleteStrategy strategy) {
+        return fixture.withEntityManager(new ItemDeleteCommand(repository, strategy));
+    }
+
+    private static class VersionedDeleteCommand extends BaseCrudDeleteCommand<VersionedItem, UUID> {
+
+        VersionedDeleteCommand(JpaRepository<VersionedItem, UUID> repository) {
+            super(repository);
+        }
+
+        @Override
+        protected DeleteStrategy getDeleteStrategy() {
+            return DeleteStrategy.SOFT;
+        }
+    }
+
+    private static class ItemDeleteCommand extends BaseCrudDeleteCommand<Item, UUID> {
+
+        private final DeleteStrategy strategy;
+        private String softDeleteAttribute = "active";
+
+        ItemDeleteCommand(JpaRepository<Item, UUID> repository, DeleteStrategy strategy) {
+            super(repository);
+            this.strategy = strategy;
+        }
+
+        @Override
+        protected DeleteStrategy getDeleteStrategy() {
+            return strategy;
+        }
+
+        @Override
+        protected String getSoftDeleteAttribute() {
+            return softDeleteAttribute;
+        }
+    }
+
+    /**
+     * Soft delete with an afterDelete hook, which requires loading the entity
+     */
+    private static class AuditedDeleteCommand extends BaseCrudDeleteCommand<Item, UUID> {
+
+        private final List<Item> deleted = new ArrayList<>();
+
+        AuditedDeleteCommand(JpaRepository<Item, UUID> repository) {
+            super(repository);
+        }
+
+        @Override
+        protected DeleteStrategy getDeleteStrategy() {
+            return DeleteStrategy.SOFT;
+        }
+
+        @Override
+        protected void afterDelete(UUID id, Item entity, CommandHolder<UUID> holder) {
+            deleted.add(entity);
+        }
+    }
+}
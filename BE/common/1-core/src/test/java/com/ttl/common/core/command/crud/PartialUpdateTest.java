@@ -0,0 +1,162 @@
+package com.ttl.common.core.command.crud;
+
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.Context;
+import com.ttl.common.core.command.crud.CrudFixture.ItemInput;
+import com.ttl.common.core.command.crud.CrudFixture.VersionedItem;
+import com.ttl.common.core.mapper.EntityMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for the PARTIAL mode of BaseCrudUpdateCommandV2
+ */
+class PartialUpdateTest {
+
+    private final CrudFixture fixture = new CrudFixture();
+    private final JpaRepository<VersionedItem, UUID> repository = CrudFixture.repository();
+    private final ItemUpdateCommand command = fixture.withEntityManager(new ItemUpdateCommand(repository));
+
+    @Test
+    void execute_shouldUpdateNonNullFieldsAndReturnRow() {
+        // Given
+        UUID id = UUID.randomUUID();
+        VersionedItem updated = new VersionedItem();
+        when(fixture.query.getResultList()).thenReturn(List.of(updated));
+
+        // When
+        VersionedItem result = command.execute(ItemInput.builder().id(id).name("renamed").version(2L).build());
+
+        // Then
+        assertThat(result).isSameAs(updated);
+        assertThat(fixture.statements).containsExactly("UPDATE versioned_item SET name = ?1, updated_at = ?2, version = version + 1"
+                + " WHERE id = ?3 AND version = ?4 RETURNING *");
+        verify(fixture.query).setParameter(1, "renamed");
+        verify(fixture.query).setParameter(3, id);
+        verify(fixture.query).setParameter(4, 2L);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void execute_shouldSkipReturningWhenResultNotNeeded() {
+        // Given
+        Context context = new Context();
+        context.set(BaseCrudUpdateCommandV2.RESULT_NOT_NEEDED, true);
+        when(fixture.query.executeUpdate()).thenReturn(1);
+
+        // When
+        VersionedItem result = command.execute(new CommandHolder<>(
+                ItemInput.builder().id(UUID.randomUUID()).name("renamed").description("text").version(2L).build(),
+                context));
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(fixture.statements).containsExactly("UPDATE versioned_item SET name = ?1, description = ?2, updated_at = ?3,"
+                + " version = version + 1 WHERE id = ?4 AND version = ?5");
+    }
+
+    @Test
+    void execute_shouldFailOnStaleVersion() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(fixture.query.getResultList()).thenReturn(List.of());
+        when(repository.existsById(id)).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> command.execute(ItemInput.builder().id(id).name("renamed").version(3L).build()))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(fixture.statements).singleElement().asString().endsWith("WHERE id = ?3 AND version = ?4 RETURNING *");
+    }
+
+    @Test
+    void executeForResult_shouldReportMissingRow() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(fixture.query.getResultList()).thenReturn(List.of());
+
+        // When
+        CommandResult<VersionedItem> result =
+                command.executeForResult(ItemInput.builder().id(id).name("renamed").version(2L).build());
+
+        // Then
+        assertThat(result).isEqualTo(CommandResult.notFound("VersionedItem", id));
+    }
+
+    @Test
+    void execute_shouldMergeWhenInputHasNoVersion() {
+        // Given
+        UUID id = UUID.randomUUID();
+        VersionedItem existing = new VersionedItem();
+        when(repository.findById(id)).thenReturn(Optional.of(existing));
+        when(repository.save(existing)).thenReturn(existing);
+
+        // When
+        VersionedItem result = command.execute(ItemInput.builder().id(id).name("renamed").build());
+
+        // Then
+        assertThat(result).isSameAs(existing);
+        assertThat(fixture.statements).isEmpty();
+    }
+
+    @Test
+    void execute_shouldRequireVersionFieldOnInputOfVersionedEntity() {
+        // Given
+        NameUpdateCommand nameCommand = new NameUpdateCommand(repository);
+
+        // When / Then
+        assertThatThrownBy(() -> nameCommand.execute(new NameInput(UUID.randomUUID(), "renamed")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("requires a version field on NameInput");
+    }
+
+    public record NameInput(UUID id, String name) {
+    }
+
+    private static class NameUpdateCommand extends BaseCrudUpdateCommandV2<VersionedItem, NameInput, UUID> {
+
+        NameUpdateCommand(JpaRepository<VersionedItem, UUID> repository) {
+            super(repository, mock(EntityMapper.class));
+        }
+
+        @Override
+        protected UpdateMode getUpdateMode() {
+            return UpdateMode.PARTIAL;
+        }
+
+        @Override
+        protected UUID extractId(NameInput input) {
+            return input.id();
+        }
+    }
+
+    private static class ItemUpdateCommand extends BaseCrudUpdateCommandV2<VersionedItem, ItemInput, UUID> {
+
+        ItemUpdateCommand(JpaRepository<VersionedItem, UUID> repository) {
+            super(repository, mock(EntityMapper.class));
+        }
+
+        @Override
+        protected UpdateMode getUpdateMode() {
+            return UpdateMode.PARTIAL;
+        }
+
+        @Override
+        protected UUID extractId(ItemInput input) {
+            return input.getId();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ttl.common.core.command.crud;
+
+import com.ttl.common.core.command.BatchResult;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.crud.CrudFixture.Item;
+import com.ttl.common.core.command.crud.CrudFixture.ItemInput;
+import com.ttl.common.core.mapper.EntityMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for BaseCrudUpsertCommand
+ */
+class UpsertCommandTest {
+
+    private final CrudFixture fixture = new CrudFixture();
+
+    @Test
+    void execute_shouldUpsertWithOneStatement() {
+        // Given
+        ItemUpsertCommand command = command(BaseCrudUpsertCommand.ConflictAction.UPDATE);
+        UUID existingId = UUID.randomUUID();
+        when(fixture.query.getResultList()).thenReturn(List.<Object[]>of(new Object[] { existingId, "a" }));
+
+        // When
+        UUID id = command.execute(input("a", "text"));
+
+        // Then
+        assertThat(id).isEqualTo(existingId);
+        assertThat(fixture.statements).containsExactly(
+                "INSERT INTO item (id, name, description, active, created_at, updated_at) "
+                + "VALUES (?1, ?2, ?3, ?4, ?5, ?6) ON CONFLICT (name) "
+                + "DO UPDATE SET description = EXCLUDED.description, active = EXCLUDED.active, "
+                + "updated_at = EXCLUDED.updated_at RETURNING id, name");
+    }
+
+    @Test
+    void executeForResult_shouldReportExistingKeyOnDoNothing() {
+        // Given
+        ItemUpsertCommand command = command(BaseCrudUpsertCommand.ConflictAction.NOTHING);
+        when(fixture.query.getResultList()).thenReturn(List.of());
+
+        // When
+        CommandResult<UUID> result = command.executeForResult(input("a", null));
+
+        // Then
+        assertThat(result).isInstanceOf(CommandResult.Invalid.class);
+        assertThat(((CommandResult.Invalid<UUID>) result).violations())
+                .extracting(violation -> violation.messageKey())
+                .containsExactly("error.entity.exists");
+        assertThat(fixture.statements).singleElement().asString().contains("ON CONFLICT (name) DO NOTHING RETURNING id, name");
+    }
+
+    @Test
+    void executeBatch_shouldWriteChunkWithOneStatementAndMatchRowsByKey() {
+        // Given
+        ItemUpsertCommand command = command(BaseCrudUpsertCommand.ConflictAction.NOTHING);
+        UUID bId = UUID.randomUUID();
+        // Rows come back in any order, "a" was kept by DO NOTHING
+        when(fixture.query.getResultList()).thenReturn(List.<Object[]>of(new Object[] { bId, "b" }));
+
+        // When
+        BatchResult<UUID> result = command.executeBatch(List.of(
+                input("a", null), input("b", null), input("b", null),
+                input(null, null)));
+
+        // Then
+        assertThat(fixture.statements).singleElement().asString()
+                .contains("VALUES (?1, ?2, ?3, ?4, ?5, ?6), (?7, ?8, ?9, ?10, ?11, ?12) ON CONFLICT");
+        assertThat(result.getOutputs()).containsExactly(bId);
+        assertThat(result.getFailures()).extracting(item -> item.violations().get(0).messageKey())
+                .containsExactly("error.entity.exists", "error.entity.duplicate", "error.entity.keyRequired");
+    }
+
+    private static ItemInput input(String name, String description) {
+        return ItemInput.builder().name(name).description(description).build();
+    }
+
+    private ItemUpsertCommand command(BaseCrudUpsertCommand.ConflictAction action) {
+        return fixture.withEntityManager(new ItemUpsertCommand(CrudFixture.repository(), action));
+    }
+
+    private static class ItemUpsertCommand extends BaseCrudUpsertCommand<Item, ItemInput, UUID> {
+
+        private final ConflictAction action;
+
+        ItemUpsertCommand(JpaRepository<Item, UUID> repository, ConflictAction action) {
+            super(repository, new EntityMapper());
+            this.action = action;
+        }
+
+        @Override
+        protected List<String> getConflictKey() {
+            return List.of("name");
+        }
+
+        @Override
+        protected ConflictAction getConflictAction() {
+            return action;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ttl.common.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for AdaptiveConcurrencyLimiter
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void acquire_shouldRejectWhenQueueIsFull() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0, Duration.ofSeconds(1));
+        limiter.acquire();
+
+        // When / Then
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(CommandRejectedException.class)
+                .extracting("reason").isEqualTo(CommandRejectedException.Reason.QUEUE_FULL);
+    }
+
+    @Test
+    void acquire_shouldRejectWhenWaitTimesOut() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1, Duration.ofMillis(10));
+        limiter.acquire();
+
+        // When / Then
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(CommandRejectedException.class)
+                .extracting("reason").isEqualTo(CommandRejectedException.Reason.TIMEOUT);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void release_shouldGrowWithSteadyLatencyAndShrinkWhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, Duration.ZERO);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+        }
+
+        // When: fully used at a steady 1 ms
+        runAtLatency(limiter, TimeUnit.MILLISECONDS.toNanos(1), 50);
+        int grown = limiter.getLimit();
+
+        // And: in-flight executions complete at 20 ms
+        for (int i = 0; i < 10; i++) {
+            limiter.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        int shrunk = limiter.getLimit();
+
+        // Then
+        assertThat(grown).isGreaterThan(10);
+        assertThat(shrunk).isLessThan(grown);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * Release one permit with the given latency and take it again, keeping the in-flight count constant
+     */
+    private static void runAtLatency(AdaptiveConcurrencyLimiter limiter, long rttNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            limiter.release(System.nanoTime() - rttNanos);
+            limiter.acquire();
+        }
+    }
+}
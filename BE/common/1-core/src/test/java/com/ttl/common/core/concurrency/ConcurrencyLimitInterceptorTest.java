@@ -0,0 +1,94 @@
+package com.ttl.common.core.concurrency;
+
+import com.ttl.common.core.command.Command;
+import com.ttl.common.core.command.CommandHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for ConcurrencyLimitInterceptor and the pointcut of ConcurrencyLimitConfig
+ */
+class ConcurrencyLimitInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    @Test
+    void invoke_shouldRejectBeforeTransactionStarts() throws Exception {
+        // Given
+        BlockingCommand target = new BlockingCommand();
+        Command<String, String> command = proxy(target);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> command.execute("first"));
+        assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When / Then
+        assertThatThrownBy(() -> command.execute("second"))
+                .isInstanceOf(CommandRejectedException.class)
+                .extracting("reason").isEqualTo(CommandRejectedException.Reason.QUEUE_FULL);
+        assertThat(transactions).hasValue(1);
+        assertThat(meterRegistry.get("command.concurrency.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1);
+
+        target.release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(meterRegistry.get("command.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void pointcut_shouldOnlyMatchCommandExecution() throws Exception {
+        // Given
+        ConcurrencyLimitConfig.CommandPointcut pointcut = new ConcurrencyLimitConfig.CommandPointcut();
+
+        // When / Then
+        assertThat(pointcut.matches(Command.class.getMethod("execute", CommandHolder.class), BlockingCommand.class))
+                .isTrue();
+        assertThat(pointcut.matches(Command.class.getMethod("executeAsync", Object.class), BlockingCommand.class))
+                .isFalse();
+        assertThat(pointcut.matches(Object.class.getMethod("toString"), BlockingCommand.class)).isFalse();
+        assertThat(pointcut.matches(Runnable.class.getMethod("run"), Runnable.class)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Command<String, String> proxy(Command<String, String> target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(Command.class);
+        factory.addAdvisor(new DefaultPointcutAdvisor(new ConcurrencyLimitConfig.CommandPointcut(),
+                new ConcurrencyLimitInterceptor(1, 1, 1, 0, Duration.ofSeconds(1), () -> meterRegistry)));
+        // Stands in for the transaction advice, ordered after the limit
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            transactions.incrementAndGet();
+            return invocation.proceed();
+        });
+        return (Command<String, String>) factory.getProxy();
+    }
+
+    private static class BlockingCommand implements Command<String, String> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String execute(CommandHolder<String> holder) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return holder.getInput();
+        }
+    }
+}
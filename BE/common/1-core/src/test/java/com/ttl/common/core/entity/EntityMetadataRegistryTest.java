@@ -0,0 +1,156 @@
+package com.ttl.common.core.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for EntityMetadataRegistry and EntityMetadata
+ */
+class EntityMetadataRegistryTest {
+
+    @Test
+    void get_shouldResolveIdVersionAuditingAndColumns() {
+        // When
+        EntityMetadata<Ticket> metadata = EntityMetadataRegistry.get(Ticket.class);
+
+        // Then
+        assertThat(metadata.getTableName()).isEqualTo("support_tickets");
+        assertThat(metadata.getId().getName()).isEqualTo("ticketId");
+        assertThat(metadata.getVersion().getColumnName()).isEqualTo("version");
+        assertThat(metadata.getAuditFields()).containsOnlyKeys(EntityMetadata.AuditField.CREATED_AT,
+                EntityMetadata.AuditField.UPDATED_AT, EntityMetadata.AuditField.CREATED_BY);
+        assertThat(metadata.getManagedFields())
+                .containsExactlyInAnyOrder("ticketId", "version", "createdAt", "updatedAt", "createdBy");
+        assertThat(metadata.getAttributes()).doesNotContainKey("label");
+        assertThat(metadata.getAttributes().get("assigneeName").getColumnName()).isEqualTo("assignee_name");
+        assertThat(metadata.getAttributes().get("createdAt").getColumnName()).isEqualTo("opened_at");
+        assertThat(EntityMetadataRegistry.get(Ticket.class)).isSameAs(metadata);
+    }
+
+    @Test
+    void newInstanceAndId_shouldUseResolvedHandles() {
+        // Given
+        EntityMetadata<Ticket> metadata = EntityMetadataRegistry.get(Ticket.class);
+        UUID id = UUID.randomUUID();
+
+        // When
+        Ticket ticket = metadata.newInstance();
+        metadata.getId().set(ticket, id);
+
+        // Then
+        assertThat(metadata.getId(ticket)).isEqualTo(id);
+        assertThat(ticket.getTicketId()).isEqualTo(id);
+    }
+
+    @Test
+    void bindNames_shouldUseNamesOfTheMapping() {
+        // Given
+        EntityMetadata<Memo> metadata = EntityMetadataRegistry.get(Memo.class);
+        AbstractEntityPersister persister = mock(AbstractEntityPersister.class);
+        when(persister.getRootTableName()).thenReturn("app.\"Memo\"");
+        when(persister.getIdentifierColumnNames()).thenReturn(new String[]{"memo_key"});
+        when(persister.getPropertyNames()).thenReturn(new String[]{"authorName", "updatedAt"});
+        when(persister.getPropertyColumnNames("authorName")).thenReturn(new String[]{"\"authorName\""});
+        when(persister.getPropertyColumnNames("updatedAt")).thenReturn(new String[]{"changed"});
+
+        // When
+        EntityMetadataRegistry.bindNames(metadata, "MemoEntry", persister);
+
+        // Then
+        assertThat(metadata.getEntityName()).isEqualTo("MemoEntry");
+        assertThat(metadata.getTableName()).isEqualTo("app.\"Memo\"");
+        assertThat(metadata.getId().getColumnName()).isEqualTo("memo_key");
+        assertThat(metadata.getAttributes().get("authorName").getColumnName()).isEqualTo("\"authorName\"");
+        assertThat(metadata.getAuditFields().get(EntityMetadata.AuditField.UPDATED_AT).getColumnName())
+                .isEqualTo("changed");
+    }
+
+    @Test
+    void get_shouldFailForMisconfiguredEntities() {
+        // When / Then
+        assertThatThrownBy(() -> EntityMetadataRegistry.get(NoId.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No @Id field");
+        assertThatThrownBy(() -> EntityMetadataRegistry.get(NoDefaultConstructor.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no-args constructor");
+    }
+
+    @Entity
+    @Table(name = "support_tickets")
+    @Getter
+    @NoArgsConstructor
+    static class Ticket {
+
+        @Id
+        private UUID ticketId;
+
+        private String assigneeName;
+
+        @Transient
+        private String label;
+
+        @Version
+        private Long version;
+
+        @CreatedDate
+        @Column(name = "opened_at")
+        private LocalDateTime createdAt;
+
+        @LastModifiedDate
+        private LocalDateTime updatedAt;
+
+        @CreatedBy
+        private String createdBy;
+    }
+
+    @Entity
+    @NoArgsConstructor
+    static class Memo {
+
+        @Id
+        private UUID id;
+
+        private String authorName;
+
+        @LastModifiedDate
+        private LocalDateTime updatedAt;
+    }
+
+    @Entity
+    @NoArgsConstructor
+    static class NoId {
+
+        private String name;
+    }
+
+    @Entity
+    static class NoDefaultConstructor {
+
+        @Id
+        private UUID id;
+
+        NoDefaultConstructor(UUID id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.ttl.common.core.idempotency;
+
+import com.ttl.common.core.command.BaseCommand;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.common.core.command.Context;
+import com.ttl.common.core.command.TransactionalCommand;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for IdempotencyInterceptor and the pointcut of IdempotencyConfig
+ */
+class IdempotencyInterceptorTest {
+
+    private final IdempotencyInterceptor interceptor =
+            new IdempotencyInterceptor(new InMemoryIdempotencyStore(100), null, Duration.ofMinutes(1),
+                    Duration.ofSeconds(5));
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    @Test
+    void execute_shouldReturnFirstResultForSameKey() {
+        // Given
+        CountingCommand target = new CountingCommand(null);
+        TransactionalCommand<String, String> command = proxy(target, interceptor);
+
+        // When
+        String first = command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key-1")));
+        String retry = command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key-1")));
+        String other = command.execute(new CommandHolder<>("c", Context.withIdempotencyKey("key-2")));
+        command.execute("d");
+
+        // Then
+        assertThat(first).isEqualTo("a-1");
+        assertThat(retry).isEqualTo("a-1");
+        assertThat(other).isEqualTo("c-2");
+        assertThat(target.executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    void execute_shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountingCommand target = new CountingCommand(release);
+        TransactionalCommand<String, String> command = proxy(target, interceptor);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                    () -> command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key"))), executor);
+            target.started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(
+                    () -> command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key"))), executor);
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a-1");
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("a-1");
+            assertThat(target.executions.get()).isEqualTo(1);
+            // The duplicate waited without opening a transaction
+            assertThat(transactions).hasValue(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void execute_shouldNotStoreFailures() {
+        // Given
+        CountingCommand target = new CountingCommand(null);
+        TransactionalCommand<String, String> command = proxy(target, interceptor);
+
+        // When
+        assertThatThrownBy(() -> command.execute(new CommandHolder<>("fail", Context.withIdempotencyKey("key"))))
+                .isInstanceOf(IllegalStateException.class);
+        String retry = command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key")));
+
+        // Then
+        assertThat(retry).isEqualTo("a-2");
+    }
+
+    @Test
+    void execute_shouldRejectKeyReusedWithDifferentInput() {
+        // Given
+        CountingCommand target = new CountingCommand(null);
+        TransactionalCommand<String, String> command = proxy(target, interceptor);
+        command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key")));
+
+        // When / Then
+        assertThatThrownBy(() -> command.execute(new CommandHolder<>("b", Context.withIdempotencyKey("key"))))
+                .isInstanceOf(IdempotencyKeyException.class)
+                .extracting("reason").isEqualTo(IdempotencyKeyException.Reason.INPUT_MISMATCH);
+        assertThat(target.executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldStopWaitingForExecutionInFlightAfterMaxWait() throws Exception {
+        // Given
+        IdempotencyInterceptor shortWait = new IdempotencyInterceptor(new InMemoryIdempotencyStore(100), null,
+                Duration.ofMinutes(1), Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountingCommand target = new CountingCommand(release);
+        TransactionalCommand<String, String> command = proxy(target, shortWait);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                    () -> command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key"))), executor);
+            target.started.await(5, TimeUnit.SECONDS);
+
+            // When / Then
+            assertThatThrownBy(() -> command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key"))))
+                    .isInstanceOf(IdempotencyKeyException.class)
+                    .extracting("reason").isEqualTo(IdempotencyKeyException.Reason.IN_PROGRESS);
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a-1");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void executeForResult_shouldShareResultsWithExecute() {
+        // Given
+        CountingCommand target = new CountingCommand(null);
+        TransactionalCommand<String, String> command = proxy(target, interceptor);
+
+        // When
+        CommandResult<String> first =
+                command.executeForResult(new CommandHolder<>("a", Context.withIdempotencyKey("key")));
+        String retry = command.execute(new CommandHolder<>("a", Context.withIdempotencyKey("key")));
+        CommandResult<String> resultRetry =
+                command.executeForResult(new CommandHolder<>("a", Context.withIdempotencyKey("key")));
+
+        // Then
+        assertThat(first).isEqualTo(CommandResult.success("a-1"));
+        assertThat(retry).isEqualTo("a-1");
+        assertThat(resultRetry).isEqualTo(CommandResult.success("a-1"));
+        assertThat(target.executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void pointcut_shouldOnlyMatchKeyedExecutionOfTransactionalCommands() throws Exception {
+        // Given
+        IdempotencyConfig.CommandPointcut pointcut = new IdempotencyConfig.CommandPointcut();
+
+        // When / Then
+        assertThat(pointcut.matches(TransactionalCommand.class.getMethod("execute", CommandHolder.class),
+                CountingCommand.class)).isTrue();
+        assertThat(pointcut.matches(TransactionalCommand.class.getMethod("executeForResult", CommandHolder.class),
+                CountingCommand.class)).isTrue();
+        assertThat(pointcut.matches(TransactionalCommand.class.getMethod("execute", Object.class),
+                CountingCommand.class)).isFalse();
+        assertThat(pointcut.matches(TransactionalCommand.class.getMethod("executeAsync", CommandHolder.class),
+                CountingCommand.class)).isFalse();
+    }
+
+    @Test
+    void fingerprint_shouldUseStringFormOfInaccessibleTypes() {
+        // When / Then
+        // sun.nio.cs charsets keep their fields in java.base, which does not open them
+        assertThat(InputFingerprint.of(List.of(StandardCharsets.UTF_8)))
+                .isEqualTo(InputFingerprint.of(List.of(StandardCharsets.UTF_8)))
+                .isNotEqualTo(InputFingerprint.of(List.of(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void fingerprint_shouldIgnoreSetOrderAndSeparateValues() {
+        // Given
+        record Input(String name, Set<String> tags) {
+        }
+
+        // When / Then
+        assertThat(InputFingerprint.of(new Input("a", new LinkedHashSet<>(List.of("x", "y")))))
+                .isEqualTo(InputFingerprint.of(new Input("a", new LinkedHashSet<>(List.of("y", "x")))));
+        assertThat(InputFingerprint.of(new Input("a", null)))
+                .isNotEqualTo(InputFingerprint.of(new Input("null", null)))
+                .hasSize(64);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionalCommand<String, String> proxy(CountingCommand target, IdempotencyInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(new DefaultPointcutAdvisor(new IdempotencyConfig.CommandPointcut(), interceptor));
+        // Stands in for the transaction advice, ordered after the idempotency advice
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            transactions.incrementAndGet();
+            return invocation.proceed();
+        });
+        return (TransactionalCommand<String, String>) factory.getProxy();
+    }
+
+    private static class CountingCommand extends BaseCommand<String, String>
+            implements TransactionalCommand<String, String> {
+
+        private final AtomicInteger executions = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        CountingCommand(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected String onExecute(CommandHolder<String> holder) {
+            int execution = executions.incrementAndGet();
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if ("fail".equals(holder.getInput())) {
+                throw new IllegalStateException("fail");
+            }
+            return holder.getInput() + "-" + execution;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ttl.common.core.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for JfrEndpoint and the dumps of ContinuousRecording
+ */
+class JfrEndpointTest {
+
+    private ContinuousRecording recording;
+    private JfrEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recording = new ContinuousRecording("default", Duration.ofMinutes(1), 10 * 1024 * 1024, Duration.ofMinutes(1));
+        recording.start();
+        endpoint = new JfrEndpoint(recording);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void dump_shouldKeepEarlierDumpReadableUntilItIsClosed() throws Exception {
+        // Given
+        Resource first = endpoint.dump();
+        Path firstFile = first.getFile().toPath();
+
+        // When
+        Resource second = endpoint.dump();
+        InputStream in = first.getInputStream();
+
+        // Then
+        assertThat(second.getFile().toPath()).isNotEqualTo(firstFile);
+        assertThat(firstFile).exists();
+        assertThat(in.readAllBytes()).isNotEmpty();
+        in.close();
+        assertThat(firstFile).doesNotExist();
+    }
+
+    @Test
+    void dump_shouldDeleteUnreadDumpsOlderThanMaxAge() throws Exception {
+        // Given
+        try (ContinuousRecording expiring = new ContinuousRecording("default", Duration.ofMinutes(1),
+                10 * 1024 * 1024, Duration.ZERO)) {
+            expiring.start();
+            Path unread = expiring.dump();
+            Thread.sleep(5);
+
+            // When
+            Path next = expiring.dump();
+
+            // Then
+            assertThat(unread).doesNotExist();
+            assertThat(next).exists();
+        }
+    }
+
+    @Test
+    void close_shouldDeleteDumpsNotRead() throws Exception {
+        // Given
+        Path file = recording.dump();
+
+        // When
+        recording.close();
+
+        // Then
+        assertThat(Files.exists(file)).isFalse();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ttl.common.core.mapper;
+
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for EntityMapper
+ */
+class EntityMapperTest {
+
+    private final EntityMapper entityMapper = new EntityMapper();
+
+    @Test
+    void map_shouldCopyCompatibleNonNullFields() {
+        // Given
+        Source source = new Source();
+        source.setId(1L);
+        source.setName("project");
+        source.setActive(Boolean.TRUE);
+
+        Target target = new Target();
+        target.setDescription("keep me");
+
+        // When
+        entityMapper.map(source, target);
+
+        // Then
+        assertThat(target.getId()).isEqualTo(1L);
+        assertThat(target.getName()).isEqualTo("project");
+        // null source values do not overwrite target values
+        assertThat(target.getDescription()).isEqualTo("keep me");
+        // Boolean -> boolean is not assignable and is skipped
+        assertThat(target.isActive()).isFalse();
+    }
+
+    @Test
+    void map_shouldHonourExcludedFields() {
+        // Given
+        Source source = new Source();
+        source.setId(1L);
+        source.setName("project");
+
+        Target target = new Target();
+
+        // When
+        entityMapper.map(source, target, Set.of("id"));
+
+        // Then
+        assertThat(target.getId()).isNull();
+        assertThat(target.getName()).isEqualTo("project");
+    }
+
+    @Test
+    void getCopier_shouldBeCachedPerClassPairAndExcludedFields() {
+        Set<String> excluded = new HashSet<>(Set.of("id"));
+
+        PropertyCopier first = entityMapper.getCopier(Source.class, Target.class, excluded);
+        PropertyCopier second = entityMapper.getCopier(Source.class, Target.class, Set.of("id"));
+        PropertyCopier other = entityMapper.getCopier(Source.class, Target.class, Set.of());
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+
+        // Mutating the caller's set must not affect the cached plan
+        excluded.add("name");
+        assertThat(entityMapper.getCopier(Source.class, Target.class, Set.of("id"))).isSameAs(first);
+    }
+
+    @Test
+    void map_generatedMode_shouldCopyThroughAccessors() {
+        // Given
+        entityMapper.setMode(Source.class, Target.class, MappingMode.GENERATED);
+
+        Source source = new Source();
+        source.setId(1L);
+        source.setName("project");
+        source.setActive(Boolean.TRUE);
+
+        Target target = new Target();
+        target.setDescription("keep me");
+
+        // When
+        entityMapper.map(source, target, Set.of("id"));
+
+        // Then
+        assertThat(entityMapper.getCopier(Source.class, Target.class, Set.of("id")))
+                .isNotInstanceOf(MappingPlan.class);
+        assertThat(target.getId()).isNull();
+        assertThat(target.getName()).isEqualTo("project");
+        assertThat(target.getDescription()).isEqualTo("keep me");
+        assertThat(target.isActive()).isFalse();
+    }
+
+    @Test
+    void map_generatedMode_shouldFallBackToReflectionWithoutAccessors() {
+        entityMapper.setMode(Source.class, NoAccessorTarget.class, MappingMode.GENERATED);
+
+        Source source = new Source();
+        source.setName("project");
+
+        NoAccessorTarget target = entityMapper.map(source, new NoAccessorTarget());
+
+        assertThat(entityMapper.getCopier(Source.class, NoAccessorTarget.class, Set.of()))
+                .isInstanceOf(MappingPlan.class);
+        assertThat(target.name).isEqualTo("project");
+    }
+
+    @Data
+    public static class Source {
+        private Long id;
+        private String name;
+        private String description;
+        private Boolean active;
+    }
+
+    @Data
+    public static class Target {
+        private Long id;
+        private String name;
+        private String description;
+        private boolean active;
+    }
+
+    public static class NoAccessorTarget {
+        private String name;
+    }
+}
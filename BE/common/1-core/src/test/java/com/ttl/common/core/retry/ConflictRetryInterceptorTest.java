@@ -0,0 +1,121 @@
+package com.ttl.common.core.retry;
+
+import com.ttl.common.core.command.crud.StaleVersionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for ConflictRetryInterceptor and ConflictRetryPolicy
+ */
+class ConflictRetryInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    @Test
+    void invoke_shouldRerunInnerAdviceUntilConflictResolves() {
+        // Given
+        Updater updater = proxy(new ConflictingUpdater(2));
+
+        // When
+        String result = updater.update("input");
+
+        // Then
+        assertThat(result).isEqualTo("updated input");
+        assertThat(transactions).hasValue(3);
+        assertThat(conflicts("retried")).isEqualTo(2);
+        assertThat(conflicts("resolved")).isEqualTo(1);
+    }
+
+    @Test
+    void invoke_shouldRethrowAfterLastAttempt() {
+        // Given
+        Updater updater = proxy(new ConflictingUpdater(Integer.MAX_VALUE));
+
+        // When / Then
+        assertThatThrownBy(() -> updater.update("input"))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(transactions).hasValue(3);
+        assertThat(conflicts("exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void invoke_shouldNotRetryStaleCallerVersion() {
+        // Given
+        Updater updater = proxy(input -> {
+            throw new StaleVersionException(String.class, input);
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> updater.update("input"))
+                .isInstanceOf(StaleVersionException.class);
+        assertThat(transactions).hasValue(1);
+        assertThat(conflicts("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void backoff_shouldGrowJitteredUpToMaximum() {
+        // Given
+        ConflictRetryPolicy policy = new ConflictRetryPolicy(5, Duration.ofMillis(10), Duration.ofMillis(30), 2);
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.backoff(1)).isBetween(Duration.ofMillis(5), Duration.ofMillis(10));
+            assertThat(policy.backoff(2)).isBetween(Duration.ofMillis(10), Duration.ofMillis(20));
+            assertThat(policy.backoff(4)).isBetween(Duration.ofMillis(15), Duration.ofMillis(30));
+        }
+        assertThatThrownBy(() -> new ConflictRetryPolicy(0, Duration.ZERO, Duration.ZERO, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Updater proxy(Updater target) {
+        ConflictRetryPolicy policy = new ConflictRetryPolicy(3, Duration.ZERO, Duration.ofMillis(1), 2);
+        Supplier<MeterRegistry> registry = () -> meterRegistry;
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(Updater.class);
+        factory.addAdvice(new ConflictRetryInterceptor(policy, registry));
+        // Stands in for the transaction advice the interceptor wraps
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            transactions.incrementAndGet();
+            return invocation.proceed();
+        });
+        return (Updater) factory.getProxy();
+    }
+
+    private double conflicts(String outcome) {
+        var counter = meterRegistry.find(ConflictRetryInterceptor.CONFLICTS).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    interface Updater {
+        String update(String input);
+    }
+
+    private static class ConflictingUpdater implements Updater {
+
+        private int conflicts;
+
+        ConflictingUpdater(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @Override
+        public String update(String input) {
+            if (conflicts-- > 0) {
+                throw new ObjectOptimisticLockingFailureException(String.class, input);
+            }
+            return "updated " + input;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.ttl.common.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor for {@code @GenerateMapper}.
+ *
+ * For every annotated class it generates a {@code <Source>To<Target>Mapper}
+ * implementing {@code TypeMapper<Source, Target>} next to the source class,
+ * with one direct getter/setter call per mapped field, and registers it in
+ * {@code META-INF/services/com.ttl.common.core.mapper.TypeMapper}.
+ *
+ * Mapping rules mirror the reflective EntityMapper: fields are matched by
+ * name, primitives must have the same type, references must be assignable,
+ * null values and excluded fields are skipped.
+ *
+ * With {@code -Amapper.register=false} the mappers are generated but not
+ * registered, so they are only used where they are registered explicitly.
+ */
+@SupportedAnnotationTypes(GenerateMapperProcessor.GENERATE_MAPPER)
+@SupportedOptions(GenerateMapperProcessor.REGISTER_OPTION)
+public class GenerateMapperProcessor extends AbstractProcessor {
+
+    static final String GENERATE_MAPPER = "com.ttl.common.core.mapper.GenerateMapper";
+    static final String REGISTER_OPTION = "mapper.register";
+    private static final String TYPE_MAPPER = "com.ttl.common.core.mapper.TypeMapper";
+    private static final Set<String> CRUD_COMMANDS = Set.of(
+            "com.ttl.common.core.command.crud.BaseCrudCreateCommandV2",
+            "com.ttl.common.core.command.crud.BaseCrudUpdateCommandV2",
+            "com.ttl.common.core.command.crud.BaseCrudUpsertCommand");
+
+    private final Set<String> generatedMappers = new LinkedHashSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+    private boolean register;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+        this.register = !"false".equalsIgnoreCase(processingEnv.getOptions().get(REGISTER_OPTION));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = elements.getTypeElement(GENERATE_MAPPER);
+        if (annotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement typeElement) {
+                    processElement(typeElement);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private void processElement(TypeElement annotated) {
+        TypeElement[] pair = resolvePair(annotated);
+        if (pair == null) {
+            return;
+        }
+        TypeElement source = pair[0];
+        TypeElement target = pair[1];
+
+        String packageName = elements.getPackageOf(source).getQualifiedName().toString();
+        String simpleName = source.getSimpleName() + "To" + target.getSimpleName() + "Mapper";
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        // Several commands may share the same input/entity pair
+        if (!generatedMappers.add(qualifiedName)) {
+            return;
+        }
+        originatingElements.add(annotated);
+
+        try {
+            writeMapper(annotated, source, target, packageName, simpleName);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + qualifiedName + ": " + e, annotated);
+        }
+    }
+
+    /**
+     * Resolve [source, target] from the command type arguments or the annotation
+     */
+    private TypeElement[] resolvePair(TypeElement annotated) {
+        TypeMirror explicitTarget = getTargetAttribute(annotated);
+        if (explicitTarget != null) {
+            return new TypeElement[] { annotated, (TypeElement) types.asElement(explicitTarget) };
+        }
+
+        TypeMirror superclass = annotated.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            DeclaredType declared = (DeclaredType) superclass;
+            TypeElement superElement = (TypeElement) declared.asElement();
+            if (CRUD_COMMANDS.contains(superElement.getQualifiedName().toString())) {
+                List<? extends TypeMirror> arguments = declared.getTypeArguments();
+                if (arguments.size() == 3
+                        && arguments.get(0).getKind() == TypeKind.DECLARED
+                        && arguments.get(1).getKind() == TypeKind.DECLARED) {
+                    return new TypeElement[] {
+                            (TypeElement) types.asElement(arguments.get(1)),
+                            (TypeElement) types.asElement(arguments.get(0)) };
+                }
+                break;
+            }
+            superclass = superElement.getSuperclass();
+        }
+
+        messager.printMessage(Diagnostic.Kind.ERROR,
+                "@GenerateMapper requires target() unless the class extends "
+                        + "BaseCrudCreateCommandV2, BaseCrudUpdateCommandV2 or BaseCrudUpsertCommand with concrete types",
+                annotated);
+        return null;
+    }
+
+    private TypeMirror getTargetAttribute(TypeElement annotated) {
+        for (AnnotationMirror mirror : annotated.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(GENERATE_MAPPER)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("target")) {
+                    TypeMirror value = (TypeMirror) entry.getValue().getValue();
+                    return isVoid(value) ? null : value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isVoid(TypeMirror type) {
+        return type.getKind() == TypeKind.VOID || (type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) types.asElement(type)).getQualifiedName().contentEquals("java.lang.Void"));
+    }
+
+    private void writeMapper(TypeElement annotated, TypeElement source, TypeElement target,
+                             String packageName, String simpleName) throws IOException {
+        Map<String, VariableElement> sourceFields = getAllFields(source);
+        Map<String, VariableElement> targetFields = getAllFields(target);
+
+        String sourceName = source.getQualifiedName().toString();
+        String targetName = target.getQualifiedName().toString();
+
+        JavaFileObject file = filer.createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, annotated);
+        try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * Generated by " + GenerateMapperProcessor.class.getName() + " from "
+                    + annotated.getQualifiedName() + ". Do not edit.");
+            out.println(" */");
+            out.println("@javax.annotation.processing.Generated(\"" + GenerateMapperProcessor.class.getName() + "\")");
+            out.println("public final class " + simpleName + " implements " + TYPE_MAPPER
+                    + "<" + sourceName + ", " + targetName + "> {");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<" + sourceName + "> sourceType() {");
+            out.println("        return " + sourceName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<" + targetName + "> targetType() {");
+            out.println("        return " + targetName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void map(" + sourceName + " source, " + targetName
+                    + " target, java.util.Set<String> excludeFields) {");
+
+            for (Map.Entry<String, VariableElement> entry : sourceFields.entrySet()) {
+                String fieldName = entry.getKey();
+                VariableElement sourceField = entry.getValue();
+                VariableElement targetField = targetFields.get(fieldName);
+                if (targetField == null || !isCompatible(sourceField.asType(), targetField.asType())) {
+                    continue;
+                }
+
+                String getter = findGetter(source, sourceField);
+                String setter = findSetter(target, targetField);
+                if (getter == null || setter == null) {
+                    messager.printMessage(Diagnostic.Kind.WARNING,
+                            "Field '" + fieldName + "' has no accessors and is not mapped by " + simpleName,
+                            annotated);
+                    continue;
+                }
+
+                out.println("        if (!excludeFields.contains(\"" + fieldName + "\")) {");
+                if (sourceField.asType().getKind().isPrimitive()) {
+                    out.println("            target." + setter + "(source." + getter + "());");
+                } else {
+                    String local = fieldName + "Value";
+                    out.println("            var " + local + " = source." + getter + "();");
+                    out.println("            if (" + local + " != null) {");
+                    out.println("                target." + setter + "(" + local + ");");
+                    out.println("            }");
+                }
+                out.println("        }");
+            }
+
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeServiceFile() {
+        if (!register || generatedMappers.isEmpty()) {
+            return;
+        }
+        try {
+            var resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + TYPE_MAPPER, originatingElements.toArray(new Element[0]));
+            try (Writer writer = resource.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                generatedMappers.forEach(out::println);
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to register generated mappers: " + e);
+        }
+    }
+
+    /**
+     * Get all instance fields including inherited ones; subclass fields win
+     */
+    private Map<String, VariableElement> getAllFields(TypeElement type) {
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    fields.putIfAbsent(field.getSimpleName().toString(), field);
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+        }
+        return fields;
+    }
+
+    /**
+     * Same rule as EntityMapper: identical types, or an assignable reference type
+     */
+    private boolean isCompatible(TypeMirror sourceType, TypeMirror targetType) {
+        if (sourceType.getKind().isPrimitive() || targetType.getKind().isPrimitive()) {
+            return types.isSameType(sourceType, targetType);
+        }
+        return types.isAssignable(types.erasure(sourceType), types.erasure(targetType));
+    }
+
+    private String findGetter(TypeElement type, VariableElement field) {
+        String suffix = capitalize(field.getSimpleName().toString());
+        String name = (field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get") + suffix;
+        if (hasMethod(type, name, 0) || hasLombokAccessor(field, "Getter")) {
+            return name;
+        }
+        return null;
+    }
+
+    private String findSetter(TypeElement type, VariableElement field) {
+        String name = "set" + capitalize(field.getSimpleName().toString());
+        if (hasMethod(type, name, 1) || hasLombokAccessor(field, "Setter")) {
+            return name;
+        }
+        return null;
+    }
+
+    private boolean hasMethod(TypeElement type, String name, int parameterCount) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name)
+                    && method.getParameters().size() == parameterCount
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lombok accessors of sources in the same compilation are not visible as
+     * elements yet, so fall back to the Lombok annotations on the field or class.
+     * Only a PUBLIC accessor counts, AccessLevel.NONE generates none; a field
+     * annotation overrides the class one. Final fields, and the fields of a
+     * {@code @Value} class, get no setter.
+     */
+    private boolean hasLombokAccessor(VariableElement field, String accessor) {
+        Element owner = field.getEnclosingElement();
+        if ("Setter".equals(accessor)
+                && (field.getModifiers().contains(Modifier.FINAL) || hasAnnotation(owner, "lombok.Value"))) {
+            return false;
+        }
+        String level = getAccessLevel(field, "lombok." + accessor);
+        if (level == null) {
+            level = getAccessLevel(owner, "lombok." + accessor);
+        }
+        if (level == null && (hasAnnotation(owner, "lombok.Data")
+                || ("Getter".equals(accessor) && hasAnnotation(owner, "lombok.Value")))) {
+            level = "PUBLIC";
+        }
+        return "PUBLIC".equals(level);
+    }
+
+    /**
+     * Name of the AccessLevel of a Lombok @Getter or @Setter, PUBLIC when not set, or null without the annotation
+     */
+    private String getAccessLevel(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationName)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return ((VariableElement) entry.getValue().getValue()).getSimpleName().toString();
+                }
+            }
+            return "PUBLIC";
+        }
+        return null;
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
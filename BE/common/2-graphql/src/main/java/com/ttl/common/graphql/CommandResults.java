@@ -0,0 +1,77 @@
+package com.ttl.common.graphql;
+
+import am.ik.yavi.core.ConstraintViolation;
+import com.ttl.common.core.command.CommandResult;
+import graphql.ErrorClassification;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.DataFetcherResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a {@link CommandResult} to a GraphQL field result.
+ *
+ * SPQR unwraps a DataFetcherResult return type, so the schema type of the field
+ * stays the command output. Expected failures become GraphQL errors with a null
+ * field value instead of going through exception resolution:
+ * - Invalid: one INVALID_INPUT error per violation, with the field name and
+ *   message key in the extensions
+ * - NotFound: one NOT_FOUND error, with the entity name and id in the extensions
+ *
+ * <pre>
+ * {@code
+ * @GraphQLMutation
+ * public DataFetcherResult<Project> projectUpdate(@GraphQLArgument(name = "input") ProjectUpdateInput input) {
+ *     return CommandResults.toGraphQL(projectUpdateCommand.executeForResult(input));
+ * }
+ * }
+ * </pre>
+ */
+public final class CommandResults {
+
+    public static final ErrorClassification INVALID_INPUT = ErrorClassification.errorClassification("INVALID_INPUT");
+    public static final ErrorClassification NOT_FOUND = ErrorClassification.errorClassification("NOT_FOUND");
+
+    private CommandResults() {
+    }
+
+    public static <T> DataFetcherResult<T> toGraphQL(CommandResult<T> result) {
+        if (result instanceof CommandResult.Success<T> success) {
+            return DataFetcherResult.<T>newResult().data(success.value()).build();
+        }
+        return DataFetcherResult.<T>newResult().errors(toErrors(result)).build();
+    }
+
+    /**
+     * Field value on success regardless of the command output, e.g. true for a delete
+     */
+    public static <T> DataFetcherResult<T> toGraphQL(CommandResult<?> result, T value) {
+        if (result.isSuccess()) {
+            return DataFetcherResult.<T>newResult().data(value).build();
+        }
+        return DataFetcherResult.<T>newResult().errors(toErrors(result)).build();
+    }
+
+    private static List<GraphQLError> toErrors(CommandResult<?> result) {
+        List<GraphQLError> errors = new ArrayList<>();
+        if (result instanceof CommandResult.Invalid<?> invalid) {
+            for (ConstraintViolation violation : invalid.violations()) {
+                errors.add(GraphqlErrorBuilder.newError()
+                        .message(violation.message())
+                        .errorType(INVALID_INPUT)
+                        .extensions(Map.of("field", violation.name(), "code", violation.messageKey()))
+                        .build());
+            }
+        } else if (result instanceof CommandResult.NotFound<?> notFound) {
+            errors.add(GraphqlErrorBuilder.newError()
+                    .message(String.format("%s not found with ID: %s", notFound.entity(), notFound.id()))
+                    .errorType(NOT_FOUND)
+                    .extensions(Map.of("entity", notFound.entity(), "id", String.valueOf(notFound.id())))
+                    .build());
+        }
+        return errors;
+    }
+}
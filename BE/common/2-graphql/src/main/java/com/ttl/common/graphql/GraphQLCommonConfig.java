@@ -1,8 +1,15 @@
 package com.ttl.common.graphql;
 
 import com.ttl.common.core.CoreCommonConfig;
+import com.ttl.common.graphql.dataloader.EntityBatchLoader;
+import com.ttl.common.graphql.dataloader.EntityDataLoaderRegistryFactory;
+import com.ttl.common.graphql.instrumentation.JfrInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.scalars.ExtendedScalars;
 import graphql.schema.GraphQLScalarType;
+import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -11,7 +18,7 @@ import org.springframework.context.annotation.Import;
 /**
  * Common GraphQL Configuration
  * This configuration is shared across all microservices
- * Provides common GraphQL scalars
+ * Provides common GraphQL scalars, instrumentation and the per-request DataLoaders
  * SPQR auto-configuration is enabled automatically via spring-boot-starter
  */
 @Configuration
@@ -42,4 +49,21 @@ public class GraphQLCommonConfig {
     public GraphQLScalarType dateScalar() {
         return ExtendedScalars.Date;
     }
+
+    /**
+     * Emit a GraphQLOperation JFR event per request, picked up by SPQR
+     */
+    @Bean
+    public Instrumentation jfrInstrumentation() {
+        return new JfrInstrumentation();
+    }
+
+    /**
+     * Per-request DataLoaderRegistry with a DataLoader for every EntityBatchLoader bean, picked up by SPQR
+     */
+    @Bean
+    public DataLoaderRegistryFactory dataLoaderRegistryFactory(ObjectProvider<EntityBatchLoader<?, ?>> loaders,
+            @Value("${common.graphql.dataloader.max-batch-size:500}") int maxBatchSize) {
+        return new EntityDataLoaderRegistryFactory(loaders.orderedStream().toList(), maxBatchSize);
+    }
 }
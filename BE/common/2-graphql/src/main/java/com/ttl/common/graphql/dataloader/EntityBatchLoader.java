@@ -0,0 +1,114 @@
+package com.ttl.common.graphql.dataloader;
+
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Loads entities by key in batches, for nested GraphQL fields.
+ *
+ * Declared as a bean, it gets a DataLoader of the same name in the registry of
+ * every GraphQL request (see {@link EntityDataLoaderRegistryFactory}). The keys
+ * requested while a level of the query is resolved are loaded with one query,
+ * and each key is loaded at most once per request.
+ *
+ * <pre>
+ * {@code
+ * @Bean
+ * public EntityBatchLoader<String, User> userByUsernameLoader(UserRepository userRepository) {
+ *     return EntityBatchLoader.of("userByUsername", userRepository::findByUsernameIn, User::getUsername);
+ * }
+ *
+ * @GraphQLQuery(name = "createdByUser")
+ * public CompletableFuture<User> createdByUser(@GraphQLContext Project project,
+ *         @GraphQLEnvironment ResolutionEnvironment env) {
+ *     return userByUsernameLoader.load(env.dataFetchingEnvironment, project.getCreatedBy());
+ * }
+ * }
+ * </pre>
+ *
+ * @param <K> Key type
+ * @param <E> Entity type
+ */
+public final class EntityBatchLoader<K, E> {
+
+    private final String name;
+    private final Function<Set<K>, ? extends Iterable<E>> loader;
+    private final Function<E, K> key;
+
+    private EntityBatchLoader(String name, Function<Set<K>, ? extends Iterable<E>> loader, Function<E, K> key) {
+        this.name = name;
+        this.loader = loader;
+        this.key = key;
+    }
+
+    /**
+     * Batch loader by an arbitrary key
+     *
+     * @param name   DataLoader name, unique per application
+     * @param loader loads the entities of a set of keys with one query, missing keys are left out
+     * @param key    key of a loaded entity
+     */
+    public static <K, E> EntityBatchLoader<K, E> of(String name, Function<Set<K>, ? extends Iterable<E>> loader,
+            Function<E, K> key) {
+        return new EntityBatchLoader<>(name, loader, key);
+    }
+
+    /**
+     * Batch loader by id through {@link JpaRepository#findAllById}, named after the entity
+     */
+    @SuppressWarnings("unchecked")
+    public static <ID, E> EntityBatchLoader<ID, E> byId(Class<E> entityClass, JpaRepository<E, ID> repository) {
+        EntityMetadata<E> metadata = EntityMetadataRegistry.get(entityClass);
+        return new EntityBatchLoader<>(metadata.getEntityName(), repository::findAllById,
+                entity -> (ID) metadata.getId(entity));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Load an entity through the DataLoader of the current request
+     *
+     * @return the entity, or null when the key is null or not found
+     * @throws IllegalStateException if the request has no DataLoader for this loader
+     */
+    public CompletableFuture<E> load(DataFetchingEnvironment environment, K key) {
+        if (key == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DataLoader<K, E> dataLoader = environment.getDataLoader(name);
+        if (dataLoader == null) {
+            throw new IllegalStateException("No DataLoader '" + name + "' registered for this request");
+        }
+        return dataLoader.load(key);
+    }
+
+    /**
+     * New DataLoader, with its own cache, for one request
+     */
+    DataLoader<K, E> newDataLoader(int maxBatchSize) {
+        return DataLoaderFactory.newMappedDataLoader(
+                keys -> CompletableFuture.completedFuture(loadAll(keys)),
+                DataLoaderOptions.newOptions().setMaxBatchSize(maxBatchSize));
+    }
+
+    private Map<K, E> loadAll(Set<K> keys) {
+        Map<K, E> entities = new HashMap<>(keys.size() * 2);
+        for (E entity : loader.apply(keys)) {
+            entities.put(key.apply(entity), entity);
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ttl.common.graphql.dataloader;
+
+import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates the DataLoaderRegistry of each GraphQL request, with a fresh DataLoader
+ * per {@link EntityBatchLoader}. SPQR calls it once per request, so caches never
+ * outlive the request and a later request sees later writes.
+ */
+public class EntityDataLoaderRegistryFactory implements DataLoaderRegistryFactory {
+
+    private final List<EntityBatchLoader<?, ?>> loaders;
+    private final int maxBatchSize;
+
+    /**
+     * @param loaders      loaders to register, with unique names
+     * @param maxBatchSize most keys per batch query, larger batches are split
+     */
+    public EntityDataLoaderRegistryFactory(List<EntityBatchLoader<?, ?>> loaders, int maxBatchSize) {
+        Set<String> names = new HashSet<>();
+        for (EntityBatchLoader<?, ?> loader : loaders) {
+            if (!names.add(loader.getName())) {
+                throw new IllegalStateException("Duplicate DataLoader name: " + loader.getName());
+            }
+        }
+        this.loaders = List.copyOf(loaders);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public DataLoaderRegistry createDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        for (EntityBatchLoader<?, ?> loader : loaders) {
+            registry.register(loader.getName(), loader.newDataLoader(maxBatchSize));
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ttl.common.graphql.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event committed for every GraphQL request; the event duration covers the whole execution
+ */
+@Name("com.ttl.common.GraphQLOperation")
+@Label("GraphQL Operation")
+@Category({ "TTL", "GraphQL" })
+@Description("Execution of a GraphQL operation through the SPQR schema")
+@StackTrace(false)
+class GraphQLOperationEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(GraphQLOperationEvent.class);
+
+    @Label("Operation Name")
+    String operationName;
+
+    @Label("Field Count")
+    @Description("Number of fields fetched while executing the operation")
+    int fieldCount;
+
+    @Label("Error Count")
+    int errorCount;
+
+    /**
+     * Begin a new event, or return null when no recording enables it, so requests allocate nothing without JFR
+     */
+    static GraphQLOperationEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        GraphQLOperationEvent event = new GraphQLOperationEvent();
+        event.begin();
+        return event;
+    }
+}
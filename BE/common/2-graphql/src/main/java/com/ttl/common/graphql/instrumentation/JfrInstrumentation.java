@@ -0,0 +1,65 @@
+package com.ttl.common.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GraphQL instrumentation emitting a GraphQLOperation JFR event per request.
+ * When the event is disabled no state is kept and every callback is a no-op.
+ */
+public class JfrInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final OperationState NOT_RECORDING = new OperationState(null);
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        GraphQLOperationEvent event = GraphQLOperationEvent.beginIfEnabled();
+        return event == null ? NOT_RECORDING : new OperationState(event);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        GraphQLOperationEvent event = ((OperationState) state).event;
+        if (event == null) {
+            return super.beginExecution(parameters, state);
+        }
+        AtomicInteger fieldCount = ((OperationState) state).fieldCount;
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operationName = parameters.getOperation();
+                event.fieldCount = fieldCount.get();
+                event.errorCount = result == null ? 1 : result.getErrors().size();
+                event.commit();
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+                                                          InstrumentationState state) {
+        if (((OperationState) state).event != null) {
+            ((OperationState) state).fieldCount.incrementAndGet();
+        }
+        return super.beginFieldFetch(parameters, state);
+    }
+
+    private static final class OperationState implements InstrumentationState {
+
+        private final GraphQLOperationEvent event;
+        private final AtomicInteger fieldCount = new AtomicInteger();
+
+        private OperationState(GraphQLOperationEvent event) {
+            this.event = event;
+        }
+    }
+}
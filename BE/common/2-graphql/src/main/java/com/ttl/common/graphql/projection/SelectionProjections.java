@@ -0,0 +1,158 @@
+package com.ttl.common.graphql.projection;
+
+import com.ttl.common.core.entity.EntityMetadata;
+import com.ttl.common.core.entity.EntityMetadataRegistry;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.SelectedField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads only the columns a GraphQL list query asked for.
+ *
+ * The selection set of the field is mapped to entity attributes and read with a
+ * JPA tuple query; each row becomes a detached entity with only those attributes
+ * set, so the schema type of the field does not change. The id is always read,
+ * and @PostLoad callbacks run on each row like on loaded entities.
+ *
+ * Fields that are not basic attributes (transient fields, nested resolvers) must
+ * be declared with the attributes they read. Any other selected field means the
+ * full entity is needed: the result is empty and the caller loads entities as before.
+ *
+ * <pre>
+ * {@code
+ * return selectionProjections.findAll(env.dataFetchingEnvironment, Project.class, specification, pageable,
+ *                 Map.of("urn", Set.of("id")))
+ *         .orElseGet(() -> projectRepository.findAll(specification, pageable).getContent());
+ * }
+ * </pre>
+ */
+@Component
+public class SelectionProjections {
+
+    private static final Map<Class<?>, List<Method>> POST_LOAD_CALLBACKS = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Entities matching the specification with only the selected attributes loaded
+     *
+     * @param environment   environment of the list field
+     * @param entityClass   entity type of the list elements
+     * @param specification filter, null for all rows
+     * @param pageable      page and sort
+     * @param derivedFields attributes read by the selectable fields that are not basic attributes
+     * @return the entities, or empty when the selection needs full entities
+     */
+    @Transactional(readOnly = true)
+    public <E> Optional<List<E>> findAll(DataFetchingEnvironment environment, Class<E> entityClass,
+            Specification<E> specification, Pageable pageable, Map<String, Set<String>> derivedFields) {
+        EntityMetadata<E> metadata = EntityMetadataRegistry.get(entityClass);
+        Optional<Set<String>> selected = attributes(environment, metadata, derivedFields);
+        if (selected.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> attributes = selected.get();
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<E> root = query.from(entityClass);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Method> callbacks = postLoadCallbacks(entityClass);
+        List<E> entities = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            E entity = metadata.newInstance();
+            for (String attribute : attributes) {
+                metadata.getAttributes().get(attribute).set(entity, tuple.get(attribute));
+            }
+            for (Method callback : callbacks) {
+                ReflectionUtils.invokeMethod(callback, entity);
+            }
+            entities.add(entity);
+        }
+        return Optional.of(entities);
+    }
+
+    /**
+     * Attributes read for the selection of a field, empty when a selected field is unknown
+     */
+    static Optional<Set<String>> attributes(DataFetchingEnvironment environment, EntityMetadata<?> metadata,
+            Map<String, Set<String>> derivedFields) {
+        Map<String, EntityMetadata.Attribute> basic = metadata.getAttributes();
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add(metadata.getId().getName());
+        for (SelectedField field : environment.getSelectionSet().getImmediateFields()) {
+            String name = field.getName();
+            if (name.startsWith("__")) {
+                continue;
+            }
+            if (basic.containsKey(name)) {
+                attributes.add(name);
+            } else if (derivedFields.containsKey(name)) {
+                for (String attribute : derivedFields.get(name)) {
+                    if (!basic.containsKey(attribute)) {
+                        throw new IllegalArgumentException(
+                                "Field " + name + " is derived from unknown attribute " + attribute);
+                    }
+                    attributes.add(attribute);
+                }
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(attributes);
+    }
+
+    private static List<Method> postLoadCallbacks(Class<?> entityClass) {
+        return POST_LOAD_CALLBACKS.computeIfAbsent(entityClass, type -> {
+            List<Method> callbacks = new ArrayList<>();
+            ReflectionUtils.doWithMethods(type, method -> {
+                ReflectionUtils.makeAccessible(method);
+                callbacks.add(method);
+            }, method -> method.isAnnotationPresent(PostLoad.class) && method.getParameterCount() == 0);
+            return List.copyOf(callbacks);
+        });
+    }
+}
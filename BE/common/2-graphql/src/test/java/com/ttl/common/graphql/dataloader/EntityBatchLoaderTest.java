@@ -0,0 +1,85 @@
+package com.ttl.common.graphql.dataloader;
+
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for EntityBatchLoader and EntityDataLoaderRegistryFactory
+ */
+class EntityBatchLoaderTest {
+
+    private final List<Set<String>> batches = new ArrayList<>();
+    private final EntityBatchLoader<String, Item> loader = EntityBatchLoader.of("itemByName", names -> {
+        batches.add(Set.copyOf(names));
+        // "missing" is not found
+        return names.stream().filter(name -> !name.equals("missing")).map(Item::new).toList();
+    }, Item::name);
+
+    @Test
+    void load_shouldBatchAndCacheKeysWithinRequest() {
+        // Given
+        DataFetchingEnvironment environment = environment(new EntityDataLoaderRegistryFactory(List.of(loader), 10));
+
+        // When
+        CompletableFuture<Item> a = loader.load(environment, "a");
+        CompletableFuture<Item> b = loader.load(environment, "b");
+        CompletableFuture<Item> missing = loader.load(environment, "missing");
+        environment.getDataLoader("itemByName").dispatchAndJoin();
+        CompletableFuture<Item> cached = loader.load(environment, "a");
+
+        // Then
+        assertThat(batches).containsExactly(Set.of("a", "b", "missing"));
+        assertThat(a.join()).isEqualTo(new Item("a"));
+        assertThat(b.join()).isEqualTo(new Item("b"));
+        assertThat(missing.join()).isNull();
+        assertThat(cached.join()).isSameAs(a.join());
+        assertThat(loader.load(environment, null).join()).isNull();
+    }
+
+    @Test
+    void createDataLoaderRegistry_shouldSplitBatchesAndNotShareCacheAcrossRequests() {
+        // Given
+        EntityDataLoaderRegistryFactory factory = new EntityDataLoaderRegistryFactory(List.of(loader), 2);
+        DataLoader<String, Item> first = factory.createDataLoaderRegistry().getDataLoader("itemByName");
+        DataLoader<String, Item> second = factory.createDataLoaderRegistry().getDataLoader("itemByName");
+
+        // When
+        first.loadMany(List.of("a", "b", "c"));
+        first.dispatchAndJoin();
+        second.load("a");
+        second.dispatchAndJoin();
+
+        // Then
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(2)).containsExactly("a");
+    }
+
+    @Test
+    void factory_shouldRejectDuplicateNames() {
+        assertThatThrownBy(() -> new EntityDataLoaderRegistryFactory(List.of(loader, loader), 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("itemByName");
+    }
+
+    private static DataFetchingEnvironment environment(EntityDataLoaderRegistryFactory factory) {
+        DataLoaderRegistry registry = factory.createDataLoaderRegistry();
+        DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+        when(environment.getDataLoader("itemByName")).thenAnswer(invocation -> registry.getDataLoader("itemByName"));
+        return environment;
+    }
+
+    record Item(String name) {
+    }
+}
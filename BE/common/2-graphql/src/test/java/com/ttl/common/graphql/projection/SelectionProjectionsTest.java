@@ -0,0 +1,133 @@
+package com.ttl.common.graphql.projection;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for SelectionProjections
+ */
+class SelectionProjectionsTest {
+
+    private static final Map<String, Set<String>> DERIVED = Map.of("urn", Set.of("id"));
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final SelectionProjections projections = new SelectionProjections();
+
+    SelectionProjectionsTest() {
+        ReflectionTestUtils.setField(projections, "entityManager", entityManager);
+    }
+
+    @Test
+    void findAll_shouldSelectOnlyRequestedColumns() {
+        // Given
+        UUID id = UUID.randomUUID();
+        List<String> selected = new ArrayList<>();
+        TypedQuery<Tuple> query = criteriaQuery(selected);
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get("id")).thenReturn(id);
+        when(tuple.get("name")).thenReturn("Website");
+        when(query.getResultList()).thenReturn(List.of(tuple));
+
+        // When
+        Optional<List<Item>> items = projections.findAll(environment("name", "urn", "__typename"), Item.class,
+                null, PageRequest.of(2, 10), DERIVED);
+
+        // Then
+        assertThat(selected).containsExactly("id", "name");
+        assertThat(items).hasValueSatisfying(list -> assertThat(list).singleElement().satisfies(item -> {
+            assertThat(item.getName()).isEqualTo("Website");
+            assertThat(item.getDescription()).isNull();
+            assertThat(item.getUrn()).isEqualTo("item:" + id);
+        }));
+        verify(query).setFirstResult(20);
+        verify(query).setMaxResults(10);
+    }
+
+    @Test
+    void findAll_shouldFallBackWhenSelectionIsNotProjectable() {
+        // When
+        Optional<List<Item>> items = projections.findAll(environment("name", "owner"), Item.class, null,
+                PageRequest.of(0, 10), DERIVED);
+
+        // Then
+        assertThat(items).isEmpty();
+        verifyNoInteractions(entityManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypedQuery<Tuple> criteriaQuery(List<String> selected) {
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class);
+        CriteriaQuery<Tuple> criteriaQuery = mock(CriteriaQuery.class);
+        Root<Item> root = mock(Root.class);
+        TypedQuery<Tuple> query = mock(TypedQuery.class);
+        when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
+        when(criteriaBuilder.createTupleQuery()).thenReturn(criteriaQuery);
+        when(criteriaQuery.from(Item.class)).thenReturn(root);
+        when(root.get(anyString())).thenAnswer(invocation -> {
+            selected.add(invocation.getArgument(0));
+            Path<Object> path = mock(Path.class);
+            when(path.alias(anyString())).thenReturn(path);
+            return path;
+        });
+        when(entityManager.createQuery(criteriaQuery)).thenReturn(query);
+        return query;
+    }
+
+    private static DataFetchingEnvironment environment(String... fields) {
+        List<SelectedField> selectedFields = new ArrayList<>();
+        for (String field : fields) {
+            SelectedField selectedField = mock(SelectedField.class);
+            when(selectedField.getName()).thenReturn(field);
+            selectedFields.add(selectedField);
+        }
+        DataFetchingFieldSelectionSet selectionSet = mock(DataFetchingFieldSelectionSet.class);
+        when(selectionSet.getImmediateFields()).thenReturn(selectedFields);
+        DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+        when(environment.getSelectionSet()).thenReturn(selectionSet);
+        return environment;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        private UUID id;
+        private String name;
+        private String description;
+        @Transient
+        private String urn;
+
+        @PostLoad
+        void buildUrn() {
+            urn = "item:" + id;
+        }
+    }
+}
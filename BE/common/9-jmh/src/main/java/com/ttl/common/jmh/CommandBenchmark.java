@@ -0,0 +1,65 @@
+package com.ttl.common.jmh;
+
+import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.jmh.fixture.Fixtures;
+import com.ttl.common.jmh.fixture.ProjectCreateCommand;
+import com.ttl.common.jmh.fixture.ProjectCreateInput;
+import com.ttl.common.jmh.fixture.UserCreateCommand;
+import com.ttl.common.jmh.fixture.UserCreateInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full BaseCommand.execute lifecycle (validate -> onBefore -> onExecute ->
+ * onSuccess) of a create command against a stub repository.
+ * cachedValidator toggles between static validation rules built once per
+ * command and rules rebuilt on every execution; run with -prof gc to compare
+ * the allocation rate.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean cachedValidator;
+
+    private ProjectCreateCommand projectCreateCommand;
+    private UserCreateCommand userCreateCommand;
+    private ProjectCreateInput projectCreateInput;
+    private UserCreateInput userCreateInput;
+
+    @Setup
+    public void setUp() {
+        EntityMapper entityMapper = new EntityMapper();
+        projectCreateCommand = new ProjectCreateCommand(entityMapper, cachedValidator);
+        userCreateCommand = new UserCreateCommand(entityMapper, cachedValidator);
+        projectCreateInput = Fixtures.projectCreateInput();
+        userCreateInput = Fixtures.userCreateInput();
+    }
+
+    @Benchmark
+    public UUID projectCreate() {
+        return projectCreateCommand.execute(projectCreateInput);
+    }
+
+    @Benchmark
+    public UUID userCreate() {
+        return userCreateCommand.execute(userCreateInput);
+    }
+}
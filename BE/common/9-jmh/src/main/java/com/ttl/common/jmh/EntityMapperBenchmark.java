@@ -0,0 +1,60 @@
+package com.ttl.common.jmh;
+
+import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.MappingMode;
+import com.ttl.common.jmh.fixture.Fixtures;
+import com.ttl.common.jmh.fixture.Project;
+import com.ttl.common.jmh.fixture.ProjectCreateInput;
+import com.ttl.common.jmh.fixture.ProjectCreateInputToProjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EntityMapper.map for ProjectCreateInput -> Project per mapping strategy:
+ * REFLECTIVE (cached fields), GENERATED (hidden class) and COMPILED
+ * (TypeMapper generated by @GenerateMapper on the fixture ProjectCreateCommand).
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityMapperBenchmark {
+
+    private static final Set<String> EXCLUDED_FIELDS = Set.of("id", "createdAt", "updatedAt", "createdBy", "updatedBy");
+
+    @Param({ "REFLECTIVE", "GENERATED", "COMPILED" })
+    private String strategy;
+
+    private EntityMapper entityMapper;
+    private ProjectCreateInput input;
+
+    @Setup
+    public void setUp() {
+        entityMapper = new EntityMapper();
+        if ("COMPILED".equals(strategy)) {
+            entityMapper.registerMapper(new ProjectCreateInputToProjectMapper());
+        } else {
+            entityMapper.setMode(ProjectCreateInput.class, Project.class, MappingMode.valueOf(strategy));
+        }
+        input = Fixtures.projectCreateInput();
+    }
+
+    @Benchmark
+    public Project mapToNewEntity() {
+        return entityMapper.map(input, new Project(), EXCLUDED_FIELDS);
+    }
+}
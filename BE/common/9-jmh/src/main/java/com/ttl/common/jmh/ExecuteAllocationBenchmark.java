@@ -0,0 +1,61 @@
+package com.ttl.common.jmh;
+
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.jmh.fixture.EchoCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Garbage produced by the framework on a successful execute() of a command
+ * doing no work. Run with -prof gc (the default of the jmh task) and read
+ * gc.alloc.rate.norm: it is the per-call allocation of the framework itself.
+ *
+ * - executeHolder: caller-provided holder, expected 0 B/op
+ * - executeInput: execute(In), which only adds the CommandHolder
+ * - executeInputWithContext: execute(In) followed by a context read, which
+ *   materializes the lazily created Context
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecuteAllocationBenchmark {
+
+    private EchoCommand command;
+    private CommandHolder<String> holder;
+
+    @Setup
+    public void setUp() {
+        command = new EchoCommand();
+        holder = new CommandHolder<>("input");
+    }
+
+    @Benchmark
+    public String executeHolder() {
+        return command.execute(holder);
+    }
+
+    @Benchmark
+    public String executeInput() {
+        return command.execute("input");
+    }
+
+    @Benchmark
+    public long executeInputWithContext() {
+        CommandHolder<String> fresh = new CommandHolder<>("input");
+        command.execute(fresh);
+        return fresh.getContext().getRowsTouched();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ttl.common.jmh;
+
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import com.ttl.common.core.command.BatchConstraint;
+import com.ttl.common.jmh.fixture.FixtureValidation;
+import com.ttl.common.jmh.fixture.Fixtures;
+import com.ttl.common.jmh.fixture.ProjectCreateInput;
+import com.ttl.common.jmh.fixture.UserCreateInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * YAVI validation with the ProjectValidation/UserValidation create rules,
+ * followed by their uniqueness BatchConstraint as in BaseCommand.validate.
+ * The build* benchmarks rebuild the validator per call, the cached* ones
+ * reuse a validator built once.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ProjectCreateInput projectCreateInput;
+    private UserCreateInput userCreateInput;
+    private Validator<ProjectCreateInput> projectValidator;
+    private Validator<UserCreateInput> userValidator;
+    private BatchConstraint<ProjectCreateInput, String> uniqueName;
+    private BatchConstraint<UserCreateInput, String> uniqueUsername;
+
+    @Setup
+    public void setUp() {
+        projectCreateInput = Fixtures.projectCreateInput();
+        userCreateInput = Fixtures.userCreateInput();
+        projectValidator = FixtureValidation.projectCreate().build();
+        userValidator = FixtureValidation.userCreate().build();
+        uniqueName = FixtureValidation.uniqueName(names -> List.of());
+        uniqueUsername = FixtureValidation.uniqueUsername(usernames -> List.of());
+    }
+
+    @Benchmark
+    public ConstraintViolations buildAndValidateProject() {
+        return validate(FixtureValidation.projectCreate().build(), uniqueName, projectCreateInput);
+    }
+
+    @Benchmark
+    public ConstraintViolations cachedValidateProject() {
+        return validate(projectValidator, uniqueName, projectCreateInput);
+    }
+
+    @Benchmark
+    public ConstraintViolations buildAndValidateUser() {
+        return validate(FixtureValidation.userCreate().build(), uniqueUsername, userCreateInput);
+    }
+
+    @Benchmark
+    public ConstraintViolations cachedValidateUser() {
+        return validate(userValidator, uniqueUsername, userCreateInput);
+    }
+
+    private static <T> ConstraintViolations validate(Validator<T> validator, BatchConstraint<T, ?> unique, T input) {
+        ConstraintViolations violations = validator.validate(input);
+        violations.addAll(unique.validate(input));
+        return violations;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ttl.common.jmh.fixture;
+
+import com.ttl.common.core.command.BaseCommand;
+import com.ttl.common.core.command.CommandHolder;
+
+/**
+ * Command without validation or I/O, so only the framework overhead is measured
+ */
+public class EchoCommand extends BaseCommand<String, String> {
+
+    @Override
+    protected String onExecute(CommandHolder<String> holder) {
+        return holder.getInput();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ttl.common.jmh.fixture;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchConstraint;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Benchmark copies of the tools ProjectValidation/UserValidation create rules.
+ * As there, uniqueness is a BatchConstraint checked after the YAVI rules; the
+ * existing keys function stands in for the repository query.
+ */
+public class FixtureValidation {
+
+    public static ValidatorBuilder<ProjectCreateInput> projectCreate() {
+        return ValidatorBuilder.<ProjectCreateInput>of()
+                .constraint(ProjectCreateInput::getName, "name", c -> c
+                        .notBlank().message("Project name is required")
+                        .lessThanOrEqual(255).message("Project name must not exceed 255 characters"))
+                .constraint(ProjectCreateInput::getDescription, "description", c -> c
+                        .lessThanOrEqual(1000).message("Description must not exceed 1000 characters"))
+                .constraint(ProjectCreateInput::getStatus, "status", c -> c
+                        .pattern("ACTIVE|INACTIVE|COMPLETED|ARCHIVED")
+                        .message("Status must be one of: ACTIVE, INACTIVE, COMPLETED, ARCHIVED"));
+    }
+
+    public static BatchConstraint<ProjectCreateInput, String> uniqueName(
+            Function<Collection<String>, Collection<String>> existingNames) {
+        return BatchConstraint.unique("name",
+                ProjectCreateInput::getName,
+                existingNames,
+                "error.project.name.exists",
+                "Project name already exists");
+    }
+
+    public static ValidatorBuilder<UserCreateInput> userCreate() {
+        return ValidatorBuilder.<UserCreateInput>of()
+                .constraint(UserCreateInput::getUsername, "username", c -> c
+                        .notBlank().message("Username is required")
+                        .lessThanOrEqual(50).message("Username must not exceed 50 characters")
+                        .pattern("[a-zA-Z0-9_]+")
+                        .message("Username can only contain letters, numbers and underscore"))
+                .constraint(UserCreateInput::getEmail, "email", c -> c
+                        .notBlank().message("Email is required")
+                        .email().message("Email must be a valid email address"));
+    }
+
+    public static BatchConstraint<UserCreateInput, String> uniqueUsername(
+            Function<Collection<String>, Collection<String>> existingUsernames) {
+        return BatchConstraint.unique("username",
+                UserCreateInput::getUsername,
+                existingUsernames,
+                "error.username.exists",
+                "Username already exists");
+    }
+}
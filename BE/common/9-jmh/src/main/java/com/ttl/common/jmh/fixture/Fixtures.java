@@ -0,0 +1,24 @@
+package com.ttl.common.jmh.fixture;
+
+/**
+ * Realistic benchmark inputs
+ */
+public class Fixtures {
+
+    public static ProjectCreateInput projectCreateInput() {
+        return ProjectCreateInput.builder()
+                .name("Customer Portal Redesign")
+                .description("Redesign of the customer portal including onboarding, billing and "
+                        + "notification preferences. Tracks UX research, implementation and rollout.")
+                .status("ACTIVE")
+                .build();
+    }
+
+    public static UserCreateInput userCreateInput() {
+        return UserCreateInput.builder()
+                .username("john_doe_42")
+                .email("john.doe@example.com")
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ttl.common.jmh.fixture;
+
+import com.ttl.common.core.command.Command;
+import com.ttl.common.core.command.CommandChain;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandInterceptor;
+
+/**
+ * Interceptor that only proceeds with the chain
+ */
+public class PassThroughInterceptor implements CommandInterceptor {
+
+    @Override
+    public <In, Out> Out intercept(Command<In, Out> command, CommandHolder<In> holder, CommandChain<In, Out> chain) {
+        return chain.proceed(holder);
+    }
+}
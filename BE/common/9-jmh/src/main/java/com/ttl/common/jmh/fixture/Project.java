@@ -0,0 +1,28 @@
+package com.ttl.common.jmh.fixture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Benchmark copy of the tools Project entity, without JPA mapping
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class Project {
+
+    private UUID id;
+    private String name;
+    private String description;
+    private String status = "ACTIVE";
+    private String urn;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String createdBy;
+    private String updatedBy;
+    private boolean active = true;
+}
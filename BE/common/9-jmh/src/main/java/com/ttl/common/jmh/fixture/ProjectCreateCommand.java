@@ -0,0 +1,57 @@
+package com.ttl.common.jmh.fixture;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchConstraint;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.crud.BaseCrudCreateCommandV2;
+import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Benchmark copy of tools ProjectCreateCommand.
+ * The mapper generated for it backs the COMPILED strategy of EntityMapperBenchmark.
+ */
+@GenerateMapper
+public class ProjectCreateCommand extends BaseCrudCreateCommandV2<Project, ProjectCreateInput, UUID> {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private final boolean cachedValidator;
+
+    /**
+     * @param cachedValidator declare the rules as static (built once) or per call (built every execution)
+     */
+    public ProjectCreateCommand(EntityMapper entityMapper, boolean cachedValidator) {
+        super(StubRepositories.<Project>saving(project -> project.setId(ID)), entityMapper);
+        this.cachedValidator = cachedValidator;
+    }
+
+    @Override
+    protected ValidatorBuilder<ProjectCreateInput> getStaticValidatorBuilder() {
+        return cachedValidator ? FixtureValidation.projectCreate() : null;
+    }
+
+    @Override
+    protected ValidatorBuilder<ProjectCreateInput> getValidatorBuilder(CommandHolder<ProjectCreateInput> holder) {
+        return cachedValidator ? null : FixtureValidation.projectCreate();
+    }
+
+    @Override
+    protected List<BatchConstraint<ProjectCreateInput, ?>> getBatchConstraints() {
+        return List.of(FixtureValidation.uniqueName(names -> List.of()));
+    }
+
+    @Override
+    protected Project beforeSave(Project entity, ProjectCreateInput input, CommandHolder<ProjectCreateInput> holder) {
+        if (input.getActive() == null) {
+            entity.setActive(true);
+        }
+        if (input.getStatus() == null || input.getStatus().isBlank()) {
+            entity.setStatus("ACTIVE");
+        }
+        return entity;
+    }
+}
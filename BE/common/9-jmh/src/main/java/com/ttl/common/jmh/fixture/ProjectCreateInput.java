@@ -0,0 +1,21 @@
+package com.ttl.common.jmh.fixture;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Benchmark copy of tools ProjectCreateInput
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectCreateInput {
+
+    private String name;
+    private String description;
+    private String status; // ACTIVE, INACTIVE, COMPLETED, ARCHIVED
+    private Boolean active;
+}
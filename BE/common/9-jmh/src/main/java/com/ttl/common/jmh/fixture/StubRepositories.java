@@ -0,0 +1,38 @@
+package com.ttl.common.jmh.fixture;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * In-memory JpaRepository stubs so benchmarks measure the command framework,
+ * not the database. Only the methods used by the CRUD commands are supported.
+ */
+public class StubRepositories {
+
+    /**
+     * Repository whose save() assigns an id through the given callback and
+     * returns the same instance, like a JPA persist of a new entity
+     */
+    @SuppressWarnings("unchecked")
+    public static <Entity> JpaRepository<Entity, UUID> saving(Consumer<Entity> assignId) {
+        return (JpaRepository<Entity, UUID>) Proxy.newProxyInstance(
+                StubRepositories.class.getClassLoader(),
+                new Class<?>[] { JpaRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        assignId.accept((Entity) args[0]);
+                        yield args[0];
+                    }
+                    case "findById" -> Optional.empty();
+                    case "existsById" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,26 @@
+package com.ttl.common.jmh.fixture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Benchmark copy of the tools User entity, without JPA mapping
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class User {
+
+    private UUID id;
+    private String username;
+    private String email;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String createdBy;
+    private String updatedBy;
+    private boolean active = true;
+}
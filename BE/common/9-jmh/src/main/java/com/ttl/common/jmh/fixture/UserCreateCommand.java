@@ -0,0 +1,51 @@
+package com.ttl.common.jmh.fixture;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchConstraint;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.crud.BaseCrudCreateCommandV2;
+import com.ttl.common.core.mapper.EntityMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Benchmark copy of tools UserCreateCommand
+ */
+public class UserCreateCommand extends BaseCrudCreateCommandV2<User, UserCreateInput, UUID> {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private final boolean cachedValidator;
+
+    /**
+     * @param cachedValidator declare the rules as static (built once) or per call (built every execution)
+     */
+    public UserCreateCommand(EntityMapper entityMapper, boolean cachedValidator) {
+        super(StubRepositories.<User>saving(user -> user.setId(ID)), entityMapper);
+        this.cachedValidator = cachedValidator;
+    }
+
+    @Override
+    protected ValidatorBuilder<UserCreateInput> getStaticValidatorBuilder() {
+        return cachedValidator ? FixtureValidation.userCreate() : null;
+    }
+
+    @Override
+    protected ValidatorBuilder<UserCreateInput> getValidatorBuilder(CommandHolder<UserCreateInput> holder) {
+        return cachedValidator ? null : FixtureValidation.userCreate();
+    }
+
+    @Override
+    protected List<BatchConstraint<UserCreateInput, ?>> getBatchConstraints() {
+        return List.of(FixtureValidation.uniqueUsername(usernames -> List.of()));
+    }
+
+    @Override
+    protected User beforeSave(User entity, UserCreateInput input, CommandHolder<UserCreateInput> holder) {
+        if (input.getActive() == null) {
+            entity.setActive(true);
+        }
+        return entity;
+    }
+}
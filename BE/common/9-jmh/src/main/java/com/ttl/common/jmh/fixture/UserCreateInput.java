@@ -0,0 +1,20 @@
+package com.ttl.common.jmh.fixture;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Benchmark copy of tools UserCreateInput
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCreateInput {
+
+    private String username;
+    private String email;
+    private Boolean active;
+}
@@ -1,9 +1,11 @@
 package com.ttl.tool.core.command.project;
 
 import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchConstraint;
 import com.ttl.common.core.command.CommandHolder;
 import com.ttl.common.core.command.crud.BaseCrudCreateCommandV2;
 import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
 import com.ttl.tool.core.dto.input.ProjectCreateInput;
 import com.ttl.tool.core.validation.ProjectValidation;
 import com.ttl.tool.domain.entity.Project;
@@ -11,13 +13,14 @@ import com.ttl.tool.domain.repository.ProjectRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Command for creating a new Project.
  * 
  * Features:
- * - Auto-mapping from ProjectCreateInput to Project entity
+ * - Auto-mapping from ProjectCreateInput to Project entity (compile-time generated mapper)
  * - Input validation using YAVI
  * - Business logic hooks (beforeCreate, beforeSave, afterSave)
  * - URN field is automatically generated via @PostPersist callback in entity
@@ -38,6 +41,7 @@ import java.util.UUID;
  */
 @Service
 @Slf4j
+@GenerateMapper
 public class ProjectCreateCommand extends BaseCrudCreateCommandV2<Project, ProjectCreateInput, UUID> {
 
     private final ProjectRepository projectRepository;
@@ -51,8 +55,16 @@ public class ProjectCreateCommand extends BaseCrudCreateCommandV2<Project, Proje
      * Define validation rules using YAVI
      */
     @Override
-    protected ValidatorBuilder<ProjectCreateInput> getValidatorBuilder(CommandHolder<ProjectCreateInput> holder) {
-        return ProjectValidation.create(projectRepository);
+    protected ValidatorBuilder<ProjectCreateInput> getStaticValidatorBuilder() {
+        return ProjectValidation.create();
+    }
+
+    /**
+     * Uniqueness checks, one query each after the YAVI rules of validate(), on the calling thread
+     */
+    @Override
+    protected List<BatchConstraint<ProjectCreateInput, ?>> getBatchConstraints() {
+        return List.of(ProjectValidation.uniqueName(projectRepository));
     }
 
     /**
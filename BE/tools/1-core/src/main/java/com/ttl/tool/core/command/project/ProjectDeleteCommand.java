@@ -12,9 +12,10 @@ import java.util.UUID;
  * Command for deleting a Project.
  * 
  * Features:
- * - Finds project by ID
- * - Deletes project from database
- * - Business logic hooks (beforeDelete, afterDelete)
+ * - Deletes the project with a single DELETE statement (DIRECT strategy),
+ *   a missing project is detected from the row count
+ * - Business logic hooks (beforeDelete, afterDelete); overriding one makes
+ *   the command load the project first
  * 
  * Example usage:
  * 
@@ -32,4 +33,9 @@ public class ProjectDeleteCommand extends BaseCrudDeleteCommand<Project, UUID> {
     public ProjectDeleteCommand(ProjectRepository repository) {
         super(repository);
     }
+
+    @Override
+    protected DeleteStrategy getDeleteStrategy() {
+        return DeleteStrategy.DIRECT;
+    }
 }
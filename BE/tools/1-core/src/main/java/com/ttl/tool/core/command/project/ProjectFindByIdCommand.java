@@ -0,0 +1,47 @@
+package com.ttl.tool.core.command.project;
+
+import com.ttl.common.core.command.BaseQueryCommand;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.tool.domain.entity.Project;
+import com.ttl.tool.domain.repository.ProjectRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Query for a Project by ID.
+ * 
+ * Results are cached locally and evicted whenever a Project is created,
+ * updated or deleted through the Project commands on this node; other nodes
+ * keep their entry until common.query-cache.ttl expires.
+ * 
+ * Example usage:
+ * 
+ * <pre>
+ * {@code
+ * Project project = projectFindByIdCommand.execute(projectId);
+ * }
+ * </pre>
+ */
+@Service
+public class ProjectFindByIdCommand extends BaseQueryCommand<UUID, Project> {
+
+    private final ProjectRepository repository;
+
+    public ProjectFindByIdCommand(ProjectRepository repository) {
+        super(Project.class);
+        this.repository = repository;
+    }
+
+    @Override
+    protected Project query(CommandHolder<UUID> holder) {
+        UUID id = holder.getInput();
+        Project project = repository.findById(id).orElse(null);
+        if (project == null) {
+            holder.fail(CommandResult.notFound("Project", id),
+                    () -> new RuntimeException("Project not found with id: " + id));
+        }
+        return project;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ttl.tool.core.command.project;
+
+import com.ttl.common.core.command.BaseQueryCommand;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.tool.domain.entity.Project;
+import com.ttl.tool.domain.repository.ProjectRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Query for a Project by name.
+ * 
+ * Results are cached locally and evicted whenever a Project is created,
+ * updated or deleted through the Project commands on this node; other nodes
+ * keep their entry until common.query-cache.ttl expires.
+ * 
+ * Example usage:
+ * 
+ * <pre>
+ * {@code
+ * Project project = projectFindByNameCommand.execute("My Project");
+ * }
+ * </pre>
+ */
+@Service
+public class ProjectFindByNameCommand extends BaseQueryCommand<String, Project> {
+
+    private final ProjectRepository repository;
+
+    public ProjectFindByNameCommand(ProjectRepository repository) {
+        super(Project.class);
+        this.repository = repository;
+    }
+
+    @Override
+    protected Project query(CommandHolder<String> holder) {
+        String name = holder.getInput();
+        Project project = repository.findByName(name).orElse(null);
+        if (project == null) {
+            holder.fail(CommandResult.notFound("Project", name),
+                    () -> new RuntimeException("Project not found with name: " + name));
+        }
+        return project;
+    }
+}
@@ -4,6 +4,7 @@ import am.ik.yavi.builder.ValidatorBuilder;
 import com.ttl.common.core.command.CommandHolder;
 import com.ttl.common.core.command.crud.BaseCrudUpdateCommandV2;
 import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
 import com.ttl.tool.core.dto.input.ProjectUpdateInput;
 import com.ttl.tool.core.validation.ProjectValidation;
 import com.ttl.tool.domain.entity.Project;
@@ -17,10 +18,16 @@ import java.util.UUID;
  * Command for updating an existing Project.
  * 
  * Features:
- * - Auto-mapping from ProjectUpdateInput to Project entity
+ * - With the version the client read: a single UPDATE ... RETURNING of the
+ *   non-null input fields (PARTIAL mode), guarded by that version; a concurrent
+ *   update fails with StaleVersionException and is not retried
+ * - Without it: auto-mapping onto the loaded project (compile-time generated
+ *   mapper), whose version detects a concurrent update, which the conflict
+ *   retry advice then retries
  * - Input validation using YAVI
- * - Business logic hooks (beforeUpdate, beforeSave, afterSave)
- * - URN field is automatically updated via @PostUpdate callback in entity
+ * - Business logic hooks (afterSave); overriding beforeUpdate or beforeSave
+ *   switches back to loading the project
+ * - URN field is built by the @PostLoad callback, or the @PostUpdate callback when merged
  * 
  * Example usage:
  * 
@@ -39,12 +46,18 @@ import java.util.UUID;
  */
 @Service
 @Slf4j
+@GenerateMapper
 public class ProjectUpdateCommand extends BaseCrudUpdateCommandV2<Project, ProjectUpdateInput, UUID> {
 
     public ProjectUpdateCommand(ProjectRepository repository, EntityMapper entityMapper) {
         super(repository, entityMapper);
     }
 
+    @Override
+    protected UpdateMode getUpdateMode() {
+        return UpdateMode.PARTIAL;
+    }
+
     @Override
     protected UUID extractId(ProjectUpdateInput input) {
         return input.getId();
@@ -54,12 +67,12 @@ public class ProjectUpdateCommand extends BaseCrudUpdateCommandV2<Project, Proje
      * Define validation rules using YAVI
      */
     @Override
-    protected ValidatorBuilder<ProjectUpdateInput> getValidatorBuilder(CommandHolder<ProjectUpdateInput> holder) {
+    protected ValidatorBuilder<ProjectUpdateInput> getStaticValidatorBuilder() {
         return ProjectValidation.update();
     }
 
     /**
-     * After save hook - URN is already updated by @PostUpdate callback in entity
+     * After save hook - URN is already built by the entity callbacks
      */
     @Override
     protected void afterSave(Project entity, ProjectUpdateInput input, CommandHolder<ProjectUpdateInput> holder) {
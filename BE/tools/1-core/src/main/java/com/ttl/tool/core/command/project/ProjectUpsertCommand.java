@@ -0,0 +1,74 @@
+package com.ttl.tool.core.command.project;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.crud.BaseCrudUpsertCommand;
+import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
+import com.ttl.tool.core.dto.input.ProjectCreateInput;
+import com.ttl.tool.core.validation.ProjectValidation;
+import com.ttl.tool.domain.entity.Project;
+import com.ttl.tool.domain.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command for creating or updating a Project by name.
+ * 
+ * Features:
+ * - One INSERT ... ON CONFLICT (name) DO UPDATE statement, no existence check
+ * - Returns the id of the existing project when the name is taken
+ * - executeBatch writes 50 projects per statement, e.g. when syncing from upstream systems
+ * 
+ * Relies on the unique index on projects.name.
+ * 
+ * Example usage:
+ * 
+ * <pre>
+ * {@code
+ * ProjectCreateInput input = ProjectCreateInput.builder()
+ *         .name("My Project")
+ *         .description("Synced description")
+ *         .build();
+ * 
+ * UUID projectId = projectUpsertCommand.execute(input);
+ * }
+ * </pre>
+ */
+@Service
+@Slf4j
+@GenerateMapper
+public class ProjectUpsertCommand extends BaseCrudUpsertCommand<Project, ProjectCreateInput, UUID> {
+
+    public ProjectUpsertCommand(ProjectRepository repository, EntityMapper entityMapper) {
+        super(repository, entityMapper);
+    }
+
+    @Override
+    protected List<String> getConflictKey() {
+        return List.of("name");
+    }
+
+    /**
+     * Define validation rules using YAVI
+     */
+    @Override
+    protected ValidatorBuilder<ProjectCreateInput> getStaticValidatorBuilder() {
+        return ProjectValidation.create();
+    }
+
+    /**
+     * Every column is written, so set the defaults of a new project
+     */
+    @Override
+    protected Project beforeSave(Project entity, ProjectCreateInput input, CommandHolder<ProjectCreateInput> holder) {
+        entity.setActive(input.getActive() == null || input.getActive());
+        if (input.getStatus() == null || input.getStatus().isBlank()) {
+            entity.setStatus("ACTIVE");
+        }
+        return entity;
+    }
+}
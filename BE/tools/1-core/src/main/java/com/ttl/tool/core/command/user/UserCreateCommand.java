@@ -1,9 +1,11 @@
 package com.ttl.tool.core.command.user;
 
 import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchConstraint;
 import com.ttl.common.core.command.CommandHolder;
 import com.ttl.common.core.command.crud.BaseCrudCreateCommandV2;
 import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
 import com.ttl.tool.core.dto.input.UserCreateInput;
 import com.ttl.tool.core.validation.UserValidation;
 import com.ttl.tool.domain.entity.User;
@@ -11,13 +13,14 @@ import com.ttl.tool.domain.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Command for creating a new User.
  * 
  * Features:
- * - Auto-mapping from UserCreateInput to User entity
+ * - Auto-mapping from UserCreateInput to User entity (compile-time generated mapper)
  * - Input validation using YAVI
  * - Business logic hooks (beforeCreate, beforeSave, afterSave)
  * 
@@ -36,6 +39,7 @@ import java.util.UUID;
  */
 @Service
 @Slf4j
+@GenerateMapper
 public class UserCreateCommand extends BaseCrudCreateCommandV2<User, UserCreateInput, UUID> {
 
     private final UserRepository userRepository;
@@ -49,8 +53,16 @@ public class UserCreateCommand extends BaseCrudCreateCommandV2<User, UserCreateI
      * Define validation rules using YAVI
      */
     @Override
-    protected ValidatorBuilder<UserCreateInput> getValidatorBuilder(CommandHolder<UserCreateInput> holder) {
-        return UserValidation.create(userRepository);
+    protected ValidatorBuilder<UserCreateInput> getStaticValidatorBuilder() {
+        return UserValidation.create();
+    }
+
+    /**
+     * Uniqueness checks, one query each after the YAVI rules of validate(), on the calling thread
+     */
+    @Override
+    protected List<BatchConstraint<UserCreateInput, ?>> getBatchConstraints() {
+        return List.of(UserValidation.uniqueUsername(userRepository));
     }
 
     // Example: Set additional fields before save
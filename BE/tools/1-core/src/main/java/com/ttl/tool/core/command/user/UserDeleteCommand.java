@@ -28,6 +28,14 @@ public class UserDeleteCommand extends BaseCrudDeleteCommand<User, UUID> {
         super(repository);
     }
 
+    /**
+     * Single DELETE statement, without loading the user while no hook needs it
+     */
+    @Override
+    protected DeleteStrategy getDeleteStrategy() {
+        return DeleteStrategy.DIRECT;
+    }
+
     // That's it! Deletion is handled automatically.
 
     // If you need custom logic, override the hooks:
@@ -41,11 +49,10 @@ public class UserDeleteCommand extends BaseCrudDeleteCommand<User, UUID> {
     // }
     // }
 
-    // Example: Soft delete instead of hard delete
+    // Example: Soft delete instead of hard delete (UPDATE users SET active = false)
     // @Override
-    // protected void performDelete(UUID id, User entity) {
-    // entity.setActive(false);
-    // repository.save(entity);
+    // protected DeleteStrategy getDeleteStrategy() {
+    // return DeleteStrategy.SOFT;
     // }
 
     // Example: Cleanup after deletion
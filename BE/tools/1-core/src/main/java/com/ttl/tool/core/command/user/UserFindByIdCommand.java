@@ -0,0 +1,47 @@
+package com.ttl.tool.core.command.user;
+
+import com.ttl.common.core.command.BaseQueryCommand;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.CommandResult;
+import com.ttl.tool.domain.entity.User;
+import com.ttl.tool.domain.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Query for a User by ID.
+ * 
+ * Results are cached locally and evicted whenever a User is created,
+ * updated or deleted through the User commands on this node; other nodes
+ * keep their entry until common.query-cache.ttl expires.
+ * 
+ * Example usage:
+ * 
+ * <pre>
+ * {@code
+ * User user = userFindByIdCommand.execute(userId);
+ * }
+ * </pre>
+ */
+@Service
+public class UserFindByIdCommand extends BaseQueryCommand<UUID, User> {
+
+    private final UserRepository repository;
+
+    public UserFindByIdCommand(UserRepository repository) {
+        super(User.class);
+        this.repository = repository;
+    }
+
+    @Override
+    protected User query(CommandHolder<UUID> holder) {
+        UUID id = holder.getInput();
+        User user = repository.findById(id).orElse(null);
+        if (user == null) {
+            holder.fail(CommandResult.notFound("User", id),
+                    () -> new RuntimeException("User not found with id: " + id));
+        }
+        return user;
+    }
+}
@@ -1,9 +1,9 @@
 package com.ttl.tool.core.command.user;
 
 import am.ik.yavi.builder.ValidatorBuilder;
-import com.ttl.common.core.command.CommandHolder;
 import com.ttl.common.core.command.crud.BaseCrudUpdateCommandV2;
 import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
 import com.ttl.tool.core.dto.input.UserUpdateInput;
 import com.ttl.tool.core.validation.UserValidation;
 import com.ttl.tool.domain.entity.User;
@@ -15,6 +15,9 @@ import java.util.UUID;
 
 /**
  * Command for updating an existing User.
+ * Like ProjectUpdateCommand: a single UPDATE guarded by the version of the
+ * input (PARTIAL mode) when the client sends one, otherwise the loaded user
+ * is merged and its version detects a concurrent update.
  * 
  * Example usage:
  * 
@@ -32,12 +35,18 @@ import java.util.UUID;
  */
 @Service
 @Slf4j
+@GenerateMapper
 public class UserUpdateCommand extends BaseCrudUpdateCommandV2<User, UserUpdateInput, UUID> {
 
     public UserUpdateCommand(UserRepository repository, EntityMapper entityMapper) {
         super(repository, entityMapper);
     }
 
+    @Override
+    protected UpdateMode getUpdateMode() {
+        return UpdateMode.PARTIAL;
+    }
+
     @Override
     protected UUID extractId(UserUpdateInput input) {
         return input.getId();
@@ -48,7 +57,7 @@ public class UserUpdateCommand extends BaseCrudUpdateCommandV2<User, UserUpdateI
      * Note: For update, fields are optional. Only validate if present.
      */
     @Override
-    protected ValidatorBuilder<UserUpdateInput> getValidatorBuilder(CommandHolder<UserUpdateInput> holder) {
+    protected ValidatorBuilder<UserUpdateInput> getStaticValidatorBuilder() {
         return UserValidation.update();
     }
 }
@@ -0,0 +1,66 @@
+package com.ttl.tool.core.command.user;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.crud.BaseCrudUpsertCommand;
+import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.mapper.GenerateMapper;
+import com.ttl.tool.core.dto.input.UserCreateInput;
+import com.ttl.tool.core.validation.UserValidation;
+import com.ttl.tool.domain.entity.User;
+import com.ttl.tool.domain.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command for creating or updating a User by username.
+ * Runs one INSERT ... ON CONFLICT (username) DO UPDATE statement, no existence check.
+ * An email taken by another user still fails on its unique constraint.
+ * 
+ * Example usage:
+ * 
+ * <pre>
+ * {@code
+ * UserCreateInput input = UserCreateInput.builder()
+ *         .username("john_doe")
+ *         .email("john@example.com")
+ *         .build();
+ * 
+ * UUID userId = userUpsertCommand.execute(input);
+ * }
+ * </pre>
+ */
+@Service
+@Slf4j
+@GenerateMapper
+public class UserUpsertCommand extends BaseCrudUpsertCommand<User, UserCreateInput, UUID> {
+
+    public UserUpsertCommand(UserRepository repository, EntityMapper entityMapper) {
+        super(repository, entityMapper);
+    }
+
+    @Override
+    protected List<String> getConflictKey() {
+        return List.of("username");
+    }
+
+    /**
+     * Define validation rules using YAVI
+     */
+    @Override
+    protected ValidatorBuilder<UserCreateInput> getStaticValidatorBuilder() {
+        return UserValidation.create();
+    }
+
+    /**
+     * Every column is written, so default a missing active flag to true
+     */
+    @Override
+    protected User beforeSave(User entity, UserCreateInput input, CommandHolder<UserCreateInput> holder) {
+        entity.setActive(input.getActive() == null || input.getActive());
+        return entity;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ttl.tool.core.dto;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Line-based formats of the bulk imports and exports
+ */
+public enum DataFormat {
+
+    /**
+     * Header line with the column names, one row per line, RFC 4180 quoting
+     */
+    CSV("text/csv"),
+
+    /**
+     * One JSON object per line
+     */
+    NDJSON("application/x-ndjson");
+
+    private final MimeType mimeType;
+
+    DataFormat(String mimeType) {
+        this.mimeType = MimeType.valueOf(mimeType);
+    }
+
+    public MimeType getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * Resolve a format from a content type
+     *
+     * @throws IllegalArgumentException if the content type is not supported
+     */
+    public static DataFormat of(String contentType) {
+        if (contentType != null) {
+            MimeType type = MimeType.valueOf(contentType);
+            for (DataFormat format : values()) {
+                if (format.mimeType.equalsTypeAndSubtype(type)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
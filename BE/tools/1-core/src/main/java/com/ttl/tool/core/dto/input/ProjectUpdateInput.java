@@ -21,4 +21,5 @@ public class ProjectUpdateInput {
     private String description;
     private String status; // ACTIVE, INACTIVE, COMPLETED, ARCHIVED
     private Boolean active;
+    private Long version; // optional, the version read: a concurrent update then fails instead of being lost
 }
@@ -20,4 +20,5 @@ public class UserUpdateInput {
     private String username;
     private String email;
     private Boolean active;
+    private Long version; // optional, the version read: a concurrent update then fails instead of being lost
 }
@@ -0,0 +1,115 @@
+package com.ttl.tool.core.exporter;
+
+import com.ttl.tool.core.dto.DataFormat;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base class for exports of an entity as CSV or NDJSON.
+ *
+ * Rows come from a repository Stream backed by a server-side cursor and are written
+ * to the output as they are read; each entity is detached once written, so the
+ * persistence context stays empty and the heap stays flat whatever the row count.
+ *
+ * CSV columns and NDJSON fields are the same, in the order of {@link #getColumns}.
+ *
+ * @param <Entity> Exported entity type
+ * @param <Filter> Filter of the export, the search input of the entity
+ */
+@Slf4j
+public abstract class BaseExporter<Entity, Filter> {
+
+    private final JsonMapper jsonMapper = JsonMapper.shared();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Entities to export, read from a server-side cursor
+     */
+    protected abstract Stream<Entity> stream(Filter filter);
+
+    /**
+     * Exported columns, in output order
+     */
+    protected abstract List<Column<Entity>> getColumns();
+
+    /**
+     * Write all matching entities to the output, which is flushed but not closed
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Filter filter, DataFormat format, OutputStream out) {
+        List<Column<Entity>> columns = getColumns();
+        long rows = 0;
+        try (Stream<Entity> entities = stream(filter)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == DataFormat.CSV) {
+                writeCsv(writer, columns.stream().map(Column::name).iterator());
+            }
+            for (Iterator<Entity> iterator = entities.iterator(); iterator.hasNext();) {
+                Entity entity = iterator.next();
+                if (format == DataFormat.CSV) {
+                    writeCsv(writer, columns.stream().map(column -> column.value().apply(entity)).iterator());
+                } else {
+                    Map<String, Object> fields = new LinkedHashMap<>();
+                    columns.forEach(column -> fields.put(column.name(), column.value().apply(entity)));
+                    writer.write(jsonMapper.writeValueAsString(fields));
+                    writer.write('\n');
+                }
+                entityManager.detach(entity);
+                rows++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} rows as {}", rows, format);
+        return rows;
+    }
+
+    private static void writeCsv(Writer writer, Iterator<?> values) throws IOException {
+        while (values.hasNext()) {
+            Object value = values.next();
+            if (value != null) {
+                String text = value.toString();
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                        || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                    text = '"' + text.replace("\"", "\"\"") + '"';
+                }
+                writer.write(text);
+            }
+            if (values.hasNext()) {
+                writer.write(',');
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * An exported column
+     *
+     * @param name  CSV header and NDJSON field name
+     * @param value extracts the column from an entity
+     */
+    public record Column<Entity>(String name, Function<Entity, ?> value) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.ttl.tool.core.exporter;
+
+import com.ttl.tool.domain.entity.Project;
+import com.ttl.tool.domain.repository.ProjectRepository;
+import com.ttl.tool.shared.dto.ProjectSearchInput;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Export of projects, filtered by status and active flag.
+ * The name, description, status and active columns can be imported back with ProjectImporter.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectExporter extends BaseExporter<Project, ProjectSearchInput> {
+
+    private final ProjectRepository projectRepository;
+
+    @Override
+    protected Stream<Project> stream(ProjectSearchInput filter) {
+        if (filter == null) {
+            return projectRepository.streamAll(null, null);
+        }
+        return projectRepository.streamAll(
+                StringUtils.hasText(filter.getStatus()) ? filter.getStatus() : null, filter.getActive());
+    }
+
+    @Override
+    protected List<Column<Project>> getColumns() {
+        return List.of(
+                new Column<>("id", Project::getId),
+                new Column<>("name", Project::getName),
+                new Column<>("description", Project::getDescription),
+                new Column<>("status", Project::getStatus),
+                new Column<>("active", Project::isActive),
+                new Column<>("urn", Project::getUrn),
+                new Column<>("createdAt", Project::getCreatedAt),
+                new Column<>("updatedAt", Project::getUpdatedAt));
+    }
+}
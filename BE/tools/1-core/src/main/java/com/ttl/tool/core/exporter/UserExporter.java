@@ -0,0 +1,43 @@
+package com.ttl.tool.core.exporter;
+
+import com.ttl.tool.domain.entity.User;
+import com.ttl.tool.domain.repository.UserRepository;
+import com.ttl.tool.shared.dto.UserSearchInput;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Export of users, with the filters of userSearch.
+ * The username, email and active columns can be imported back with UserImporter.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExporter extends BaseExporter<User, UserSearchInput> {
+
+    private final UserRepository userRepository;
+
+    @Override
+    protected Stream<User> stream(UserSearchInput filter) {
+        if (filter == null) {
+            return userRepository.streamAll(null, null);
+        }
+        return userRepository.streamAll(
+                StringUtils.hasText(filter.getUsername()) ? filter.getUsername() : null,
+                StringUtils.hasText(filter.getEmail()) ? filter.getEmail() : null);
+    }
+
+    @Override
+    protected List<Column<User>> getColumns() {
+        return List.of(
+                new Column<>("id", User::getId),
+                new Column<>("username", User::getUsername),
+                new Column<>("email", User::getEmail),
+                new Column<>("active", User::isActive),
+                new Column<>("createdAt", User::getCreatedAt),
+                new Column<>("updatedAt", User::getUpdatedAt));
+    }
+}
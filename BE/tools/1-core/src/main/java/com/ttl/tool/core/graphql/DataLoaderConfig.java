@@ -0,0 +1,23 @@
+package com.ttl.tool.core.graphql;
+
+import com.ttl.common.graphql.dataloader.EntityBatchLoader;
+import com.ttl.tool.domain.entity.User;
+import com.ttl.tool.domain.repository.UserRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Batch loaders behind the nested fields of the GraphQL APIs.
+ * Each one becomes a DataLoader of every GraphQL request.
+ */
+@Configuration
+public class DataLoaderConfig {
+
+    /**
+     * Users by username, the value of the createdBy and updatedBy audit columns
+     */
+    @Bean
+    public EntityBatchLoader<String, User> userByUsernameLoader(UserRepository userRepository) {
+        return EntityBatchLoader.of("userByUsername", userRepository::findByUsernameIn, User::getUsername);
+    }
+}
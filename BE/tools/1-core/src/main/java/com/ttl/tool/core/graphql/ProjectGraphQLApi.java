@@ -1,25 +1,41 @@
 package com.ttl.tool.core.graphql;
 
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.Context;
+import com.ttl.common.graphql.CommandResults;
+import com.ttl.common.graphql.dataloader.EntityBatchLoader;
+import com.ttl.common.graphql.projection.SelectionProjections;
 import com.ttl.tool.core.command.project.ProjectCreateCommand;
 import com.ttl.tool.core.command.project.ProjectDeleteCommand;
+import com.ttl.tool.core.command.project.ProjectFindByIdCommand;
+import com.ttl.tool.core.command.project.ProjectFindByNameCommand;
 import com.ttl.tool.core.command.project.ProjectUpdateCommand;
 import com.ttl.tool.core.dto.input.ProjectCreateInput;
 import com.ttl.tool.core.dto.input.ProjectUpdateInput;
 import com.ttl.tool.domain.entity.Project;
+import com.ttl.tool.domain.entity.User;
 import com.ttl.tool.domain.repository.ProjectRepository;
 import com.ttl.tool.shared.dto.ProjectSearchInput;
+import graphql.execution.DataFetcherResult;
 import io.leangen.graphql.annotations.GraphQLArgument;
+import io.leangen.graphql.annotations.GraphQLContext;
+import io.leangen.graphql.annotations.GraphQLEnvironment;
 import io.leangen.graphql.annotations.GraphQLMutation;
 import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GraphQL API for Project operations.
@@ -32,6 +48,8 @@ import java.util.UUID;
  * - CRUD operations for projects
  * - Search and filter capabilities
  * - URN field is automatically populated in responses
+ * - createdByUser/updatedByUser are batched per request (no N+1 on lists)
+ * - List queries read only the selected columns (SelectionProjections)
  * 
  * Example GraphQL queries and mutations:
  * 
@@ -52,6 +70,7 @@ import java.util.UUID;
  * id
  * name
  * urn
+ * createdByUser { username email }
  * }
  * }
  * 
@@ -84,92 +103,126 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ProjectGraphQLApi {
 
+    /**
+     * Project fields that are not columns, with the columns they read
+     */
+    private static final Map<String, Set<String>> DERIVED_FIELDS = Map.of(
+            "urn", Set.of("id"),
+            "createdByUser", Set.of("createdBy"),
+            "updatedByUser", Set.of("updatedBy"));
+
     // Commands for mutations
     private final ProjectCreateCommand projectCreateCommand;
     private final ProjectUpdateCommand projectUpdateCommand;
     private final ProjectDeleteCommand projectDeleteCommand;
 
-    // Repository for queries (queries don't need commands)
+    // Cached queries for hot lookups
+    private final ProjectFindByIdCommand projectFindByIdCommand;
+    private final ProjectFindByNameCommand projectFindByNameCommand;
+
+    // Repository for list queries
     private final ProjectRepository projectRepository;
 
+    // Column projections for list queries
+    private final SelectionProjections selectionProjections;
+
+    // Batched lookup for the audit user fields
+    private final EntityBatchLoader<String, User> userByUsernameLoader;
+
     /**
-     * Query: Get a single project by ID
+     * Query: Get a single project by ID, cached until the next project write
      * The URN field will be automatically populated by the entity's @PostLoad
      * callback
      */
     @GraphQLQuery(description = "Get project by ID")
-    public Project projectFindById(@GraphQLArgument(name = "id") String id) {
-        return projectRepository.findById(UUID.fromString(id))
-                .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
+    public DataFetcherResult<Project> projectFindById(@GraphQLArgument(name = "id") String id) {
+        return CommandResults.toGraphQL(projectFindByIdCommand.executeForResult(UUID.fromString(id)));
     }
 
     /**
-     * Query: Get a project by name
+     * Query: Get a project by name, cached until the next project write
      */
     @GraphQLQuery(description = "Get project by name")
-    public Project projectFindByName(@GraphQLArgument(name = "name") String name) {
-        return projectRepository.findByName(name)
-                .orElseThrow(() -> new RuntimeException("Project not found with name: " + name));
+    public DataFetcherResult<Project> projectFindByName(@GraphQLArgument(name = "name") String name) {
+        return CommandResults.toGraphQL(projectFindByNameCommand.executeForResult(name));
     }
 
     /**
      * Query: Search projects with pagination
      * The URN field will be automatically populated for each project
+     * Only the selected columns are read, unless a selected field needs the entity
      */
     @GraphQLQuery(description = "Search projects with filters")
     public List<Project> projectSearch(
             @GraphQLArgument(name = "filter") ProjectSearchInput filter,
             @GraphQLArgument(name = "page") Integer page,
-            @GraphQLArgument(name = "size") Integer size) {
+            @GraphQLArgument(name = "size") Integer size,
+            @GraphQLEnvironment ResolutionEnvironment env) {
 
         int pageNumber = page != null ? page : 0;
         int pageSize = size != null ? size : 10;
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
-        Page<Project> projectPage;
-
-        if (filter != null) {
-            // Apply filters if provided
-            if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
-                projectPage = projectRepository.findByStatus(filter.getStatus(), pageable);
-            } else if (Boolean.TRUE.equals(filter.getActive())) {
-                projectPage = projectRepository.findByActiveTrue(pageable);
-            } else {
-                projectPage = projectRepository.findAll(pageable);
-            }
-        } else {
-            projectPage = projectRepository.findAll(pageable);
-        }
-
-        return projectPage.getContent();
+        return selectionProjections.findAll(env.dataFetchingEnvironment, Project.class,
+                        searchSpecification(filter), pageable, DERIVED_FIELDS)
+                .orElseGet(() -> searchProjects(filter, pageable));
     }
 
     /**
      * Query: Get all active projects
+     * Only the selected columns are read, like projectSearch
      */
     @GraphQLQuery(description = "Get all active projects")
     public List<Project> projectFindAllActive(
             @GraphQLArgument(name = "page") Integer page,
-            @GraphQLArgument(name = "size") Integer size) {
+            @GraphQLArgument(name = "size") Integer size,
+            @GraphQLEnvironment ResolutionEnvironment env) {
 
         int pageNumber = page != null ? page : 0;
         int pageSize = size != null ? size : 10;
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
-        return projectRepository.findByActiveTrue(pageable).getContent();
+        return selectionProjections.findAll(env.dataFetchingEnvironment, Project.class,
+                        (root, query, cb) -> cb.isTrue(root.get("active")), pageable, DERIVED_FIELDS)
+                .orElseGet(() -> projectRepository.findByActiveTrue(pageable).getContent());
+    }
+
+    /**
+     * Field: User who created the project
+     * Batched through the userByUsername DataLoader, so a list of projects
+     * resolves all its creators with one query
+     */
+    @GraphQLQuery(name = "createdByUser", description = "User who created the project")
+    public CompletableFuture<User> createdByUser(@GraphQLContext Project project,
+            @GraphQLEnvironment ResolutionEnvironment env) {
+        return userByUsernameLoader.load(env.dataFetchingEnvironment, project.getCreatedBy());
+    }
+
+    /**
+     * Field: User who last updated the project, batched like createdByUser
+     */
+    @GraphQLQuery(name = "updatedByUser", description = "User who last updated the project")
+    public CompletableFuture<User> updatedByUser(@GraphQLContext Project project,
+            @GraphQLEnvironment ResolutionEnvironment env) {
+        return userByUsernameLoader.load(env.dataFetchingEnvironment, project.getUpdatedBy());
     }
 
     /**
      * Mutation: Create a new project
      * Uses ProjectCreateCommand to execute the business logic
      * The URN will be automatically generated as "tools:project:{id}"
+     * Clients retrying on timeouts pass the same idempotencyKey to get the
+     * first result back instead of creating a duplicate
      * 
      * @return The ID of the created project
      */
     @GraphQLMutation(name = "projectCreate", description = "Create a new project")
-    public UUID projectCreate(@GraphQLArgument(name = "input") ProjectCreateInput input) {
+    public UUID projectCreate(
+            @GraphQLArgument(name = "input") ProjectCreateInput input,
+            @GraphQLArgument(name = "idempotencyKey", description = "Retries with the same key return the first result")
+            String idempotencyKey) {
         // Execute the command and return the created project ID
-        return projectCreateCommand.execute(input);
+        return projectCreateCommand.execute(new CommandHolder<>(input, Context.withIdempotencyKey(idempotencyKey)));
     }
 
     /**
@@ -180,15 +233,15 @@ public class ProjectGraphQLApi {
      * @return The updated project entity
      */
     @GraphQLMutation(description = "Update an existing project")
-    public Project projectUpdate(
+    public DataFetcherResult<Project> projectUpdate(
             @GraphQLArgument(name = "id") String id,
             @GraphQLArgument(name = "input") ProjectUpdateInput input) {
 
         // Set the ID in the input
         input.setId(UUID.fromString(id));
 
-        // Execute the command and return the updated project entity
-        return projectUpdateCommand.execute(input);
+        // Execute the command, invalid input and a missing project become GraphQL errors
+        return CommandResults.toGraphQL(projectUpdateCommand.executeForResult(input));
     }
 
     /**
@@ -198,9 +251,43 @@ public class ProjectGraphQLApi {
      * @return true if deletion was successful
      */
     @GraphQLMutation(description = "Delete a project")
-    public Boolean projectDelete(@GraphQLArgument(name = "id") String id) {
-        // Execute the command and return success status
-        projectDeleteCommand.execute(UUID.fromString(id));
-        return true;
+    public DataFetcherResult<Boolean> projectDelete(@GraphQLArgument(name = "id") String id) {
+        // Execute the command and return success status, or a NOT_FOUND error
+        return CommandResults.toGraphQL(projectDeleteCommand.executeForResult(UUID.fromString(id)), true);
+    }
+
+    /**
+     * Filters of projectSearch as a Specification, for the column projection
+     */
+    private static Specification<Project> searchSpecification(ProjectSearchInput filter) {
+        if (filter != null && filter.getStatus() != null && !filter.getStatus().isBlank()) {
+            return (root, query, cb) -> cb.equal(root.get("status"), filter.getStatus());
+        }
+        if (filter != null && Boolean.TRUE.equals(filter.getActive())) {
+            return (root, query, cb) -> cb.isTrue(root.get("active"));
+        }
+        return null;
+    }
+
+    /**
+     * Load full projects with the filters of projectSearch
+     */
+    private List<Project> searchProjects(ProjectSearchInput filter, Pageable pageable) {
+        Page<Project> projectPage;
+
+        if (filter != null) {
+            // Apply filters if provided
+            if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
+                projectPage = projectRepository.findByStatus(filter.getStatus(), pageable);
+            } else if (Boolean.TRUE.equals(filter.getActive())) {
+                projectPage = projectRepository.findByActiveTrue(pageable);
+            } else {
+                projectPage = projectRepository.findAll(pageable);
+            }
+        } else {
+            projectPage = projectRepository.findAll(pageable);
+        }
+
+        return projectPage.getContent();
     }
 }
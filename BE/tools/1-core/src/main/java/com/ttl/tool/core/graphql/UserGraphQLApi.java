@@ -1,16 +1,26 @@
 package com.ttl.tool.core.graphql;
 
+import com.ttl.common.core.command.CommandHolder;
+import com.ttl.common.core.command.Context;
+import com.ttl.common.graphql.CommandResults;
+import com.ttl.common.graphql.dataloader.EntityBatchLoader;
+import com.ttl.common.graphql.projection.SelectionProjections;
 import com.ttl.tool.core.command.user.UserCreateCommand;
 import com.ttl.tool.core.command.user.UserDeleteCommand;
+import com.ttl.tool.core.command.user.UserFindByIdCommand;
 import com.ttl.tool.core.command.user.UserUpdateCommand;
 import com.ttl.tool.core.dto.input.UserCreateInput;
 import com.ttl.tool.core.dto.input.UserUpdateInput;
 import com.ttl.tool.domain.entity.User;
 import com.ttl.tool.domain.repository.UserRepository;
 import com.ttl.tool.shared.dto.UserSearchInput;
+import graphql.execution.DataFetcherResult;
 import io.leangen.graphql.annotations.GraphQLArgument;
+import io.leangen.graphql.annotations.GraphQLContext;
+import io.leangen.graphql.annotations.GraphQLEnvironment;
 import io.leangen.graphql.annotations.GraphQLMutation;
 import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.execution.ResolutionEnvironment;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,7 +29,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GraphQL API for User operations.
@@ -29,7 +42,8 @@ import java.util.UUID;
  * GraphQL API → Command → Repository
  * 
  * Example usage:
- * - Queries (getUser, searchUsers) call Repository directly
+ * - userFindById goes through the cached UserFindByIdCommand
+ * - List queries (userSearch) read only the selected columns, or call Repository directly
  * - Mutations (userCreate, userUpdate, userDelete) call Commands
  */
 @Component
@@ -37,50 +51,95 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserGraphQLApi {
 
+    /**
+     * User fields that are not columns, with the columns they read
+     */
+    private static final Map<String, Set<String>> DERIVED_FIELDS = Map.of(
+            "createdByUser", Set.of("createdBy"),
+            "updatedByUser", Set.of("updatedBy"));
+
     // Commands for mutations
     private final UserCreateCommand userCreateCommand;
     private final UserUpdateCommand userUpdateCommand;
     private final UserDeleteCommand userDeleteCommand;
 
-    // Repository for queries (queries don't need commands)
+    // Cached query for hot lookups
+    private final UserFindByIdCommand userFindByIdCommand;
+
+    // Repository for list queries
     private final UserRepository userRepository;
 
+    // Column projections for list queries
+    private final SelectionProjections selectionProjections;
+
+    // Batched lookup for the audit user fields
+    private final EntityBatchLoader<String, User> userByUsernameLoader;
+
     /**
      * Query: Get a single user by ID
      */
     @GraphQLQuery(description = "Get user by ID")
-    public User userFindById(@GraphQLArgument(name = "id") String id) {
-        return userRepository.findById(UUID.fromString(id))
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+    public DataFetcherResult<User> userFindById(@GraphQLArgument(name = "id") String id) {
+        return CommandResults.toGraphQL(userFindByIdCommand.executeForResult(UUID.fromString(id)));
     }
 
     /**
      * Query: Search users with pagination
+     * Only the selected columns are read, unless a selected field needs the entity
      */
     @GraphQLQuery(description = "Search users with filters")
     public List<User> userSearch(
             @GraphQLArgument(name = "filter") UserSearchInput filter,
             @GraphQLArgument(name = "page") Integer page,
-            @GraphQLArgument(name = "size") Integer size) {
+            @GraphQLArgument(name = "size") Integer size,
+            @GraphQLEnvironment ResolutionEnvironment env) {
 
         int pageNumber = page != null ? page : 0;
         int pageSize = size != null ? size : 10;
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
-        Page<User> userPage = userRepository.findAll(pageable);
-        return userPage.getContent();
+        return selectionProjections.findAll(env.dataFetchingEnvironment, User.class, null, pageable, DERIVED_FIELDS)
+                .orElseGet(() -> {
+                    Page<User> userPage = userRepository.findAll(pageable);
+                    return userPage.getContent();
+                });
+    }
+
+    /**
+     * Field: User who created the user
+     * Batched through the userByUsername DataLoader, so a list of users
+     * resolves all its creators with one query
+     */
+    @GraphQLQuery(name = "createdByUser", description = "User who created the user")
+    public CompletableFuture<User> createdByUser(@GraphQLContext User user,
+            @GraphQLEnvironment ResolutionEnvironment env) {
+        return userByUsernameLoader.load(env.dataFetchingEnvironment, user.getCreatedBy());
+    }
+
+    /**
+     * Field: User who last updated the user, batched like createdByUser
+     */
+    @GraphQLQuery(name = "updatedByUser", description = "User who last updated the user")
+    public CompletableFuture<User> updatedByUser(@GraphQLContext User user,
+            @GraphQLEnvironment ResolutionEnvironment env) {
+        return userByUsernameLoader.load(env.dataFetchingEnvironment, user.getUpdatedBy());
     }
 
     /**
      * Mutation: Create a new user
      * Uses UserCreateCommand to execute the business logic
+     * Clients retrying on timeouts pass the same idempotencyKey to get the
+     * first result back instead of creating a duplicate
      * 
      * @return The ID of the created user
      */
     @GraphQLMutation(name = "userCreate", description = "Create a new user")
-    public UUID userCreate(@GraphQLArgument(name = "input") UserCreateInput input) {
+    public UUID userCreate(
+            @GraphQLArgument(name = "input") UserCreateInput input,
+            @GraphQLArgument(name = "idempotencyKey", description = "Retries with the same key return the first result")
+            String idempotencyKey) {
         // Execute the command and return the created user ID
-        return userCreateCommand.execute(input);
+        return userCreateCommand.execute(new CommandHolder<>(input, Context.withIdempotencyKey(idempotencyKey)));
     }
 
     /**
@@ -90,15 +149,15 @@ public class UserGraphQLApi {
      * @return The updated user entity
      */
     @GraphQLMutation(description = "Update an existing user")
-    public User userUpdate(
+    public DataFetcherResult<User> userUpdate(
             @GraphQLArgument(name = "id") String id,
             @GraphQLArgument(name = "input") UserUpdateInput input) {
 
         // Set the ID in the input
         input.setId(UUID.fromString(id));
 
-        // Execute the command and return the updated user entity
-        return userUpdateCommand.execute(input);
+        // Execute the command, invalid input and a missing user become GraphQL errors
+        return CommandResults.toGraphQL(userUpdateCommand.executeForResult(input));
     }
 
     /**
@@ -108,9 +167,8 @@ public class UserGraphQLApi {
      * @return true if deletion was successful
      */
     @GraphQLMutation(description = "Delete a user")
-    public Boolean userDelete(@GraphQLArgument(name = "id") String id) {
-        // Execute the command and return success status
-        userDeleteCommand.execute(UUID.fromString(id));
-        return true;
+    public DataFetcherResult<Boolean> userDelete(@GraphQLArgument(name = "id") String id) {
+        // Execute the command and return success status, or a NOT_FOUND error
+        return CommandResults.toGraphQL(userDeleteCommand.executeForResult(UUID.fromString(id)), true);
     }
 }
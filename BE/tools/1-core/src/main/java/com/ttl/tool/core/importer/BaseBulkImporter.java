@@ -0,0 +1,264 @@
+package com.ttl.tool.core.importer;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolation;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import com.ttl.common.core.command.QueryCache;
+import com.ttl.tool.core.dto.DataFormat;
+import com.ttl.tool.core.importer.ImportResult.RowError;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class for bulk imports of an entity from a CSV or NDJSON upload.
+ *
+ * Flow:
+ * 1. Read the upload one row at a time and validate it with the same YAVI rules as the create command
+ * 2. Stream valid rows through COPY into a temporary staging table (dropped on commit)
+ * 3. Reject staged rows that conflict with each other or with existing rows (getRejectStatements)
+ * 4. Merge the remaining rows into the entity table with a single INSERT ... SELECT (getMergeStatement)
+ *
+ * Neither the upload nor the staged rows are held in memory, only the current row,
+ * the COPY buffer and the first errors of the report. A row longer than
+ * tools.import.max-line-length characters is rejected without being buffered.
+ *
+ * Staging columns are TEXT, the merge statement casts them to the column types.
+ *
+ * The transaction, and its connection, stays open while the upload is read
+ * through COPY, so a slow client holds a pooled connection. Every statement,
+ * COPY included, is bounded by tools.import.statement-timeout (SET LOCAL
+ * statement_timeout); an upload that takes longer fails and rolls back.
+ * Caches reading the entity are evicted once the import commits.
+ *
+ * @param <Input> Row type, the input DTO of the create command
+ */
+@Slf4j
+public abstract class BaseBulkImporter<Input> {
+
+    private static final String ERROR_COLUMNS = "field, message_key, message";
+
+    private final Class<Input> inputType;
+    private volatile Validator<Input> validator;
+    private AuditorAware<?> auditorAware;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tools.import.max-errors:1000}")
+    private int maxErrors = 1000;
+
+    @Value("${tools.import.max-line-length:65536}")
+    private int maxLineLength = 65536;
+
+    @Value("${tools.import.statement-timeout:5m}")
+    private Duration statementTimeout = Duration.ofMinutes(5);
+
+    @SuppressWarnings("unchecked")
+    protected BaseBulkImporter() {
+        ParameterizedType type = (ParameterizedType) getClass().getGenericSuperclass();
+        this.inputType = (Class<Input>) type.getActualTypeArguments()[0];
+    }
+
+    /**
+     * Current auditor for the created-by and updated-by columns
+     */
+    @Autowired(required = false)
+    public void setAuditorAware(AuditorAware<?> auditorAware) {
+        this.auditorAware = auditorAware;
+    }
+
+    /**
+     * Entity the merge statement writes, whose query caches are evicted
+     */
+    protected abstract Class<?> getEntityClass();
+
+    /**
+     * Validation rules applied to each row before it is staged
+     */
+    protected abstract ValidatorBuilder<Input> getValidatorBuilder();
+
+    /**
+     * Name of the temporary staging table
+     */
+    protected abstract String getStagingTable();
+
+    /**
+     * Staging columns, in the order of {@link #toRow}
+     */
+    protected abstract List<String> getColumns();
+
+    /**
+     * Values of a valid row, in the order of {@link #getColumns}
+     */
+    protected abstract Object[] toRow(Input input);
+
+    /**
+     * Statements that reject staged rows by setting their field, message_key and message.
+     * They run in order, later statements only see rows that are still accepted.
+     */
+    protected List<String> getRejectStatements() {
+        return List.of();
+    }
+
+    /**
+     * INSERT ... SELECT of the accepted staged rows (message_key IS NULL) into the entity table.
+     * Parameter 1 is the current time and parameter 2 the current auditor.
+     */
+    protected abstract String getMergeStatement();
+
+    /**
+     * Import an upload in one transaction
+     *
+     * @param in     the upload, read once and not closed
+     * @param format format of the upload
+     * @return counts and the first errors, ordered by line
+     */
+    @Transactional
+    public ImportResult importRows(InputStream in, DataFormat format) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> importRows(connection, in, format));
+    }
+
+    ImportResult importRows(Connection connection, InputStream in, DataFormat format) throws SQLException {
+        String table = getStagingTable();
+        List<String> columns = getColumns();
+        try (Statement statement = connection.createStatement()) {
+            // Bounds the COPY, and so the time the upload may take to arrive
+            statement.execute("SET LOCAL statement_timeout = " + statementTimeout.toMillis());
+            statement.execute("CREATE TEMP TABLE " + table + " (line BIGINT, "
+                    + String.join(" TEXT, ", columns) + " TEXT, field TEXT, message_key TEXT, message TEXT) "
+                    + "ON COMMIT DROP");
+        }
+
+        List<RowError> errors = new ArrayList<>();
+        long rows = 0;
+        long rejected = 0;
+        CopyRowWriter writer = new CopyRowWriter(connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (line, " + String.join(", ", columns) + ") FROM STDIN"));
+        try {
+            ImportReader<Input> reader = new ImportReader<>(inputType, format,
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), maxLineLength);
+            for (ImportReader.Row<Input> row = reader.next(); row != null; row = reader.next()) {
+                rows++;
+                if (row.error() != null) {
+                    rejected++;
+                    addError(errors, new RowError(row.line(), null, "error.import.unreadable", row.error()));
+                    continue;
+                }
+                ConstraintViolations violations = validator().validate(row.input());
+                if (!violations.isValid()) {
+                    rejected++;
+                    for (ConstraintViolation violation : violations) {
+                        addError(errors, new RowError(row.line(), violation.name(), violation.messageKey(),
+                                violation.message()));
+                    }
+                    continue;
+                }
+                Object[] values = toRow(row.input());
+                Object[] line = new Object[values.length + 1];
+                line[0] = row.line();
+                System.arraycopy(values, 0, line, 1, values.length);
+                writer.write(line);
+            }
+            writer.close();
+        } catch (IOException e) {
+            writer.cancel();
+            throw new UncheckedIOException(e);
+        } catch (SQLException | RuntimeException e) {
+            writer.cancel();
+            throw e;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            // Temporary tables are not analyzed automatically, the rejects join them with themselves
+            statement.execute("ANALYZE " + table);
+            for (String reject : getRejectStatements()) {
+                statement.executeUpdate(reject);
+            }
+        }
+
+        long imported;
+        try (PreparedStatement merge = connection.prepareStatement(getMergeStatement())) {
+            merge.setObject(1, LocalDateTime.now());
+            merge.setObject(2, auditorAware == null ? null
+                    : Objects.toString(auditorAware.getCurrentAuditor().orElse(null), null));
+            imported = merge.executeUpdate();
+        }
+        if (imported > 0) {
+            QueryCache.evictAfterCommit(getEntityClass());
+        }
+
+        try (PreparedStatement query = connection.prepareStatement("SELECT line, " + ERROR_COLUMNS
+                + ", count(*) OVER () FROM " + table + " WHERE message_key IS NOT NULL ORDER BY line LIMIT ?")) {
+            query.setInt(1, maxErrors);
+            try (ResultSet resultSet = query.executeQuery()) {
+                boolean first = true;
+                while (resultSet.next()) {
+                    if (first) {
+                        rejected += resultSet.getLong(5);
+                        first = false;
+                    }
+                    errors.add(new RowError(resultSet.getLong(1), resultSet.getString(2),
+                            resultSet.getString(3), resultSet.getString(4)));
+                }
+            }
+        }
+        errors.sort(Comparator.comparingLong(RowError::line));
+        List<RowError> report = errors.size() > maxErrors ? List.copyOf(errors.subList(0, maxErrors)) : errors;
+
+        log.info("Imported {} of {} rows into {} ({} rejected)", imported, rows, table, rejected);
+        return new ImportResult(rows, imported, rejected, report);
+    }
+
+    /**
+     * Reject statement for rows repeating the column value of an earlier accepted row
+     */
+    protected String rejectDuplicates(String column) {
+        String table = getStagingTable();
+        return "UPDATE " + table + " s SET (" + ERROR_COLUMNS + ") = ('" + column
+                + "', 'error.entity.duplicate', 'Duplicate " + column + " in import') "
+                + "FROM " + table + " d WHERE d." + column + " = s." + column
+                + " AND d.line < s.line AND d.message_key IS NULL AND s.message_key IS NULL";
+    }
+
+    private void addError(List<RowError> errors, RowError error) {
+        if (errors.size() < maxErrors) {
+            errors.add(error);
+        }
+    }
+
+    private Validator<Input> validator() {
+        Validator<Input> current = validator;
+        if (current == null) {
+            current = getValidatorBuilder().build();
+            validator = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,175 @@
+package com.ttl.tool.core.importer;
+
+import com.ttl.tool.core.dto.DataFormat;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an upload one row at a time, only the current row is held in memory.
+ * Rows that cannot be read are returned with an error instead of ending the import.
+ *
+ * A row is at most maxLineLength characters, a quoted CSV cell spanning lines
+ * included: the rest of a longer line is skipped without being buffered and
+ * the row is returned with an error.
+ */
+final class ImportReader<Input> {
+
+    private final Class<Input> inputType;
+    private final DataFormat format;
+    private final BufferedReader reader;
+    private final int maxLineLength;
+    private final JsonMapper jsonMapper = JsonMapper.shared();
+    private final StringBuilder lineBuffer = new StringBuilder();
+
+    private List<String> header;
+    private long lineNumber;
+    private boolean lineTooLong;
+
+    ImportReader(Class<Input> inputType, DataFormat format, BufferedReader reader, int maxLineLength) {
+        this.inputType = inputType;
+        this.format = format;
+        this.reader = reader;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Next row of the upload, or null at the end
+     */
+    Row<Input> next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank() && !lineTooLong);
+
+        if (lineTooLong) {
+            return tooLong(lineNumber);
+        }
+        return format == DataFormat.CSV ? csvRow(line) : ndjsonRow(line);
+    }
+
+    private Row<Input> ndjsonRow(String line) {
+        try {
+            return new Row<>(lineNumber, jsonMapper.readValue(line, inputType), null);
+        } catch (JacksonException e) {
+            return new Row<>(lineNumber, null, e.getOriginalMessage());
+        }
+    }
+
+    private Row<Input> csvRow(String line) throws IOException {
+        long start = lineNumber;
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; ; i++) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // A quoted cell spans lines, continue with the next one
+                String next = readLine();
+                if (next == null) {
+                    return new Row<>(start, null, "Unterminated quoted cell");
+                }
+                lineNumber++;
+                if (lineTooLong || cell.length() + 1 + next.length() > maxLineLength) {
+                    return tooLong(start);
+                }
+                cell.append('\n');
+                line = next;
+                i = -1;
+                continue;
+            }
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    cell.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+
+        if (header == null) {
+            header = cells.stream().map(String::trim).toList();
+            return next();
+        }
+        if (cells.size() != header.size()) {
+            return new Row<>(start, null,
+                    "Expected " + header.size() + " cells but found " + cells.size());
+        }
+
+        // Empty cells are missing values, the same as absent fields in NDJSON
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            values.put(header.get(i), cells.get(i).isEmpty() ? null : cells.get(i));
+        }
+        try {
+            return new Row<>(start, jsonMapper.convertValue(values, inputType), null);
+        } catch (IllegalArgumentException e) {
+            return new Row<>(start, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Next line without its terminator, null at the end of the upload.
+     * A line longer than maxLineLength is read to its end but not kept:
+     * lineTooLong is set and the returned line is empty.
+     */
+    private String readLine() throws IOException {
+        lineBuffer.setLength(0);
+        lineTooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        for (; c != -1 && c != '\n'; c = reader.read()) {
+            // One extra character is kept, a trailing \r is only known at the line end
+            if (lineBuffer.length() > maxLineLength) {
+                lineTooLong = true;
+            } else {
+                lineBuffer.append((char) c);
+            }
+        }
+        int length = lineBuffer.length();
+        if (length > 0 && lineBuffer.charAt(length - 1) == '\r') {
+            lineBuffer.setLength(--length);
+        }
+        if (lineTooLong || length > maxLineLength) {
+            lineTooLong = true;
+            return "";
+        }
+        return lineBuffer.toString();
+    }
+
+    private Row<Input> tooLong(long line) {
+        return new Row<>(line, null, "Row longer than " + maxLineLength + " characters");
+    }
+
+    /**
+     * A row of the upload, either the input or the reason it could not be read
+     */
+    record Row<Input>(long line, Input input, String error) {
+    }
+}
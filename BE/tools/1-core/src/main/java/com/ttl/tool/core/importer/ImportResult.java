@@ -0,0 +1,28 @@
+package com.ttl.tool.core.importer;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * Only the first errors are kept, up to tools.import.max-errors, so a file
+ * full of bad rows does not grow the report; rejected still counts all of them.
+ *
+ * @param rows     data rows read from the upload
+ * @param imported rows inserted or updated
+ * @param rejected rows skipped because of an error
+ * @param errors   the first errors, ordered by line
+ */
+public record ImportResult(long rows, long imported, long rejected, List<RowError> errors) {
+
+    /**
+     * Why a row was rejected
+     *
+     * @param line       line of the row in the upload, starting at 1
+     * @param field      offending field, null when the whole row is unreadable
+     * @param messageKey message key, like the ones of command validation
+     * @param message    default message
+     */
+    public record RowError(long line, String field, String messageKey, String message) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.ttl.tool.core.importer;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.tool.core.dto.input.ProjectCreateInput;
+import com.ttl.tool.core.validation.ProjectValidation;
+import com.ttl.tool.domain.entity.Project;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Bulk import of projects, e.g. when onboarding a tenant.
+ *
+ * Rows use the fields of ProjectCreateInput. A row whose name already exists
+ * updates that project, like ProjectUpsertCommand. Missing status and active
+ * default to ACTIVE and true.
+ *
+ * Example CSV upload:
+ *
+ * <pre>
+ * name,description,status,active
+ * Website,"Public site, marketing pages",ACTIVE,true
+ * Archive,,ARCHIVED,false
+ * </pre>
+ */
+@Service
+public class ProjectImporter extends BaseBulkImporter<ProjectCreateInput> {
+
+    @Override
+    protected Class<?> getEntityClass() {
+        return Project.class;
+    }
+
+    @Override
+    protected ValidatorBuilder<ProjectCreateInput> getValidatorBuilder() {
+        return ProjectValidation.create();
+    }
+
+    @Override
+    protected String getStagingTable() {
+        return "project_import";
+    }
+
+    @Override
+    protected List<String> getColumns() {
+        return List.of("name", "description", "status", "active");
+    }
+
+    @Override
+    protected Object[] toRow(ProjectCreateInput input) {
+        return new Object[] { input.getName(), input.getDescription(), input.getStatus(), input.getActive() };
+    }
+
+    @Override
+    protected List<String> getRejectStatements() {
+        return List.of(rejectDuplicates("name"));
+    }
+
+    @Override
+    protected String getMergeStatement() {
+        return "INSERT INTO projects (id, name, description, status, active, version, "
+                + "created_at, updated_at, created_by, updated_by) "
+                + "SELECT gen_random_uuid(), s.name, s.description, COALESCE(s.status, 'ACTIVE'), "
+                + "COALESCE(s.active::boolean, true), 0, a.now, a.now, a.auditor, a.auditor "
+                + "FROM (SELECT ?::timestamp AS now, ?::text AS auditor) a, project_import s "
+                + "WHERE s.message_key IS NULL "
+                + "ON CONFLICT (name) DO UPDATE SET description = EXCLUDED.description, "
+                + "status = EXCLUDED.status, active = EXCLUDED.active, updated_at = EXCLUDED.updated_at, "
+                + "updated_by = EXCLUDED.updated_by, version = projects.version + 1";
+    }
+}
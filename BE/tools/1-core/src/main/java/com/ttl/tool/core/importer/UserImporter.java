@@ -0,0 +1,76 @@
+package com.ttl.tool.core.importer;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.tool.core.dto.input.UserCreateInput;
+import com.ttl.tool.core.validation.UserValidation;
+import com.ttl.tool.domain.entity.User;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Bulk import of users, e.g. when onboarding a tenant.
+ *
+ * Rows use the fields of UserCreateInput. A row whose username already exists
+ * updates that user. Emails stay unique: a row is rejected when its email
+ * belongs to another user or to an earlier row of the same upload.
+ *
+ * Example NDJSON upload:
+ *
+ * <pre>
+ * {"username": "john_doe", "email": "john@example.com"}
+ * {"username": "jane_doe", "email": "jane@example.com", "active": false}
+ * </pre>
+ */
+@Service
+public class UserImporter extends BaseBulkImporter<UserCreateInput> {
+
+    @Override
+    protected Class<?> getEntityClass() {
+        return User.class;
+    }
+
+    @Override
+    protected ValidatorBuilder<UserCreateInput> getValidatorBuilder() {
+        return UserValidation.create();
+    }
+
+    @Override
+    protected String getStagingTable() {
+        return "user_import";
+    }
+
+    @Override
+    protected List<String> getColumns() {
+        return List.of("username", "email", "active");
+    }
+
+    @Override
+    protected Object[] toRow(UserCreateInput input) {
+        return new Object[] { input.getUsername(), input.getEmail(), input.getActive() };
+    }
+
+    @Override
+    protected List<String> getRejectStatements() {
+        return List.of(
+                rejectDuplicates("username"),
+                rejectDuplicates("email"),
+                "UPDATE user_import s SET (field, message_key, message) = "
+                        + "('email', 'error.email.exists', 'Email already exists') "
+                        + "FROM users u WHERE u.email = s.email AND u.username <> s.username "
+                        + "AND s.message_key IS NULL");
+    }
+
+    @Override
+    protected String getMergeStatement() {
+        return "INSERT INTO users (id, username, email, active, version, "
+                + "created_at, updated_at, created_by, updated_by) "
+                + "SELECT gen_random_uuid(), s.username, s.email, COALESCE(s.active::boolean, true), 0, "
+                + "a.now, a.now, a.auditor, a.auditor "
+                + "FROM (SELECT ?::timestamp AS now, ?::text AS auditor) a, user_import s "
+                + "WHERE s.message_key IS NULL "
+                + "ON CONFLICT (username) DO UPDATE SET email = EXCLUDED.email, active = EXCLUDED.active, "
+                + "updated_at = EXCLUDED.updated_at, updated_by = EXCLUDED.updated_by, "
+                + "version = users.version + 1";
+    }
+}
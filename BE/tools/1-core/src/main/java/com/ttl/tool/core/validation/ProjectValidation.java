@@ -1,6 +1,7 @@
 package com.ttl.tool.core.validation;
 
 import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchConstraint;
 import com.ttl.tool.core.dto.input.ProjectCreateInput;
 import com.ttl.tool.core.dto.input.ProjectUpdateInput;
 import com.ttl.tool.domain.repository.ProjectRepository;
@@ -14,7 +15,7 @@ public class ProjectValidation {
     /**
      * Validation rules for creating a project
      */
-    public static ValidatorBuilder<ProjectCreateInput> create(ProjectRepository projectRepository) {
+    public static ValidatorBuilder<ProjectCreateInput> create() {
         return ValidatorBuilder.<ProjectCreateInput>of()
                 .constraint(ProjectCreateInput::getName, "name", c -> c
                         .notBlank().message("Project name is required")
@@ -23,12 +24,18 @@ public class ProjectValidation {
                         .lessThanOrEqual(1000).message("Description must not exceed 1000 characters"))
                 .constraint(ProjectCreateInput::getStatus, "status", c -> c
                         .pattern("ACTIVE|INACTIVE|COMPLETED|ARCHIVED")
-                        .message("Status must be one of: ACTIVE, INACTIVE, COMPLETED, ARCHIVED"))
-                // Check uniqueness via Repository
-                .constraintOnTarget(input -> !projectRepository.existsByName(input.getName()),
-                        "name",
-                        "error.project.name.exists",
-                        "Project name already exists");
+                        .message("Status must be one of: ACTIVE, INACTIVE, COMPLETED, ARCHIVED"));
+    }
+
+    /**
+     * Uniqueness of the project name, checked via Repository
+     */
+    public static BatchConstraint<ProjectCreateInput, String> uniqueName(ProjectRepository projectRepository) {
+        return BatchConstraint.unique("name",
+                ProjectCreateInput::getName,
+                projectRepository::findExistingNames,
+                "error.project.name.exists",
+                "Project name already exists");
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.ttl.tool.core.validation;
 
 import am.ik.yavi.builder.ValidatorBuilder;
+import com.ttl.common.core.command.BatchConstraint;
 import com.ttl.tool.core.dto.input.UserCreateInput;
 import com.ttl.tool.core.dto.input.UserUpdateInput;
 import com.ttl.tool.domain.repository.UserRepository;
@@ -14,7 +15,7 @@ public class UserValidation {
         /**
          * Validation rules for creating a user
          */
-        public static ValidatorBuilder<UserCreateInput> create(UserRepository userRepository) {
+        public static ValidatorBuilder<UserCreateInput> create() {
                 return ValidatorBuilder.<UserCreateInput>of()
                                 .constraint(UserCreateInput::getUsername, "username", c -> c
                                                 .notBlank().message("Username is required")
@@ -23,12 +24,18 @@ public class UserValidation {
                                                 .message("Username can only contain letters, numbers and underscore"))
                                 .constraint(UserCreateInput::getEmail, "email", c -> c
                                                 .notBlank().message("Email is required")
-                                                .email().message("Email must be a valid email address"))
-                                // Check uniqueness via Repository
-                                .constraintOnTarget(input -> !userRepository.existsByUsername(input.getUsername()),
-                                                "username",
-                                                "error.username.exists",
-                                                "Username already exists");
+                                                .email().message("Email must be a valid email address"));
+        }
+
+        /**
+         * Uniqueness of the username, checked via Repository
+         */
+        public static BatchConstraint<UserCreateInput, String> uniqueUsername(UserRepository userRepository) {
+                return BatchConstraint.unique("username",
+                                UserCreateInput::getUsername,
+                                userRepository::findExistingUsernames,
+                                "error.username.exists",
+                                "Username already exists");
         }
 
         /**
@@ -0,0 +1,74 @@
+package com.ttl.tool.core.command.project;
+
+import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.common.core.retry.ConflictRetryInterceptor;
+import com.ttl.common.core.retry.ConflictRetryPolicy;
+import com.ttl.tool.core.dto.input.ProjectUpdateInput;
+import com.ttl.tool.domain.entity.Project;
+import com.ttl.tool.domain.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for ProjectUpdateCommand under the conflict retry advice
+ */
+class ProjectUpdateCommandTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+
+    @Test
+    void execute_shouldRetryConcurrentUpdateOnReloadedProject() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(projectRepository.findById(id))
+                .thenReturn(Optional.of(project(id, "Original", 1L)))
+                // The concurrent update committed in between
+                .thenReturn(Optional.of(project(id, "Renamed elsewhere", 2L)));
+        when(projectRepository.save(any(Project.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Project.class, id))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        ProjectUpdateCommand command = proxy(new ProjectUpdateCommand(projectRepository, new EntityMapper()));
+
+        // When
+        Project updated = command.execute(ProjectUpdateInput.builder()
+                .id(id)
+                .description("Updated description")
+                .build());
+
+        // Then
+        verify(projectRepository, times(2)).findById(id);
+        verify(projectRepository, times(2)).save(any(Project.class));
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThat(updated.getName()).isEqualTo("Renamed elsewhere");
+        assertThat(updated.getDescription()).isEqualTo("Updated description");
+    }
+
+    private static Project project(UUID id, String name, Long version) {
+        return Project.builder()
+                .id(id)
+                .name(name)
+                .description("Original description")
+                .version(version)
+                .build();
+    }
+
+    private static ProjectUpdateCommand proxy(ProjectUpdateCommand command) {
+        ConflictRetryPolicy policy = new ConflictRetryPolicy(3, Duration.ZERO, Duration.ofMillis(1), 2);
+        ProxyFactory factory = new ProxyFactory(command);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new ConflictRetryInterceptor(policy, () -> null));
+        return (ProjectUpdateCommand) factory.getProxy();
+    }
+}
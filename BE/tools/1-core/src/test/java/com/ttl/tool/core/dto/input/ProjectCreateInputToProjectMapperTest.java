@@ -0,0 +1,42 @@
+package com.ttl.tool.core.dto.input;
+
+import com.ttl.common.core.mapper.EntityMapper;
+import com.ttl.tool.domain.entity.Project;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the compile-time generated ProjectCreateInput -> Project mapper
+ */
+class ProjectCreateInputToProjectMapperTest {
+
+    @Test
+    void entityMapper_shouldPickUpGeneratedMapper() {
+        EntityMapper entityMapper = new EntityMapper();
+
+        assertThat(entityMapper.hasTypeMapper(ProjectCreateInput.class, Project.class)).isTrue();
+        assertThat(entityMapper.hasTypeMapper(UserCreateInput.class, Project.class)).isFalse();
+    }
+
+    @Test
+    void map_shouldSkipNullAndExcludedFields() {
+        // Given
+        ProjectCreateInput input = ProjectCreateInput.builder()
+                .name("My Project")
+                .description("Project description")
+                .build();
+        Project project = new Project();
+
+        // When
+        new ProjectCreateInputToProjectMapper().map(input, project, Set.of("description"));
+
+        // Then
+        assertThat(project.getName()).isEqualTo("My Project");
+        assertThat(project.getDescription()).isNull();
+        // null input status keeps the entity default
+        assertThat(project.getStatus()).isEqualTo("ACTIVE");
+    }
+}
@@ -0,0 +1,90 @@
+package com.ttl.tool.core.exporter;
+
+import com.ttl.tool.core.dto.DataFormat;
+import com.ttl.tool.domain.entity.Project;
+import com.ttl.tool.domain.repository.ProjectRepository;
+import com.ttl.tool.shared.dto.ProjectSearchInput;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for ProjectExporter
+ */
+class ProjectExporterTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ProjectExporter exporter = new ProjectExporter(projectRepository);
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ProjectExporterTest() {
+        ReflectionTestUtils.setField(exporter, "entityManager", entityManager);
+    }
+
+    @Test
+    void export_shouldWriteCsvAndDetachEachRow() {
+        // Given
+        Project website = project("Website", "Public site, \"marketing\" pages");
+        Project archive = project("Archive", null);
+        when(projectRepository.streamAll("ACTIVE", null)).thenReturn(stream(website, archive));
+
+        // When
+        long rows = exporter.export(ProjectSearchInput.builder().status("ACTIVE").build(), DataFormat.CSV, out);
+
+        // Then
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,description,status,active,urn,createdAt,updatedAt\n"
+                        + website.getId() + ",Website,\"Public site, \"\"marketing\"\" pages\",ACTIVE,true,"
+                        + website.getUrn() + ",2024-01-02T03:04:05,\n"
+                        + archive.getId() + ",Archive,,ACTIVE,true," + archive.getUrn() + ",2024-01-02T03:04:05,\n");
+        verify(entityManager).detach(website);
+        verify(entityManager).detach(archive);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void export_shouldWriteOneJsonObjectPerLine() {
+        // Given
+        Project website = project("Website", null);
+        when(projectRepository.streamAll(null, null)).thenReturn(stream(website));
+
+        // When
+        exporter.export(new ProjectSearchInput(), DataFormat.NDJSON, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"" + website.getId()
+                + "\",\"name\":\"Website\",\"description\":null,\"status\":\"ACTIVE\",\"active\":true,"
+                + "\"urn\":\"" + website.getUrn() + "\",\"createdAt\":\"2024-01-02T03:04:05\",\"updatedAt\":null}\n");
+        assertThat(closed).isTrue();
+    }
+
+    private Stream<Project> stream(Project... projects) {
+        return Stream.of(projects).onClose(() -> closed.set(true));
+    }
+
+    private static Project project(String name, String description) {
+        Project project = Project.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description(description)
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+                .build();
+        project.buildUrn();
+        return project;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ttl.tool.core.importer;
+
+import com.ttl.tool.core.dto.DataFormat;
+import com.ttl.tool.core.dto.input.ProjectCreateInput;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for ImportReader
+ */
+class ImportReaderTest {
+
+    @Test
+    void next_shouldRejectLongLineAndContinueWithNextOne() throws Exception {
+        // Given
+        ImportReader<ProjectCreateInput> reader = reader(DataFormat.NDJSON,
+                "{\"name\": \"" + "x".repeat(100) + "\"}\r\n{\"name\": \"Website\"}\r\n");
+
+        // When
+        ImportReader.Row<ProjectCreateInput> tooLong = reader.next();
+        ImportReader.Row<ProjectCreateInput> next = reader.next();
+
+        // Then
+        assertThat(tooLong.line()).isEqualTo(1);
+        assertThat(tooLong.error()).isEqualTo("Row longer than 32 characters");
+        assertThat(next.line()).isEqualTo(2);
+        assertThat(next.input().getName()).isEqualTo("Website");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_shouldRejectQuotedCellSpanningTooManyLines() throws Exception {
+        // Given
+        ImportReader<ProjectCreateInput> reader = reader(DataFormat.CSV,
+                "name,description\nWebsite,\"" + "line\n".repeat(10) + "\"\n");
+
+        // When
+        ImportReader.Row<ProjectCreateInput> row = reader.next();
+
+        // Then
+        assertThat(row.line()).isEqualTo(2);
+        assertThat(row.error()).isEqualTo("Row longer than 32 characters");
+    }
+
+    @Test
+    void next_shouldKeepEmptyLinesApartFromEndOfUpload() throws Exception {
+        // Given
+        ImportReader<ProjectCreateInput> reader = reader(DataFormat.NDJSON, "\n\n{\"name\": \"Website\"}");
+
+        // When
+        ImportReader.Row<ProjectCreateInput> row = reader.next();
+
+        // Then
+        assertThat(row.line()).isEqualTo(3);
+        assertThat(row.input().getName()).isEqualTo("Website");
+        assertThat(reader.next()).isNull();
+    }
+
+    private static ImportReader<ProjectCreateInput> reader(DataFormat format, String upload) {
+        return new ImportReader<>(ProjectCreateInput.class, format, new BufferedReader(new StringReader(upload)), 32);
+    }
+}
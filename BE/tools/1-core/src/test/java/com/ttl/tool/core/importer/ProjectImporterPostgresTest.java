@@ -0,0 +1,139 @@
+package com.ttl.tool.core.importer;
+
+import com.ttl.tool.core.dto.DataFormat;
+import com.ttl.tool.core.importer.ImportResult.RowError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration test running the COPY, reject and merge statements of ProjectImporter against PostgreSQL,
+ * skipped where Docker is not available
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProjectImporterPostgresTest {
+
+    @Container
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    private final ProjectImporter importer = new ProjectImporter();
+    private Connection connection;
+
+    /**
+     * The projects table as the Project entity maps it, with the conflict target of migration
+     * v1.0-schema-009
+     */
+    @BeforeAll
+    static void createSchema() throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE projects (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                    + "description VARCHAR(1000), status VARCHAR(50) NOT NULL, active BOOLEAN NOT NULL, "
+                    + "version BIGINT NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, "
+                    + "created_by VARCHAR(255), updated_by VARCHAR(255))");
+            statement.execute("CREATE UNIQUE INDEX ux_projects_name ON projects (name)");
+        }
+    }
+
+    @BeforeEach
+    void begin() throws Exception {
+        connection = connect();
+        connection.setAutoCommit(false);
+        importer.setAuditorAware(() -> Optional.of("importer"));
+    }
+
+    @AfterEach
+    void rollback() throws Exception {
+        connection.rollback();
+        connection.close();
+    }
+
+    @Test
+    void importRows_shouldCopyEscapedValuesAndMergeAcceptedRows() throws Exception {
+        // Given
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO projects (id, name, status, active, version, created_at) "
+                    + "VALUES (gen_random_uuid(), 'Website', 'ACTIVE', true, 0, now())");
+        }
+        String csv = """
+                name,description,status,active
+                Website,"Public site, ""marketing""\tpages \\ λ",INACTIVE,false
+                Archive,"Two
+                lines",,
+                Archive,again,,
+                Broken,,UNKNOWN,
+                """;
+
+        // When
+        ImportResult result = importer.importRows(connection, input(csv), DataFormat.CSV);
+
+        // Then
+        assertThat(result.rows()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).extracting(RowError::line, RowError::messageKey)
+                .containsExactly(tuple(5L, "error.entity.duplicate"),
+                        tuple(6L, "charSequence.pattern"));
+        try (Statement statement = connection.createStatement();
+             ResultSet projects = statement.executeQuery("SELECT name, description, status, active, version, "
+                     + "created_by, updated_by FROM projects ORDER BY name")) {
+            assertThat(projects.next()).isTrue();
+            assertThat(projects.getString(1)).isEqualTo("Archive");
+            assertThat(projects.getString(2)).isEqualTo("Two\nlines");
+            assertThat(projects.getString(3)).isEqualTo("ACTIVE");
+            assertThat(projects.getBoolean(4)).isTrue();
+            assertThat(projects.getString(6)).isEqualTo("importer");
+            assertThat(projects.next()).isTrue();
+            assertThat(projects.getString(1)).isEqualTo("Website");
+            assertThat(projects.getString(2)).isEqualTo("Public site, \"marketing\"\tpages \\ λ");
+            assertThat(projects.getString(3)).isEqualTo("INACTIVE");
+            assertThat(projects.getBoolean(4)).isFalse();
+            assertThat(projects.getLong(5)).isEqualTo(1L);
+            assertThat(projects.getString(6)).isNull();
+            assertThat(projects.getString(7)).isEqualTo("importer");
+            assertThat(projects.next()).isFalse();
+        }
+    }
+
+    @Test
+    void importRows_shouldDropStagingTableOnCommit() throws Exception {
+        // Given
+        importer.importRows(connection, input("{\"name\": \"Website\"}\n"), DataFormat.NDJSON);
+
+        // When
+        connection.commit();
+
+        // Then
+        try (Statement statement = connection.createStatement();
+             ResultSet tables = statement.executeQuery("SELECT to_regclass('project_import')")) {
+            assertThat(tables.next()).isTrue();
+            assertThat(tables.getString(1)).isNull();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM projects");
+        }
+        connection.commit();
+    }
+
+    private static Connection connect() throws Exception {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
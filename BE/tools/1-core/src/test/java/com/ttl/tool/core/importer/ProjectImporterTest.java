@@ -0,0 +1,145 @@
+package com.ttl.tool.core.importer;
+
+import com.ttl.common.core.command.QueryCache;
+import com.ttl.tool.core.dto.DataFormat;
+import com.ttl.tool.core.importer.ImportResult.RowError;
+import com.ttl.tool.domain.entity.Project;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for ProjectImporter
+ */
+class ProjectImporterTest {
+
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final PreparedStatement merge = mock(PreparedStatement.class);
+    private final PreparedStatement errorQuery = mock(PreparedStatement.class);
+    private final ResultSet errorRows = mock(ResultSet.class);
+    private final CopyIn copyIn = mock(CopyIn.class);
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    private final List<String> statements = new ArrayList<>();
+    private final ProjectImporter importer = new ProjectImporter();
+
+    ProjectImporterTest() throws Exception {
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return copyIn;
+        });
+        doAnswer(invocation -> {
+            copied.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute(anyString())).thenAnswer(invocation -> statements.add(invocation.getArgument(0)));
+        when(statement.executeUpdate(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return 0;
+        });
+        when(connection.prepareStatement(startsWith("INSERT INTO projects"))).thenReturn(merge);
+        when(connection.prepareStatement(startsWith("SELECT line"))).thenReturn(errorQuery);
+        when(errorQuery.executeQuery()).thenReturn(errorRows);
+    }
+
+    @Test
+    void importRows_shouldCopyValidCsvRowsAndReportInvalidOnes() throws Exception {
+        // Given
+        String csv = """
+                name,description,status,active
+                Website,"Public site, ""marketing""\tpages",ACTIVE,true
+                Broken,,UNKNOWN,
+                Two,cells
+
+                Archive,,,false
+                """;
+        when(merge.executeUpdate()).thenReturn(2);
+        QueryCache<String> cache = new QueryCache<>(Project.class, 10, Duration.ofMinutes(1));
+        cache.put("Website", "cached", cache.generation());
+
+        // When
+        ImportResult result = importer.importRows(connection, input(csv), DataFormat.CSV);
+
+        // Then
+        assertThat(copied.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "2\tWebsite\tPublic site, \"marketing\"\\tpages\tACTIVE\ttrue\n"
+                        + "6\tArchive\t\\N\t\\N\tfalse\n");
+        assertThat(statements).containsExactly(
+                "SET LOCAL statement_timeout = 300000",
+                "CREATE TEMP TABLE project_import (line BIGINT, name TEXT, description TEXT, status TEXT, "
+                        + "active TEXT, field TEXT, message_key TEXT, message TEXT) ON COMMIT DROP",
+                "COPY project_import (line, name, description, status, active) FROM STDIN",
+                "ANALYZE project_import",
+                importer.rejectDuplicates("name"));
+        verify(copyIn).endCopy();
+        assertThat(cache.size()).isZero();
+        assertThat(result.rows()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).extracting(RowError::line, RowError::field)
+                .containsExactly(tuple(3L, "status"),
+                        tuple(4L, null));
+    }
+
+    @Test
+    void importRows_shouldReportRowsRejectedInStagingInLineOrder() throws Exception {
+        // Given
+        String ndjson = """
+                {"name": "Website"}
+                {"name": "Website"}
+                {"name":
+                """;
+        when(merge.executeUpdate()).thenReturn(1);
+        when(errorRows.next()).thenReturn(true, false);
+        when(errorRows.getLong(1)).thenReturn(2L);
+        when(errorRows.getString(2)).thenReturn("name");
+        when(errorRows.getString(3)).thenReturn("error.entity.duplicate");
+        when(errorRows.getLong(5)).thenReturn(1L);
+
+        // When
+        ImportResult result = importer.importRows(connection, input(ndjson), DataFormat.NDJSON);
+
+        // Then
+        assertThat(copied.toString(StandardCharsets.UTF_8))
+                .isEqualTo("1\tWebsite\t\\N\t\\N\t\\N\n2\tWebsite\t\\N\t\\N\t\\N\n");
+        assertThat(result.rows()).isEqualTo(3);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).extracting(RowError::line, RowError::messageKey)
+                .containsExactly(tuple(2L, "error.entity.duplicate"),
+                        tuple(3L, "error.import.unreadable"));
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -18,6 +18,7 @@ import java.util.UUID;
  * - Basic project information (name, description, status)
  * - URN field dynamically built as "tools:project:{id}"
  * - Audit fields (createdAt, updatedAt, createdBy, updatedBy)
+ * - Version column for optimistic locking
  * - Active flag for soft delete
  */
 @Entity
@@ -47,6 +48,12 @@ public class Project {
     @Transient
     private String urn;
 
+    /**
+     * Optimistic lock, concurrent updates of the same row conflict instead of overwriting each other
+     */
+    @Version
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
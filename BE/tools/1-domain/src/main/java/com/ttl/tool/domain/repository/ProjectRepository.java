@@ -1,13 +1,20 @@
 package com.ttl.tool.domain.repository;
 
 import com.ttl.tool.domain.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Project entity
@@ -25,6 +32,12 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      */
     boolean existsByName(String name);
 
+    /**
+     * Find which of the given names are already used, in a single query
+     */
+    @Query("select p.name from Project p where p.name in :names")
+    List<String> findExistingNames(Collection<String> names);
+
     /**
      * Find all active projects
      */
@@ -34,4 +47,17 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      * Find projects by status
      */
     Page<Project> findByStatus(String status, Pageable pageable);
+
+    /**
+     * Stream projects for exports, filters are optional.
+     * Must be consumed and closed inside a transaction; rows are read from a
+     * server-side cursor 500 at a time and are not dirty-checked.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Project p where (:status is null or p.status = :status) "
+            + "and (:active is null or p.active = :active)")
+    Stream<Project> streamAll(String status, Boolean active);
 }
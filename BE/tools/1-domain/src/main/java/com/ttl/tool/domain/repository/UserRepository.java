@@ -1,11 +1,18 @@
 package com.ttl.tool.domain.repository;
 
 import com.ttl.tool.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
@@ -17,4 +24,38 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
      * @return true if exists, false otherwise
      */
     boolean existsByUsername(String username);
+
+    /**
+     * Find which of the given usernames are already taken, in a single query
+     *
+     * @param usernames the usernames to check
+     * @return the subset of usernames that exist
+     */
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
+
+    /**
+     * Find the users with the given usernames, in a single query
+     *
+     * @param usernames the usernames to look up
+     * @return the users found, in no particular order
+     */
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    /**
+     * Stream users for exports, matching the userSearch filters (case-insensitive contains).
+     * Must be consumed and closed inside a transaction; rows are read from a
+     * server-side cursor 500 at a time and are not dirty-checked.
+     *
+     * @param username username fragment, null for any
+     * @param email    email fragment, null for any
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u "
+            + "where (:username is null or lower(u.username) like lower(concat('%', :username, '%'))) "
+            + "and (:email is null or lower(u.email) like lower(concat('%', :email, '%')))")
+    Stream<User> streamAll(String username, String email);
 }
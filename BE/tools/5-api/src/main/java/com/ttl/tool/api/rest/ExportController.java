@@ -0,0 +1,77 @@
+package com.ttl.tool.api.rest;
+
+import com.ttl.tool.core.dto.DataFormat;
+import com.ttl.tool.core.exporter.BaseExporter;
+import com.ttl.tool.core.exporter.ProjectExporter;
+import com.ttl.tool.core.exporter.UserExporter;
+import com.ttl.tool.shared.dto.ProjectSearchInput;
+import com.ttl.tool.shared.dto.UserSearchInput;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+/**
+ * Streaming export endpoints.
+ *
+ * Rows are written to the response while they are read from the database,
+ * on the async request thread, in a read-only transaction of the exporter.
+ * Filters are the query parameters of the search input. An unknown format
+ * is rejected with 400 Bad Request.
+ *
+ * Example:
+ *
+ * <pre>
+ * curl 'http://localhost:8080/api/v1/export/projects?format=csv&status=ACTIVE' -o projects.csv
+ * </pre>
+ */
+@RestController
+@RequestMapping("/api/v1/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ProjectExporter projectExporter;
+    private final UserExporter userExporter;
+
+    @GetMapping("/projects")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            ProjectSearchInput filter,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        return export(projectExporter, filter, format, "projects");
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            UserSearchInput filter,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        return export(userExporter, filter, format, "users");
+    }
+
+    private static <Filter> ResponseEntity<StreamingResponseBody> export(BaseExporter<?, Filter> exporter,
+            Filter filter, String format, String name) {
+        DataFormat dataFormat = dataFormat(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.asMediaType(dataFormat.getMimeType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.toLowerCase(Locale.ROOT)).build().toString())
+                .body(out -> exporter.export(filter, dataFormat, out));
+    }
+
+    private static DataFormat dataFormat(String format) {
+        try {
+            return DataFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format, e);
+        }
+    }
+}
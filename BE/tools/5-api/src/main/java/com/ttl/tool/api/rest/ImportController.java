@@ -0,0 +1,45 @@
+package com.ttl.tool.api.rest;
+
+import com.ttl.tool.core.dto.DataFormat;
+import com.ttl.tool.core.importer.ImportResult;
+import com.ttl.tool.core.importer.ProjectImporter;
+import com.ttl.tool.core.importer.UserImporter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Bulk import endpoints.
+ *
+ * The request body is the raw CSV or NDJSON file (not multipart), read while
+ * it is uploaded so it is never buffered in memory or on disk.
+ *
+ * Example:
+ *
+ * <pre>
+ * curl -X POST -H 'Content-Type: text/csv' --data-binary @projects.csv \
+ *      http://localhost:8080/api/v1/import/projects
+ * </pre>
+ */
+@RestController
+@RequestMapping("/api/v1/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ProjectImporter projectImporter;
+    private final UserImporter userImporter;
+
+    @PostMapping(path = "/projects", consumes = { "text/csv", "application/x-ndjson" })
+    public ImportResult importProjects(HttpServletRequest request) throws IOException {
+        return projectImporter.importRows(request.getInputStream(), DataFormat.of(request.getContentType()));
+    }
+
+    @PostMapping(path = "/users", consumes = { "text/csv", "application/x-ndjson" })
+    public ImportResult importUsers(HttpServletRequest request) throws IOException {
+        return userImporter.importRows(request.getInputStream(), DataFormat.of(request.getContentType()));
+    }
+}
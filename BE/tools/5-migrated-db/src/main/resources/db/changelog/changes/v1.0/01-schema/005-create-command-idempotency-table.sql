@@ -0,0 +1,11 @@
+-- liquibase formatted sql
+-- changeset system:v1.0-schema-005-create-command-idempotency-table
+-- comment: Create command_idempotency table storing the first result per idempotency key
+
+CREATE TABLE IF NOT EXISTS command_idempotency (
+    idempotency_key VARCHAR(512) PRIMARY KEY,
+    result BYTEA,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- rollback DROP TABLE IF EXISTS command_idempotency;
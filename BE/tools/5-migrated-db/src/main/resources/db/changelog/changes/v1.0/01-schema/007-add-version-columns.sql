@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+-- changeset system:v1.0-schema-007-add-version-columns
+-- comment: Add version columns for optimistic locking of projects and users
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- users is not created by these changesets, skip it when absent
+ALTER TABLE IF EXISTS users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- rollback ALTER TABLE projects DROP COLUMN IF EXISTS version; ALTER TABLE IF EXISTS users DROP COLUMN IF EXISTS version;
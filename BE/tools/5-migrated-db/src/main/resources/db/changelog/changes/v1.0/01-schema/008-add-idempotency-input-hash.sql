@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+-- changeset system:v1.0-schema-008-add-idempotency-input-hash
+-- comment: Add input_hash to command_idempotency so a key reused with another input is rejected
+
+ALTER TABLE command_idempotency ADD COLUMN IF NOT EXISTS input_hash VARCHAR(64);
+
+-- rollback ALTER TABLE command_idempotency DROP COLUMN IF EXISTS input_hash;
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+-- changeset system:v1.0-schema-009-add-project-name-unique-index dbms:postgresql runInTransaction:false
+-- comment: Unique project names, the conflict target of ProjectUpsertCommand, built without blocking writes. Halts while project names are duplicated (the failure lists up to 20 of them, rename or merge those projects first) or while a failed concurrent build left ux_projects_name invalid (drop it first)
+-- preconditions onFail:HALT onError:HALT
+-- precondition-sql-check expectedResult:none SELECT COALESCE(string_agg(name, ', ' ORDER BY name), 'none') FROM (SELECT name FROM projects GROUP BY name HAVING COUNT(*) > 1 ORDER BY name LIMIT 20) d
+-- precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = 'ux_projects_name' AND NOT i.indisvalid
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_projects_name ON projects (name);
+
+-- rollback DROP INDEX CONCURRENTLY IF EXISTS ux_projects_name;
@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+-- changeset system:v1.0-constraints-002-drop-project-name-index dbms:postgresql runInTransaction:false
+-- comment: Drop idx_project_name, the unique index ux_projects_name serves the same lookups
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_project_name;
+
+-- rollback CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_name ON projects (name);